@@ -0,0 +1,170 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.domain.Authority;
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.User;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import com.cbse.restaurant.domain.enumeration.SpicyLevel;
+import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.service.dto.CustomerDTO;
+import com.cbse.restaurant.service.dto.MenuItemDTO;
+import com.cbse.restaurant.service.dto.OrderDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deterministic fixtures shared by the benchmarks, so that runs on different machines work on the same data.
+ */
+final class BenchmarkData {
+
+    static final int PAGE_SIZE = 1000;
+
+    private static final Instant EPOCH = Instant.parse("2026-01-01T12:00:00Z");
+
+    private BenchmarkData() {}
+
+    static List<User> users(int count) {
+        Authority authority = new Authority().name(AuthoritiesConstants.USER);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setCreatedBy("system");
+            user.setCreatedDate(EPOCH);
+            user.setAuthorities(Set.of(authority));
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Customer> customers(int count) {
+        List<User> users = users(count);
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(
+                new Customer()
+                    .id((long) i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("customer" + i + "@example.com")
+                    .phone("+1555" + String.format("%07d", i))
+                    .addressLine1(i + " Main Street")
+                    .city("Springfield")
+                    .country("US")
+                    .loyaltyPoints(i % 500)
+                    .lastVisit(LocalDate.of(2026, 1, 1).plusDays(i % 365))
+                    .user(users.get(i))
+            );
+        }
+        return customers;
+    }
+
+    static List<MenuItem> menuItems(int count) {
+        MenuCategory[] categories = MenuCategory.values();
+        SpicyLevel[] spicyLevels = SpicyLevel.values();
+        List<MenuItem> menuItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            menuItems.add(
+                new MenuItem()
+                    .id((long) i)
+                    .name("Dish " + i)
+                    .description("A house speciality, number " + i)
+                    .price(BigDecimal.valueOf(500 + i, 2))
+                    .category(categories[i % categories.length])
+                    .spicyLevel(spicyLevels[i % spicyLevels.length])
+                    .isVegetarian(i % 3 == 0)
+                    .isAvailable(true)
+            );
+        }
+        return menuItems;
+    }
+
+    static List<OrderItem> orderItems(int count) {
+        List<MenuItem> menuItems = menuItems(50);
+        List<Customer> customers = customers(10);
+        List<OrderItem> orderItems = new ArrayList<>(count);
+        Order order = null;
+        for (int i = 0; i < count; i++) {
+            if (i % 4 == 0) {
+                order = order(i / 4, customers.get((i / 4) % customers.size()));
+            }
+            orderItems.add(
+                new OrderItem()
+                    .id((long) i)
+                    .quantity(1 + i % 3)
+                    .notes(i % 5 == 0 ? "No onions" : null)
+                    .subtotal(BigDecimal.valueOf(1250 + i, 2))
+                    .menuItem(menuItems.get(i % menuItems.size()))
+                    .order(order)
+            );
+        }
+        return orderItems;
+    }
+
+    static List<OrderDTO> orderDTOs(int count) {
+        OrderStatus[] statuses = OrderStatus.values();
+        PaymentMethod[] paymentMethods = PaymentMethod.values();
+        List<OrderDTO> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId((long) (i % 100));
+            OrderDTO order = new OrderDTO();
+            order.setId((long) i);
+            order.setOrderDate(EPOCH.plusSeconds(i * 60L));
+            order.setStatus(statuses[i % statuses.length]);
+            order.setTotalAmount(BigDecimal.valueOf(2500 + i, 2));
+            order.setPaymentMethod(paymentMethods[i % paymentMethods.length]);
+            order.setPaymentReference("PAY-" + i);
+            order.setSpecialInstructions(i % 7 == 0 ? "Ring the bell twice" : null);
+            order.setDeliveryAddress(i + " Main Street, Springfield");
+            order.setCustomer(customer);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static List<MenuItemDTO> menuItemDTOs(int count) {
+        MenuCategory[] categories = MenuCategory.values();
+        SpicyLevel[] spicyLevels = SpicyLevel.values();
+        List<MenuItemDTO> menuItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MenuItemDTO menuItem = new MenuItemDTO();
+            menuItem.setId((long) i);
+            menuItem.setName("Dish " + i);
+            menuItem.setDescription("A house speciality, number " + i);
+            menuItem.setPrice(BigDecimal.valueOf(500 + i, 2));
+            menuItem.setCategory(categories[i % categories.length]);
+            menuItem.setSpicyLevel(spicyLevels[i % spicyLevels.length]);
+            menuItem.setIsVegetarian(i % 3 == 0);
+            menuItem.setIsAvailable(true);
+            menuItem.setImageUrl("/api/menu-items/" + i + "/image");
+            menuItems.add(menuItem);
+        }
+        return menuItems;
+    }
+
+    private static Order order(int id, Customer customer) {
+        return new Order()
+            .id((long) id)
+            .orderDate(EPOCH.plusSeconds(id * 60L))
+            .status(OrderStatus.NEW)
+            .totalAmount(BigDecimal.valueOf(5000 + id, 2))
+            .paymentMethod(PaymentMethod.CASH)
+            .customer(customer);
+    }
+}
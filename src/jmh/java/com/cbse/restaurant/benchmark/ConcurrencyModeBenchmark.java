@@ -0,0 +1,117 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.config.ConnectionLimitingDataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Compares how long a burst of slow clients takes to be served on the platform worker pool, sized like the one of
+ * Undertow, and on virtual threads. Each client spends most of its time in blocking I/O without a connection, then runs
+ * a short query on a connection pool of 10 connections, limited by a {@link ConnectionLimitingDataSource}.
+ * <p>
+ * The {@code virtual} mode needs Java 21 or later.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConcurrencyModeBenchmark {
+
+    private static final int POOL_SIZE = 10;
+
+    private static final long CLIENT_IO_MILLIS = 50;
+
+    private static final long QUERY_MILLIS = 1;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "2000" })
+    public int clients;
+
+    private ExecutorService platformExecutor;
+
+    private VirtualThreadTaskExecutor virtualExecutor;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(mode)) {
+            virtualExecutor = new VirtualThreadTaskExecutor("benchmark-");
+        } else {
+            // Undertow has 8 worker threads per I/O thread, and one I/O thread per processor
+            platformExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 8);
+        }
+        dataSource = new ConnectionLimitingDataSource(new StubDataSource(), POOL_SIZE, 30000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void serveSlowClients() throws InterruptedException {
+        CountDownLatch served = new CountDownLatch(clients);
+        Runnable client = () -> {
+            try {
+                Thread.sleep(CLIENT_IO_MILLIS);
+                try (Connection connection = dataSource.getConnection()) {
+                    Thread.sleep(QUERY_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                served.countDown();
+            }
+        };
+        for (int i = 0; i < clients; i++) {
+            if (virtualExecutor != null) {
+                virtualExecutor.execute(client);
+            } else {
+                platformExecutor.execute(client);
+            }
+        }
+        served.await();
+    }
+
+    /**
+     * Data source of connections doing nothing, the query time being simulated by the clients.
+     */
+    private static final class StubDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(
+                StubDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> null
+            );
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
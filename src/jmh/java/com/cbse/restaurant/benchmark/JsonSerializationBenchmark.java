@@ -0,0 +1,61 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.config.JacksonConfiguration;
+import com.cbse.restaurant.service.dto.MenuItemDTO;
+import com.cbse.restaurant.service.dto.OrderDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks the JSON encoding of a page of DTOs, with an {@link ObjectMapper} configured with the same modules as the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter orderWriter;
+
+    private ObjectWriter menuItemWriter;
+
+    private List<OrderDTO> orders;
+
+    private List<MenuItemDTO> menuItems;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate6Module()
+            )
+            .build();
+        orders = BenchmarkData.orderDTOs(BenchmarkData.PAGE_SIZE);
+        menuItems = BenchmarkData.menuItemDTOs(BenchmarkData.PAGE_SIZE);
+        orderWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, OrderDTO.class));
+        menuItemWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, MenuItemDTO.class));
+    }
+
+    @Benchmark
+    public byte[] ordersToJson() throws JsonProcessingException {
+        return orderWriter.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] menuItemsToJson() throws JsonProcessingException {
+        return menuItemWriter.writeValueAsBytes(menuItems);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.config.SecurityJwtConfiguration;
+import com.cbse.restaurant.management.SecurityMetersService;
+import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.security.CachingJwtDecoder;
+import com.cbse.restaurant.security.TokenRevocationList;
+import com.cbse.restaurant.security.TokenRevocationList.Revocation;
+import com.cbse.restaurant.web.rest.AuthenticateController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmarks the creation of a token by {@link AuthenticateController#createToken} and its validation by the decoder
+ * of {@link SecurityJwtConfiguration}, which runs on every authenticated request, with and without its cache of
+ * validated tokens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    // Same secret as the test configuration, the cost of HS512 does not depend on the key value.
+    private static final String BASE64_SECRET =
+        "ZDYwYzY2YjQ3NzAwZTRhZDQ3ZjRiZTFlNjk0YzZmYmQ3OTQ2ZTZiNzAyMjNjMDhiNzhhNTM2YmNkNDc1NjdjM2M2ZGMwZjFhZTFiMWIyYWJhMzJiNTM2NTBmNjE5ODFhMjI2ZmRiOGM5MWY5ZjE4ZWI5ODJmMjI2OTIzMjk1MTE=";
+
+    private static final int REVOCATIONS = 10000;
+
+    private AuthenticateController authenticateController;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", BASE64_SECRET);
+        SecurityMetersService metersService = new SecurityMetersService(new SimpleMeterRegistry());
+        ApplicationProperties cached = new ApplicationProperties();
+        CacheManager cacheManager = Caching.getCachingProvider().getCacheManager();
+        cacheManager.createCache(CachingJwtDecoder.CACHE, CachingJwtDecoder.cacheConfiguration(cached.getJwtCache()));
+        ApplicationProperties uncached = new ApplicationProperties();
+        uncached.getJwtCache().setEnabled(false);
+        TokenRevocationList noRevocations = new TokenRevocationList(uncached, new SimpleMeterRegistry());
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(metersService, noRevocations, uncached, cacheManager, new SimpleMeterRegistry());
+        // The cached decoder also checks the token against many revocations, which must not slow it down
+        TokenRevocationList revocationList = new TokenRevocationList(cached, new SimpleMeterRegistry());
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        for (int i = 0; i < REVOCATIONS; i++) {
+            revocationList.add(Revocation.ofToken(UUID.randomUUID().toString(), expiresAt));
+            revocationList.add(Revocation.ofSubject("revoked-" + i, expiresAt, expiresAt));
+        }
+        cachingJwtDecoder = securityJwtConfiguration.jwtDecoder(
+            metersService,
+            revocationList,
+            cached,
+            cacheManager,
+            new SimpleMeterRegistry()
+        );
+
+        authenticateController = new AuthenticateController(securityJwtConfiguration.jwtEncoder(), null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSecondsForRememberMe", 2592000L);
+
+        authentication = new UsernamePasswordAuthenticationToken(
+            "user",
+            null,
+            List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+        token = authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCachedToken() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
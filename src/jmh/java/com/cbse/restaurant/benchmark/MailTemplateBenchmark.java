@@ -0,0 +1,77 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.User;
+import com.cbse.restaurant.service.Impl.MailTemplateRenderer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmarks rendering the activation email with Thymeleaf against rendering it from the template precompiled by the
+ * {@link MailTemplateRenderer}, in renders per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MailTemplateBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, new ApplicationProperties());
+        mailTemplateRenderer.precompile();
+
+        user = new User();
+        user.setLogin("john.doe");
+        user.setEmail("john.doe@localhost");
+        user.setLangKey("en");
+        user.setActivationKey("Xz3kR9bQ2mN7vL1pT4wY");
+    }
+
+    @Benchmark
+    public String thymeleaf() {
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        return templateEngine.process(MailTemplateRenderer.ACTIVATION_TEMPLATE, context);
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return mailTemplateRenderer.render(MailTemplateRenderer.ACTIVATION_TEMPLATE, Locale.ENGLISH, user);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cbse.restaurant.benchmark;
+
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.User;
+import com.cbse.restaurant.service.dto.AdminUserDTO;
+import com.cbse.restaurant.service.dto.CustomerDTO;
+import com.cbse.restaurant.service.dto.OrderItemDTO;
+import com.cbse.restaurant.service.dto.UserDTO;
+import com.cbse.restaurant.service.mapper.CustomerMapper;
+import com.cbse.restaurant.service.mapper.CustomerMapperImpl;
+import com.cbse.restaurant.service.mapper.OrderItemMapper;
+import com.cbse.restaurant.service.mapper.OrderItemMapperImpl;
+import com.cbse.restaurant.service.mapper.UserMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the entity to DTO mapping of a full page of {@link BenchmarkData#PAGE_SIZE} entities, as done by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final OrderItemMapper orderItemMapper = new OrderItemMapperImpl();
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<OrderItem> orderItems;
+
+    private List<Customer> customers;
+
+    private List<User> users;
+
+    private List<CustomerDTO> customerDTOs;
+
+    @Setup
+    public void setup() {
+        orderItems = BenchmarkData.orderItems(BenchmarkData.PAGE_SIZE);
+        customers = BenchmarkData.customers(BenchmarkData.PAGE_SIZE);
+        users = BenchmarkData.users(BenchmarkData.PAGE_SIZE);
+        customerDTOs = customerMapper.toDto(customers);
+    }
+
+    @Benchmark
+    public List<OrderItemDTO> orderItemsToDto() {
+        return orderItemMapper.toDto(orderItems);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customersToDto() {
+        return customerMapper.toDto(customers);
+    }
+
+    @Benchmark
+    public List<Customer> customersToEntity() {
+        return customerMapper.toEntity(customerDTOs);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cbse.restaurant.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect recording a {@link Timer} for each public method of the application services.
+ * <p>
+ * Repository calls are already timed by Spring Data as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+public class ServiceMetricsAspect {
+
+    public static final String METER_NAME = "app.service.invocations";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pointcut that matches the public methods of the Spring services in the application's service package.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Service *)" +
+        " && within(com.cbse.restaurant.service..*)" +
+        " && execution(public * *(..))"
+    )
+    public void serviceMethodPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times the invocation of a service method, tagged with its outcome.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable rethrows the exception of the service method.
+     */
+    @Around("serviceMethodPointcut()")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(
+                Timer.builder(METER_NAME)
+                    .description("Invocations of the application services")
+                    .tags(
+                        "service",
+                        joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                        "method",
+                        joinPoint.getSignature().getName(),
+                        "exception",
+                        exception
+                    )
+                    .register(meterRegistry)
+            );
+        }
+    }
+}
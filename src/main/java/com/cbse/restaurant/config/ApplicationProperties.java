@@ -1,5 +1,11 @@
 package com.cbse.restaurant.config;
 
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +19,126 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final ImageStore imageStore = new ImageStore();
+
+    private final MenuSnapshot menuSnapshot = new MenuSnapshot();
+
+    private final KitchenFeed kitchenFeed = new KitchenFeed();
+
+    private final ReservationCapacity reservationCapacity = new ReservationCapacity();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Loyalty loyalty = new Loyalty();
+
+    private final BulkTransfer bulkTransfer = new BulkTransfer();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final MailTemplates mailTemplates = new MailTemplates();
+
+    private final AuthenticationCache authenticationCache = new AuthenticationCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Cache cache = new Cache();
+
+    private final ReadReplica readReplica = new ReadReplica();
+
+    private final SalesRollup salesRollup = new SalesRollup();
+
+    private final BestSellers bestSellers = new BestSellers();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public ImageStore getImageStore() {
+        return imageStore;
+    }
+
+    public MenuSnapshot getMenuSnapshot() {
+        return menuSnapshot;
+    }
+
+    public KitchenFeed getKitchenFeed() {
+        return kitchenFeed;
+    }
+
+    public ReservationCapacity getReservationCapacity() {
+        return reservationCapacity;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Loyalty getLoyalty() {
+        return loyalty;
+    }
+
+    public BulkTransfer getBulkTransfer() {
+        return bulkTransfer;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public MailTemplates getMailTemplates() {
+        return mailTemplates;
+    }
+
+    public AuthenticationCache getAuthenticationCache() {
+        return authenticationCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public TokenRevocation getTokenRevocation() {
+        return tokenRevocation;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ReadReplica getReadReplica() {
+        return readReplica;
+    }
+
+    public SalesRollup getSalesRollup() {
+        return salesRollup;
+    }
+
+    public BestSellers getBestSellers() {
+        return bestSellers;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +153,893 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class ImageStore {
+
+        private String directory = "data/menu-images";
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    public static class MenuSnapshot {
+
+        /**
+         * Maximum age of the in-memory menu snapshot, so that changes made on other nodes are eventually picked up.
+         */
+        private long timeToLiveSeconds = 300;
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class KitchenFeed {
+
+        /**
+         * Number of recent events kept to replay to reconnecting subscribers.
+         */
+        private int historySize = 1000;
+
+        /**
+         * Number of events a subscriber may lag behind before being disconnected.
+         */
+        private int subscriberBufferSize = 256;
+
+        /**
+         * Lifetime of a feed connection, after which clients reconnect and resume from their last event.
+         */
+        private long timeoutSeconds = 1800;
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public int getSubscriberBufferSize() {
+            return subscriberBufferSize;
+        }
+
+        public void setSubscriberBufferSize(int subscriberBufferSize) {
+            this.subscriberBufferSize = subscriberBufferSize;
+        }
+
+        public long getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        public void setTimeoutSeconds(long timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+        }
+    }
+
+    public static class ReservationCapacity {
+
+        /**
+         * Number of seats that can be booked at the same time.
+         */
+        private int seats = 60;
+
+        /**
+         * Granularity of the occupancy index, must divide a day.
+         */
+        private int slotMinutes = 15;
+
+        /**
+         * Time a party is considered to occupy its seats from the reservation date.
+         */
+        private int sittingMinutes = 120;
+
+        public int getSeats() {
+            return seats;
+        }
+
+        public void setSeats(int seats) {
+            this.seats = seats;
+        }
+
+        public int getSlotMinutes() {
+            return slotMinutes;
+        }
+
+        public void setSlotMinutes(int slotMinutes) {
+            this.slotMinutes = slotMinutes;
+        }
+
+        public int getSittingMinutes() {
+            return sittingMinutes;
+        }
+
+        public void setSittingMinutes(int sittingMinutes) {
+            this.sittingMinutes = sittingMinutes;
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * How long row counts are reused by list endpoints in estimated pagination mode.
+         */
+        private long estimatedCountTimeToLiveSeconds = 60;
+
+        public long getEstimatedCountTimeToLiveSeconds() {
+            return estimatedCountTimeToLiveSeconds;
+        }
+
+        public void setEstimatedCountTimeToLiveSeconds(long estimatedCountTimeToLiveSeconds) {
+            this.estimatedCountTimeToLiveSeconds = estimatedCountTimeToLiveSeconds;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * Whether a timer is recorded for each public method of the application services.
+         */
+        private boolean serviceTimersEnabled = true;
+
+        /**
+         * Whether SQL statements and loaded entities are counted per HTTP request.
+         */
+        private boolean queryCountingEnabled = true;
+
+        /**
+         * SQL statements an HTTP request may prepare before it is reported as a possible N+1 query.
+         */
+        private int queryBudget = 30;
+
+        public boolean isServiceTimersEnabled() {
+            return serviceTimersEnabled;
+        }
+
+        public void setServiceTimersEnabled(boolean serviceTimersEnabled) {
+            this.serviceTimersEnabled = serviceTimersEnabled;
+        }
+
+        public boolean isQueryCountingEnabled() {
+            return queryCountingEnabled;
+        }
+
+        public void setQueryCountingEnabled(boolean queryCountingEnabled) {
+            this.queryCountingEnabled = queryCountingEnabled;
+        }
+
+        public int getQueryBudget() {
+            return queryBudget;
+        }
+
+        public void setQueryBudget(int queryBudget) {
+            this.queryBudget = queryBudget;
+        }
+    }
+
+    public static class Loyalty {
+
+        /**
+         * Loyalty points earned per currency unit of a completed order, rounded down.
+         */
+        private int pointsPerCurrencyUnit = 1;
+
+        /**
+         * How often the points accumulated in memory are written to the customer table.
+         */
+        private long flushIntervalSeconds = 10;
+
+        /**
+         * How long flushed entries are kept in the loyalty journal.
+         */
+        private int journalRetentionDays = 30;
+
+        public int getPointsPerCurrencyUnit() {
+            return pointsPerCurrencyUnit;
+        }
+
+        public void setPointsPerCurrencyUnit(int pointsPerCurrencyUnit) {
+            this.pointsPerCurrencyUnit = pointsPerCurrencyUnit;
+        }
+
+        public long getFlushIntervalSeconds() {
+            return flushIntervalSeconds;
+        }
+
+        public void setFlushIntervalSeconds(long flushIntervalSeconds) {
+            this.flushIntervalSeconds = flushIntervalSeconds;
+        }
+
+        public int getJournalRetentionDays() {
+            return journalRetentionDays;
+        }
+
+        public void setJournalRetentionDays(int journalRetentionDays) {
+            this.journalRetentionDays = journalRetentionDays;
+        }
+    }
+
+    public static class BulkTransfer {
+
+        /**
+         * JDBC fetch size of the export cursor; {@code Integer.MIN_VALUE} makes MySQL Connector/J stream the rows one
+         * by one instead of reading the whole table into memory.
+         */
+        private int fetchSize = Integer.MIN_VALUE;
+
+        /**
+         * Number of lines inserted in one JDBC batch and committed together with the progress of the import.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Maximum number of rejected lines listed in the response of an import.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * How often the outbox is polled for messages due to be sent.
+         */
+        private long pollIntervalSeconds = 5;
+
+        /**
+         * Maximum number of messages sent over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of batches sent by one poll, so that a backlog does not hold the scheduler thread for long.
+         */
+        private int batchesPerPoll = 20;
+
+        /**
+         * Number of attempts after which a message is marked as failed.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry of a message, doubled after each failed attempt.
+         */
+        private long initialBackoffSeconds = 30;
+
+        /**
+         * Upper bound of the delay between two attempts.
+         */
+        private long maxBackoffSeconds = 3600;
+
+        /**
+         * How long a claimed message is hidden from other polls; a message claimed by a dispatcher which crashed is sent
+         * again after it.
+         */
+        private long leaseSeconds = 300;
+
+        /**
+         * How long sent and failed messages are kept in the outbox.
+         */
+        private int retentionDays = 7;
+
+        public long getPollIntervalSeconds() {
+            return pollIntervalSeconds;
+        }
+
+        public void setPollIntervalSeconds(long pollIntervalSeconds) {
+            this.pollIntervalSeconds = pollIntervalSeconds;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getBatchesPerPoll() {
+            return batchesPerPoll;
+        }
+
+        public void setBatchesPerPoll(int batchesPerPoll) {
+            this.batchesPerPoll = batchesPerPoll;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffSeconds() {
+            return initialBackoffSeconds;
+        }
+
+        public void setInitialBackoffSeconds(long initialBackoffSeconds) {
+            this.initialBackoffSeconds = initialBackoffSeconds;
+        }
+
+        public long getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+
+        public long getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(long leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+    }
+
+    public static class MailTemplates {
+
+        /**
+         * Languages for which the email templates are compiled at startup; other languages are compiled on first use.
+         */
+        private List<String> languages = new ArrayList<>(List.of("en", "es"));
+
+        /**
+         * Whether compiled templates and subjects are cached; disable it to see template changes without a restart.
+         */
+        private boolean cacheEnabled = true;
+
+        public List<String> getLanguages() {
+            return languages;
+        }
+
+        public void setLanguages(List<String> languages) {
+            this.languages = languages;
+        }
+
+        public boolean isCacheEnabled() {
+            return cacheEnabled;
+        }
+
+        public void setCacheEnabled(boolean cacheEnabled) {
+            this.cacheEnabled = cacheEnabled;
+        }
+    }
+
+    public static class AuthenticationCache {
+
+        /**
+         * Whether the users resolved for authentication are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a resolved user is cached; changes made through the user service evict it right away, this only bounds
+         * how long changes made directly in the database are missed.
+         */
+        private long ttlSeconds = 600;
+
+        /**
+         * How long an unknown login or email is cached, so that repeated attempts do not query the database.
+         */
+        private long negativeTtlSeconds = 30;
+
+        /**
+         * Maximum number of cached logins and emails; once reached, other users are looked up without being cached.
+         */
+        private int maxEntries = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public long getNegativeTtlSeconds() {
+            return negativeTtlSeconds;
+        }
+
+        public void setNegativeTtlSeconds(long negativeTtlSeconds) {
+            this.negativeTtlSeconds = negativeTtlSeconds;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Log rounds of new bcrypt hashes; hashes with fewer rounds are hashed again on the next successful login.
+         */
+        private int bcryptStrength = 10;
+
+        /**
+         * Threads hashing passwords, which bounds the CPUs used by a burst of logins; 0 means one per available processor.
+         */
+        private int threads = 0;
+
+        /**
+         * Passwords waiting for a hashing thread beyond which requests are rejected with {@code 429 Too Many Requests}.
+         */
+        private int queueCapacity = 32;
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Whether validated tokens are cached, so that the signature of a token is not verified on each request.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached tokens; once reached, caching another token evicts one.
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * How long a token is cached at most, even if it expires later.
+         */
+        private long maxTtlSeconds = 600;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getMaxTtlSeconds() {
+            return maxTtlSeconds;
+        }
+
+        public void setMaxTtlSeconds(long maxTtlSeconds) {
+            this.maxTtlSeconds = maxTtlSeconds;
+        }
+    }
+
+    public static class TokenRevocation {
+
+        /**
+         * Number of revocations the in-memory filter is sized for; it is resized when more are loaded.
+         */
+        private int expectedEntries = 100000;
+
+        /**
+         * Rate of tokens which are not revoked but match the filter, and are then checked against the exact sets.
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * How often the revocations made by other instances are loaded.
+         */
+        private long pollIntervalSeconds = 5;
+
+        /**
+         * How far before the previous poll revocations are loaded again, to cover slow commits and clock skew.
+         */
+        private long pollLookbackSeconds = 60;
+
+        public int getExpectedEntries() {
+            return expectedEntries;
+        }
+
+        public void setExpectedEntries(int expectedEntries) {
+            this.expectedEntries = expectedEntries;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        public long getPollIntervalSeconds() {
+            return pollIntervalSeconds;
+        }
+
+        public void setPollIntervalSeconds(long pollIntervalSeconds) {
+            this.pollIntervalSeconds = pollIntervalSeconds;
+        }
+
+        public long getPollLookbackSeconds() {
+            return pollLookbackSeconds;
+        }
+
+        public void setPollLookbackSeconds(long pollLookbackSeconds) {
+            this.pollLookbackSeconds = pollLookbackSeconds;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Whether requests, {@code @Async} tasks and {@code @Scheduled} jobs run on virtual threads; needs Java 21.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of threads using a database connection at once, 0 for the maximum size of the connection
+         * pool; the other threads wait in turn, without polling the pool.
+         */
+        private int databaseConcurrency = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getDatabaseConcurrency() {
+            return databaseConcurrency;
+        }
+
+        public void setDatabaseConcurrency(int databaseConcurrency) {
+            this.databaseConcurrency = databaseConcurrency;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of the cache regions, by name without the domain package, such as {@code MenuItem} or
+         * {@code Order.orderItems}; the regions without settings use {@code jhipster.cache.ehcache}.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public enum EvictionAdvisor {
+            /**
+             * Any entry may be evicted.
+             */
+            NONE,
+            /**
+             * Entries locked by a transaction updating a {@code READ_WRITE} entity are kept, since evicting a lock lets
+             * other transactions cache the entity before the update commits.
+             */
+            KEEP_SOFT_LOCKS,
+        }
+
+        public static class Region {
+
+            /**
+             * Entries kept on the heap, {@code null} for {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the off-heap tier in megabytes, 0 for none; entries stored off-heap must be serializable.
+             */
+            private long offHeapMb = 0;
+
+            /**
+             * Time to live of the entries, {@code null} for {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Time to idle of the entries, which replaces the time to live when set.
+             */
+            private Long timeToIdleSeconds;
+
+            private EvictionAdvisor evictionAdvisor = EvictionAdvisor.KEEP_SOFT_LOCKS;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+
+            public EvictionAdvisor getEvictionAdvisor() {
+                return evictionAdvisor;
+            }
+
+            public void setEvictionAdvisor(EvictionAdvisor evictionAdvisor) {
+                this.evictionAdvisor = evictionAdvisor;
+            }
+        }
+    }
+
+    public static class ReadReplica {
+
+        /**
+         * Whether read-only transactions run on the read replica; the other ones always run on the primary.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URL of the replica; the other settings of its connection pool are those of {@code spring.datasource}.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum size of the connection pool of the replica, 0 for the size of the pool of the primary.
+         */
+        private int maximumPoolSize = 0;
+
+        /**
+         * Lag beyond which the replica is skipped and all transactions run on the primary; a lag which could not be
+         * measured lately counts as too large.
+         */
+        private long maxLagSeconds = 5;
+
+        /**
+         * How long the read-only transactions of a user run on the primary after a read-write one, so that they see
+         * its changes; it must be longer than {@code max-lag-seconds}.
+         */
+        private long readYourWritesSeconds = 10;
+
+        /**
+         * Interval of the heartbeat written on the primary and read on the replica to measure its lag.
+         */
+        private long heartbeatIntervalSeconds = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public long getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(long maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getReadYourWritesSeconds() {
+            return readYourWritesSeconds;
+        }
+
+        public void setReadYourWritesSeconds(long readYourWritesSeconds) {
+            this.readYourWritesSeconds = readYourWritesSeconds;
+        }
+
+        public long getHeartbeatIntervalSeconds() {
+            return heartbeatIntervalSeconds;
+        }
+
+        public void setHeartbeatIntervalSeconds(long heartbeatIntervalSeconds) {
+            this.heartbeatIntervalSeconds = heartbeatIntervalSeconds;
+        }
+    }
+
+    public static class SalesRollup {
+
+        /**
+         * Interval at which the sales journal is folded into the hourly and daily rollups.
+         */
+        private long flushIntervalSeconds = 5;
+
+        /**
+         * Journal rows folded per transaction.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Time zone the hourly and daily rollups are aligned on, the one of the restaurant. Every node folds the journal,
+         * so it is configured rather than taken from the host.
+         */
+        private ZoneId timeZone = ZoneOffset.UTC;
+
+        public long getFlushIntervalSeconds() {
+            return flushIntervalSeconds;
+        }
+
+        public void setFlushIntervalSeconds(long flushIntervalSeconds) {
+            this.flushIntervalSeconds = flushIntervalSeconds;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public ZoneId getTimeZone() {
+            return timeZone;
+        }
+
+        public void setTimeZone(ZoneId timeZone) {
+            this.timeZone = timeZone;
+        }
+    }
+
+    public static class BestSellers {
+
+        /**
+         * Menu items counted per time bucket; beyond that, the least sold one is replaced and the counts become
+         * estimates. Counts are exact while the menu has fewer items.
+         */
+        private int capacity = 200;
+
+        /**
+         * Delay between two publications of the counts of this node, and reads of the counts of the other nodes.
+         */
+        private long publishIntervalSeconds = 10;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getPublishIntervalSeconds() {
+            return publishIntervalSeconds;
+        }
+
+        public void setPublishIntervalSeconds(long publishIntervalSeconds) {
+            this.publishIntervalSeconds = publishIntervalSeconds;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,8 +1,12 @@
 package com.cbse.restaurant.config;
 
+import com.cbse.restaurant.security.CachingJwtDecoder;
 import java.time.Duration;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
@@ -19,22 +23,18 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = "com.cbse.restaurant.domain.";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+    private final ApplicationProperties.JwtCache jwtCacheProperties;
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+        this.jwtCacheProperties = applicationProperties.getJwtCache();
     }
 
     @Bean
@@ -47,6 +47,10 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.cbse.restaurant.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.cbse.restaurant.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, org.hibernate.cache.spi.RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, com.cbse.restaurant.repository.MenuItemRepository.QUERY_CACHE);
+            createCache(cm, com.cbse.restaurant.repository.StaffRepository.QUERY_CACHE);
             createCache(cm, com.cbse.restaurant.domain.User.class.getName());
             createCache(cm, com.cbse.restaurant.domain.Authority.class.getName());
             createCache(cm, com.cbse.restaurant.domain.User.class.getName() + ".authorities");
@@ -58,17 +62,61 @@ public class CacheConfiguration {
             createCache(cm, com.cbse.restaurant.domain.Staff.class.getName());
             createCache(cm, com.cbse.restaurant.domain.Customer.class.getName());
             createCache(cm, com.cbse.restaurant.domain.Customer.class.getName() + ".reservations");
+            createCache(cm, CachingJwtDecoder.CACHE, CachingJwtDecoder.cacheConfiguration(jwtCacheProperties));
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
-        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        createCache(cm, cacheName, jcacheConfiguration(cacheName));
+    }
+
+    private <K, V> void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<K, V> configuration
+    ) {
+        javax.cache.Cache<K, V> cache = cm.getCache(cacheName, configuration.getKeyType(), configuration.getValueType());
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
+        }
+        // Statistics are what the cache metrics, by cache name, are read from
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Configuration of a cache, from its region settings in {@code application.cache.regions}, completed by
+     * {@code jhipster.cache.ehcache}.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        String regionName = cacheName.startsWith(DOMAIN_PACKAGE) ? cacheName.substring(DOMAIN_PACKAGE.length()) : cacheName;
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(regionName);
+        if (region == null) {
+            region = new ApplicationProperties.Cache.Region();
+        }
+
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdleSeconds() != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()))
+            : ExpiryPolicyBuilder.timeToLiveExpiration(
+                Duration.ofSeconds(region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds())
+            );
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(expiry);
+        if (region.getEvictionAdvisor() == ApplicationProperties.Cache.EvictionAdvisor.KEEP_SOFT_LOCKS) {
+            configuration = configuration.withEvictionAdvisor((key, value) -> value instanceof SoftLock);
         }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
     }
 
     @Autowired(required = false)
@@ -0,0 +1,129 @@
+package com.cbse.restaurant.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source letting a limited number of threads hold a connection at once, the other ones waiting in turn.
+ * <p>
+ * With virtual threads, the number of threads is not bounded by a pool any more: thousands of requests may ask for a
+ * connection together, all of them contending on the connection pool and timing out at once. A fair semaphore sized
+ * like the connection pool queues them instead, and releases a permit when a connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final long timeoutMillis;
+
+    private Timer waitTimer;
+
+    /**
+     * @param targetDataSource the data source, usually a connection pool.
+     * @param maxConnections the maximum number of connections held at once.
+     * @param timeoutMillis how long to wait for a connection before failing, usually the timeout of the pool.
+     */
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, long timeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Register the meters of the waits for a connection, tagged with the pool they are for.
+     *
+     * @param meterRegistry the registry.
+     * @param pool the name of the connection pool, as in the {@code pool} tag of the Hikari meters.
+     */
+    public void bindTo(MeterRegistry meterRegistry, String pool) {
+        Gauge.builder("app.datasource.permits.waiting", permits, Semaphore::getQueueLength)
+            .description("Threads waiting for their turn to get a database connection")
+            .tag("pool", pool)
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("app.datasource.permits.wait")
+            .description("Time waited for the turn to get a database connection")
+            .tag("pool", pool)
+            .register(meterRegistry);
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limit(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limit(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No database connection available within " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        } finally {
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Wrap a connection so that closing it, even more than once, releases its permit once.
+     */
+    private Connection limit(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionLimitingDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }
+        );
+    }
+}
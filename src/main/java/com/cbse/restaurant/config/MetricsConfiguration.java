@@ -0,0 +1,57 @@
+package com.cbse.restaurant.config;
+
+import com.cbse.restaurant.aop.metrics.ServiceMetricsAspect;
+import com.cbse.restaurant.management.HibernateQueryCounter;
+import com.cbse.restaurant.web.filter.QueryBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class MetricsConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.metrics", name = "service-timers-enabled", havingValue = "true", matchIfMissing = true)
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry meterRegistry) {
+        return new ServiceMetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.metrics", name = "query-counting-enabled", havingValue = "true", matchIfMissing = true)
+    public HibernateQueryCounter hibernateQueryCounter() {
+        return new HibernateQueryCounter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.metrics", name = "query-counting-enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer queryCounterHibernatePropertiesCustomizer(HibernateQueryCounter hibernateQueryCounter) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, hibernateQueryCounter);
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, hibernateQueryCounter);
+        };
+    }
+
+    /**
+     * Runs before the security filter chain, so that the user lookups of the authentication are counted too.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.metrics", name = "query-counting-enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+        HibernateQueryCounter hibernateQueryCounter,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+            new QueryBudgetFilter(hibernateQueryCounter, meterRegistry, applicationProperties.getMetrics().getQueryBudget())
+        );
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
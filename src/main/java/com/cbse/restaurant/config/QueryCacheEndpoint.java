@@ -0,0 +1,97 @@
+package com.cbse.restaurant.config;
+
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Staff;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.repository.StaffRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint reporting how effective the query cache is, at {@code /management/querycache}.
+ * <p>
+ * A cached query result only holds the ids of the entities, which are then read from their own region: the report
+ * covers the query regions, the entity regions they resolve through, and the update timestamps region checked on each
+ * cached query. The figures are the cache meters bound by Spring Boot since startup, and the evictions of the query
+ * regions by {@code QueryCacheService}.
+ */
+@Component
+@Endpoint(id = "querycache")
+public class QueryCacheEndpoint {
+
+    static final List<String> REGIONS = List.of(
+        MenuItemRepository.QUERY_CACHE,
+        MenuItem.class.getName(),
+        StaffRepository.QUERY_CACHE,
+        Staff.class.getName(),
+        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME
+    );
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCacheEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Usage of a cache region.
+     *
+     * @param hits the lookups which found an entry.
+     * @param misses the lookups which did not.
+     * @param hitRatio the share of the lookups which found an entry, or {@code null} before the first lookup.
+     * @param puts the entries stored.
+     * @param evictions the entries evicted to make room for other ones.
+     * @param invalidations the times the whole region was evicted after a change.
+     */
+    public record RegionReport(long hits, long misses, Double hitRatio, long puts, long evictions, long invalidations) {}
+
+    @ReadOperation
+    public Map<String, RegionReport> report() {
+        Map<String, RegionReport> report = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            long hits = functionCount("cache.gets", region, "result", "hit");
+            long misses = functionCount("cache.gets", region, "result", "miss");
+            report.put(
+                region,
+                new RegionReport(
+                    hits,
+                    misses,
+                    hits + misses > 0 ? (double) hits / (hits + misses) : null,
+                    functionCount("cache.puts", region),
+                    functionCount("cache.evictions", region),
+                    invalidations(region)
+                )
+            );
+        }
+        return report;
+    }
+
+    private long invalidations(String region) {
+        return (long) meterRegistry
+            .find("app.query.cache.invalidations")
+            .tag("region", region)
+            .counters()
+            .stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+
+    private long functionCount(String name, String region, String... tags) {
+        return (long) meterRegistry
+            .find(name)
+            .tag("cache", region)
+            .tags(tags)
+            .functionCounters()
+            .stream()
+            .mapToDouble(FunctionCounter::count)
+            .sum();
+    }
+}
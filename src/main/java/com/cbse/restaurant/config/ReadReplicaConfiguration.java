@@ -0,0 +1,156 @@
+package com.cbse.restaurant.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Configuration sending the read-only transactions to a read replica, when {@code application.read-replica.enabled} is
+ * set.
+ * <p>
+ * The primary and the replica get their own connection pool, both configured by {@code spring.datasource.hikari}; only
+ * the URL, the credentials and the size of the replica pool are set apart. They are not candidates for injection by
+ * type, so JPA, the {@code JdbcTemplate} and the health checks use the routing data source, while Liquibase migrates
+ * the primary. The replica pool starts on its first connection, and the reads fall back to the primary while it lags
+ * behind or cannot be reached. The sessions reading from the replica only get entries from the second-level cache,
+ * they never put any.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    @Bean(defaultCandidate = false)
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource replicaDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) throws SQLException {
+        ApplicationProperties.ReadReplica readReplica = applicationProperties.getReadReplica();
+        HikariDataSource primary = primaryDataSource.unwrap(HikariDataSource.class);
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setJdbcUrl(readReplica.getUrl());
+        replica.setUsername(readReplica.getUsername());
+        replica.setPassword(readReplica.getPassword());
+        replica.setPoolName(primary.getPoolName() + "-replica");
+        replica.setReadOnly(true);
+        if (readReplica.getMaximumPoolSize() > 0) {
+            replica.setMaximumPoolSize(readReplica.getMaximumPoolSize());
+        }
+        LOG.info("Routing the read-only transactions to the read replica {}", readReplica.getUrl());
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(
+            new JdbcTemplate(primaryDataSource),
+            new DataSourceTransactionManager(primaryDataSource),
+            new JdbcTemplate(replicaDataSource),
+            applicationProperties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    @Bean(defaultCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicaDataSource,
+            replicaLagMonitor,
+            applicationProperties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("replicaRoutingDataSource") DataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Choose the data source of each read-only transaction when it begins, and keep the sessions reading from the
+     * replica from filling the second-level cache: what they load may be older than the entries the last commits evicted.
+     */
+    @Bean
+    public TransactionExecutionListener replicaRoutingTransactionListener(
+        @Qualifier("replicaRoutingDataSource") ReplicaRoutingDataSource replicaRoutingDataSource,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        return new ReplicaRoutingTransactionListener(replicaRoutingDataSource, entityManagerFactory);
+    }
+
+    private record ReplicaRoutingTransactionListener(ReplicaRoutingDataSource routingDataSource, EntityManagerFactory entityManagerFactory)
+        implements TransactionExecutionListener {
+        @Override
+        public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+            if (
+                beginFailure != null ||
+                !transaction.isReadOnly() ||
+                !TransactionSynchronizationManager.isSynchronizationActive() ||
+                !routingDataSource.pinReadOnlyTransaction() ||
+                !(TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)
+            ) {
+                return;
+            }
+            Session session = holder.getEntityManager().unwrap(Session.class);
+            CacheMode previousCacheMode = session.getCacheMode();
+            session.setCacheMode(CacheMode.GET);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (session.isOpen()) {
+                            session.setCacheMode(previousCacheMode);
+                        }
+                    }
+                }
+            );
+        }
+    }
+}
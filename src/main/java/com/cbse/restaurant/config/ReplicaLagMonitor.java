@@ -0,0 +1,114 @@
+package com.cbse.restaurant.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Monitor measuring how far the read replica is behind the primary.
+ * <p>
+ * A heartbeat row is updated on the primary at each check, and read on the replica beforehand: the age of the beat
+ * found there is the replication lag, up to the check interval. The replica is fresh while that lag stays under
+ * {@code application.read-replica.max-lag-seconds}; it is not when the lag could not be measured lately, for instance
+ * because the replica is unreachable.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int STALE_CHECKS = 3;
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    private final TransactionTemplate primaryTransactionTemplate;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final Duration maxLag;
+
+    private final Duration maxCheckAge;
+
+    private final Clock clock;
+
+    private volatile Duration lag;
+
+    private volatile Instant lastCheck;
+
+    public ReplicaLagMonitor(
+        JdbcTemplate primaryJdbcTemplate,
+        PlatformTransactionManager primaryTransactionManager,
+        JdbcTemplate replicaJdbcTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.primaryJdbcTemplate = primaryJdbcTemplate;
+        this.primaryTransactionTemplate = new TransactionTemplate(primaryTransactionManager);
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        ApplicationProperties.ReadReplica readReplica = applicationProperties.getReadReplica();
+        this.maxLag = Duration.ofSeconds(readReplica.getMaxLagSeconds());
+        this.maxCheckAge = Duration.ofSeconds(readReplica.getHeartbeatIntervalSeconds() * STALE_CHECKS);
+        this.clock = clock;
+        Gauge.builder("app.datasource.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+            .description("Replication lag of the read replica, NaN when it could not be measured")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Measure the lag on the replica, then write the next heartbeat on the primary.
+     */
+    @Scheduled(fixedDelayString = "${application.read-replica.heartbeat-interval-seconds:1}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        Instant now = clock.instant();
+        try {
+            Timestamp beat = replicaJdbcTemplate.queryForObject("select beat from replication_heartbeat where id = 1", Timestamp.class);
+            lag = beat != null ? maxDuration(Duration.between(beat.toInstant(), now), Duration.ZERO) : null;
+            lastCheck = now;
+        } catch (DataAccessException e) {
+            LOG.warn("Could not measure the lag of the read replica: {}", e.getMessage());
+            lag = null;
+        }
+        try {
+            primaryTransactionTemplate.executeWithoutResult(status ->
+                primaryJdbcTemplate.update("update replication_heartbeat set beat = ? where id = 1", Timestamp.from(now))
+            );
+        } catch (DataAccessException e) {
+            LOG.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the lag of the replica was measured lately and is small enough for it to serve reads.
+     */
+    public boolean isReplicaFresh() {
+        Duration currentLag = lag;
+        Instant checked = lastCheck;
+        return (
+            currentLag != null &&
+            checked != null &&
+            currentLag.compareTo(maxLag) <= 0 &&
+            !checked.plus(maxCheckAge).isBefore(clock.instant())
+        );
+    }
+
+    double getLagSeconds() {
+        Duration currentLag = lag;
+        return currentLag != null ? currentLag.toMillis() / 1000.0 : Double.NaN;
+    }
+
+    private static Duration maxDuration(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,170 @@
+package com.cbse.restaurant.config;
+
+import com.cbse.restaurant.repository.PrimaryReads;
+import com.cbse.restaurant.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Data source running the read-only transactions on the read replica, and all the other statements on the primary.
+ * <p>
+ * The replica is skipped while the {@link ReplicaLagMonitor} does not report it as fresh, for the users who wrote
+ * lately, so that they read their own writes once the replica lags behind, and for the reads filling an application
+ * cache, see {@link PrimaryReads}. The data source of a read-only transaction is chosen when it begins, see
+ * {@link #pinReadOnlyTransaction()}, so that the session knows whether it may fill the second-level cache; it is
+ * obtained at the first statement, so this data source must be wrapped in a {@code LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private record Decision(Route route, Counter counter) {}
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Duration readYourWrites;
+
+    private final Clock clock;
+
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Key of the {@link Decision} bound to the read-only transaction in progress.
+     */
+    private final Object decisionKey = new Object();
+
+    private final Counter readCounter;
+
+    private final Counter readYourWritesCounter;
+
+    private final Counter cacheFillCounter;
+
+    private final Counter replicaLagCounter;
+
+    private final Counter writeCounter;
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        ReplicaLagMonitor lagMonitor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = Duration.ofSeconds(applicationProperties.getReadReplica().getReadYourWritesSeconds());
+        this.clock = clock;
+        this.readCounter = routingCounter(meterRegistry, "replica", "read");
+        this.readYourWritesCounter = routingCounter(meterRegistry, "primary", "read-your-writes");
+        this.cacheFillCounter = routingCounter(meterRegistry, "primary", "cache-fill");
+        this.replicaLagCounter = routingCounter(meterRegistry, "primary", "replica-lag");
+        this.writeCounter = routingCounter(meterRegistry, "primary", "write");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            SecurityUtils.getCurrentUserLogin().ifPresent(user -> recordWrite(user, clock.instant()));
+            writeCounter.increment();
+            return Route.PRIMARY;
+        }
+        Decision decision = TransactionSynchronizationManager.getResource(decisionKey) instanceof Decision pinned
+            ? pinned
+            : decideRead();
+        decision.counter().increment();
+        return decision.route();
+    }
+
+    /**
+     * Choose the data source of the read-only transaction which just began, and keep it until the transaction completes,
+     * even if the lag of the replica or the writes of the user change in between.
+     *
+     * @return {@code true} if the transaction reads from the replica.
+     */
+    public boolean pinReadOnlyTransaction() {
+        Decision decision = decideRead();
+        TransactionSynchronizationManager.bindResource(decisionKey, decision);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(decisionKey);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(decisionKey, decision);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(decisionKey);
+                }
+            }
+        );
+        return decision.route() == Route.REPLICA;
+    }
+
+    private Decision decideRead() {
+        if (PrimaryReads.isRequested()) {
+            return new Decision(Route.PRIMARY, cacheFillCounter);
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.map(user -> wroteRecently(user, clock.instant())).orElse(false)) {
+            return new Decision(Route.PRIMARY, readYourWritesCounter);
+        }
+        if (!lagMonitor.isReplicaFresh()) {
+            return new Decision(Route.PRIMARY, replicaLagCounter);
+        }
+        return new Decision(Route.REPLICA, readCounter);
+    }
+
+    private void recordWrite(String login, Instant now) {
+        lastWrites.put(login, now);
+    }
+
+    /**
+     * Forget the users whose last write is older than the read-your-writes delay.
+     */
+    @Scheduled(fixedDelayString = "${application.read-replica.read-your-writes-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void removeExpiredWrites() {
+        Instant now = clock.instant();
+        lastWrites.values().removeIf(lastWrite -> lastWrite.plus(readYourWrites).isBefore(now));
+    }
+
+    int trackedWriters() {
+        return lastWrites.size();
+    }
+
+    private boolean wroteRecently(String login, Instant now) {
+        Instant lastWrite = lastWrites.get(login);
+        return lastWrite != null && !lastWrite.plus(readYourWrites).isBefore(now);
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("app.datasource.routing")
+            .description("Connections obtained per data source and reason")
+            .tag("pool", pool)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -3,13 +3,19 @@ package com.cbse.restaurant.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.cbse.restaurant.security.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -29,8 +35,40 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+        ApplicationProperties applicationProperties,
+        @Qualifier("passwordHashingExecutor") AsyncTaskExecutor passwordHashingExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(
+            hashingPasswordEncoder(applicationProperties.getPasswordHashing()),
+            passwordHashingExecutor,
+            meterRegistry
+        );
+    }
+
+    /**
+     * Encoder doing the hashing. New hashes are prefixed with the id of their algorithm, so that it can be changed
+     * later, and hashes without prefix are matched with bcrypt; on a successful login, hashes without prefix or with
+     * another strength are replaced.
+     */
+    public static PasswordEncoder hashingPasswordEncoder(ApplicationProperties.PasswordHashing properties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(ApplicationProperties applicationProperties) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
     }
 
     @Bean
@@ -47,6 +85,9 @@ public class SecurityConfiguration {
                     .requestMatchers(mvc.pattern("/api/activate")).permitAll()
                     .requestMatchers(mvc.pattern("/api/account/reset-password/init")).permitAll()
                     .requestMatchers(mvc.pattern("/api/account/reset-password/finish")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/menu-items/images/**")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/menu-items/snapshot")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/menu-items/best-sellers")).permitAll()
                     .requestMatchers(mvc.pattern("/api/admin/**")).hasAuthority(AuthoritiesConstants.ADMIN)
                     .requestMatchers(mvc.pattern("/api/**")).authenticated()
                     .requestMatchers(mvc.pattern("/v3/api-docs/**")).permitAll()
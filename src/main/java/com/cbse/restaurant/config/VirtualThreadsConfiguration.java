@@ -0,0 +1,91 @@
+package com.cbse.restaurant.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+/**
+ * Configuration running requests and scheduled jobs on virtual threads, when {@code application.virtual-threads.enabled}
+ * is set and the runtime is Java 21 or later; {@link AsyncConfiguration} runs {@code @Async} tasks on them too.
+ * <p>
+ * Blocking calls then no longer hold a platform thread, so slow clients and slow queries do not cap the concurrency at
+ * the size of the worker pool. The database connection pool becomes the limit instead, so the data source is wrapped in
+ * a {@link ConnectionLimitingDataSource} sized like the pool, which makes the other threads wait in turn.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+@ConditionalOnJava(JavaVersion.TWENTY_ONE)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    /**
+     * Whether virtual threads are enabled and supported by the runtime.
+     */
+    static boolean isActive(ApplicationProperties applicationProperties) {
+        return (
+            applicationProperties.getVirtualThreads().isEnabled() &&
+            JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)
+        );
+    }
+
+    /**
+     * Dispatch the servlet requests to virtual threads instead of the Undertow worker pool.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadsUndertowCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-"));
+                deploymentInfo.setAsyncExecutor(new VirtualThreadTaskExecutor("undertow-async-"));
+            });
+    }
+
+    @Bean(name = "taskScheduler")
+    public SimpleAsyncTaskScheduler taskScheduler(TaskSchedulingProperties taskSchedulingProperties) {
+        LOG.debug("Creating virtual threads task scheduler");
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setVirtualThreads(true);
+        scheduler.setThreadNamePrefix(taskSchedulingProperties.getThreadNamePrefix());
+        return scheduler;
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+        ObjectProvider<ApplicationProperties> applicationProperties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                    return bean;
+                }
+                int databaseConcurrency = applicationProperties.getObject().getVirtualThreads().getDatabaseConcurrency();
+                int maxConnections = databaseConcurrency > 0 ? databaseConcurrency : hikariDataSource.getMaximumPoolSize();
+                LOG.info("Limiting the threads using a database connection at once to {}", maxConnections);
+                ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+                    hikariDataSource,
+                    maxConnections,
+                    hikariDataSource.getConnectionTimeout()
+                );
+                String pool = hikariDataSource.getPoolName() != null ? hikariDataSource.getPoolName() : beanName;
+                meterRegistry.ifAvailable(registry -> dataSource.bindTo(registry, pool));
+                return dataSource;
+            }
+        };
+    }
+}
@@ -21,7 +21,8 @@ public class MenuItem implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", sequenceName = "sequence_generator", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -53,9 +54,8 @@ public class MenuItem implements Serializable {
     @Column(name = "is_available", nullable = false)
     private Boolean isAvailable;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image;
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
 
     @Column(name = "image_content_type")
     private String imageContentType;
@@ -164,17 +164,17 @@ public class MenuItem implements Serializable {
         this.isAvailable = isAvailable;
     }
 
-    public byte[] getImage() {
-        return this.image;
+    public String getImageHash() {
+        return this.imageHash;
     }
 
-    public MenuItem image(byte[] image) {
-        this.setImage(image);
+    public MenuItem imageHash(String imageHash) {
+        this.setImageHash(imageHash);
         return this;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public String getImageContentType() {
@@ -218,7 +218,7 @@ public class MenuItem implements Serializable {
             ", spicyLevel='" + getSpicyLevel() + "'" +
             ", isVegetarian='" + getIsVegetarian() + "'" +
             ", isAvailable='" + getIsAvailable() + "'" +
-            ", image='" + getImage() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
             "}";
     }
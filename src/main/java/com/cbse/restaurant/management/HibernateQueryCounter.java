@@ -0,0 +1,100 @@
+package com.cbse.restaurant.management;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements prepared and the entities loaded by Hibernate on the current thread.
+ * <p>
+ * It is registered as the session factory wide {@link StatementInspector} and {@link Interceptor}, and only counts
+ * between {@link #start()} and {@link #stop()}, so work done outside of a measured scope (scheduled jobs, startup)
+ * costs a thread-local lookup.
+ */
+public class HibernateQueryCounter implements StatementInspector, Interceptor {
+
+    private final transient ThreadLocal<QueryCount> current = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread, replacing any scope left open.
+     *
+     * @return the counts of the new scope.
+     */
+    public QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        current.set(queryCount);
+        return queryCount;
+    }
+
+    /**
+     * Stop counting on the current thread.
+     */
+    public void stop() {
+        current.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount queryCount = current.get();
+        if (queryCount != null) {
+            queryCount.statementPrepared(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryCount queryCount = current.get();
+        if (queryCount != null) {
+            queryCount.entityLoaded();
+        }
+        return false;
+    }
+
+    /**
+     * Counts of a single scope, only accessed by the thread which started it.
+     */
+    public static final class QueryCount {
+
+        private final Map<String, Integer> statementCounts = new HashMap<>();
+
+        private int statements;
+
+        private int entitiesLoaded;
+
+        private String mostRepeatedStatement;
+
+        private int mostRepeatedStatementCount;
+
+        void statementPrepared(String sql) {
+            statements++;
+            int count = statementCounts.merge(sql, 1, Integer::sum);
+            if (count > mostRepeatedStatementCount) {
+                mostRepeatedStatementCount = count;
+                mostRepeatedStatement = sql;
+            }
+        }
+
+        void entityLoaded() {
+            entitiesLoaded++;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public String getMostRepeatedStatement() {
+            return mostRepeatedStatement;
+        }
+
+        public int getMostRepeatedStatementCount() {
+            return mostRepeatedStatementCount;
+        }
+    }
+}
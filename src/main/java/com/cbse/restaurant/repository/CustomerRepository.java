@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,4 +38,19 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     @Query("select customer from Customer customer left join fetch customer.user where customer.id =:id")
     Optional<Customer> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Get a slice of the customers, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<Customer> findSliceBy(Pageable pageable);
+
+    default Slice<Customer> findSliceWithEagerRelationships(Pageable pageable) {
+        return this.findSliceWithToOneRelationships(pageable);
+    }
+
+    @Query("select customer from Customer customer left join fetch customer.user")
+    Slice<Customer> findSliceWithToOneRelationships(Pageable pageable);
 }
@@ -1,7 +1,18 @@
 package com.cbse.restaurant.repository;
 
 import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,86 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {}
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+    /**
+     * Query cache region of the menu queries, evicted on every menu change.
+     */
+    String QUERY_CACHE = "menuItemQueries";
+
+    /**
+     * Get a slice of the menuItems, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<MenuItem> findSliceBy(Pageable pageable);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE),
+        }
+    )
+    List<MenuItem> findAllByIsAvailableTrue(Sort sort);
+
+    /**
+     * Get the menu items of a category, by availability. The result is kept in the query cache.
+     *
+     * @param category the category.
+     * @param isAvailable whether the menu items are available.
+     * @param sort the order of the menu items.
+     * @return the menu items.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE),
+        }
+    )
+    List<MenuItem> findAllByCategoryAndIsAvailable(MenuCategory category, Boolean isAvailable, Sort sort);
+
+    /**
+     * Get the content type stored with an image. Images are content-addressed, so every menu item sharing the hash has
+     * the same one; the result is kept in the query cache.
+     *
+     * @param imageHash the content hash of the image.
+     * @param limit the maximum number of content types, one is enough.
+     * @return the content type, or empty if no menu item references the image.
+     */
+    @Query(
+        "select menuItem.imageContentType from MenuItem menuItem" +
+        " where menuItem.imageHash = :imageHash and menuItem.imageContentType is not null"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE),
+        }
+    )
+    List<String> findImageContentTypes(@Param("imageHash") String imageHash, Limit limit);
+
+    /**
+     * Load the pricing columns of several menu items in a single query, without touching the image column.
+     *
+     * @param ids the ids of the menu items.
+     * @return the pricing projection of the menu items found.
+     */
+    @Query(
+        "select menuItem.id as id, menuItem.name as name, menuItem.price as price, menuItem.isAvailable as isAvailable" +
+        " from MenuItem menuItem where menuItem.id in :ids"
+    )
+    List<MenuItemPrice> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projection of the {@link MenuItem} columns needed to price an order.
+     */
+    interface MenuItemPrice {
+        Long getId();
+
+        String getName();
+
+        BigDecimal getPrice();
+
+        Boolean getIsAvailable();
+    }
+}
@@ -1,10 +1,12 @@
 package com.cbse.restaurant.repository;
 
 import com.cbse.restaurant.domain.OrderItem;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,4 +39,40 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     @Query("select orderItem from OrderItem orderItem left join fetch orderItem.menuItem where orderItem.id =:id")
     Optional<OrderItem> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Load several orderItems with their menu item and order in a single query.
+     *
+     * @param ids the ids of the orderItems.
+     * @return the orderItems found.
+     */
+    @Query(
+        "select orderItem from OrderItem orderItem left join fetch orderItem.menuItem left join fetch orderItem.order" +
+        " where orderItem.id in :ids"
+    )
+    List<OrderItem> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Get the orders of several orderItems.
+     *
+     * @param ids the ids of the orderItems.
+     * @return the ids of their orders.
+     */
+    @Query("select distinct orderItem.order.id from OrderItem orderItem where orderItem.id in :ids and orderItem.order is not null")
+    List<Long> findOrderIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Get a slice of the orderItems, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<OrderItem> findSliceBy(Pageable pageable);
+
+    default Slice<OrderItem> findSliceWithEagerRelationships(Pageable pageable) {
+        return this.findSliceWithToOneRelationships(pageable);
+    }
+
+    @Query("select orderItem from OrderItem orderItem left join fetch orderItem.menuItem")
+    Slice<OrderItem> findSliceWithToOneRelationships(Pageable pageable);
 }
@@ -0,0 +1,43 @@
+package com.cbse.restaurant.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs reads on the primary database, when the read-only transactions are otherwise sent to a read replica.
+ * <p>
+ * The reads filling an application cache must see the last commits: a row read on a lagging replica would stay in the
+ * cache after the commit that evicted it. The read-only transactions begun within {@link #call(Supplier)} are routed
+ * to the primary; a transaction already in progress keeps its data source. Without a read replica, it has no effect.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private PrimaryReads() {}
+
+    /**
+     * Run reads on the primary.
+     *
+     * @param reads the reads, which begin their own transaction.
+     * @param <T> the type of the result.
+     * @return the result of the reads.
+     */
+    public static <T> T call(Supplier<T> reads) {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            REQUESTED.set(previous);
+        }
+    }
+
+    /**
+     * Whether the reads of the current thread must run on the primary.
+     *
+     * @return {@code true} within {@link #call(Supplier)}.
+     */
+    public static boolean isRequested() {
+        return REQUESTED.get();
+    }
+}
@@ -1,7 +1,14 @@
 package com.cbse.restaurant.repository;
 
 import com.cbse.restaurant.domain.Reservation;
+import com.cbse.restaurant.domain.enumeration.ReservationStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +16,39 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {}
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    /**
+     * Get a slice of the reservations, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<Reservation> findSliceBy(Pageable pageable);
+
+    /**
+     * Load the seating columns of the reservations in the given statuses starting from a given date.
+     *
+     * @param statuses the reservation statuses.
+     * @param from the earliest reservation date.
+     * @return the seating projection of the reservations found.
+     */
+    @Query(
+        "select reservation.id as id, reservation.reservationDate as reservationDate, reservation.partySize as partySize" +
+        " from Reservation reservation where reservation.status in :statuses and reservation.reservationDate >= :from"
+    )
+    List<ReservationSeats> findSeatsByStatusInAndReservationDateFrom(
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("from") Instant from
+    );
+
+    /**
+     * Projection of the {@link Reservation} columns needed to track seat occupancy.
+     */
+    interface ReservationSeats {
+        Long getId();
+
+        Instant getReservationDate();
+
+        Integer getPartySize();
+    }
+}
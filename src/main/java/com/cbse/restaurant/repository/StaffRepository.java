@@ -1,6 +1,13 @@
 package com.cbse.restaurant.repository;
 
 import com.cbse.restaurant.domain.Staff;
+import com.cbse.restaurant.domain.enumeration.StaffRole;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +16,32 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StaffRepository extends JpaRepository<Staff, Long> {}
+public interface StaffRepository extends JpaRepository<Staff, Long> {
+    /**
+     * Query cache region of the staff queries, evicted on every staff change.
+     */
+    String QUERY_CACHE = "staffQueries";
+
+    /**
+     * Get a slice of the staff, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<Staff> findSliceBy(Pageable pageable);
+
+    /**
+     * Get the active staff with a role. The result is kept in the query cache.
+     *
+     * @param role the role.
+     * @param sort the order of the staff.
+     * @return the active staff.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE),
+        }
+    )
+    List<Staff> findAllByRoleAndIsActiveTrue(StaffRole role, Sort sort);
+}
@@ -0,0 +1,161 @@
+package com.cbse.restaurant.security;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Authority;
+import com.cbse.restaurant.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the users resolved for authentication, keyed by lowercase login or email.
+ * <p>
+ * Entries are immutable snapshots of the user with its authorities, since the
+ * {@link org.springframework.security.core.userdetails.User} returned for authentication has its password erased once
+ * authenticated. Logins and emails which match no user are cached too, for a shorter time. The user service evicts a
+ * user whenever it changes it; an eviction also discards the lookups which were running meanwhile, so that they do not
+ * cache what they read before the change.
+ */
+@Component
+public class AuthenticationPrincipalCache {
+
+    /**
+     * A user as resolved for authentication.
+     */
+    public record CachedPrincipal(String login, String password, boolean activated, List<GrantedAuthority> authorities) {
+        public static CachedPrincipal of(User user) {
+            List<GrantedAuthority> authorities = user
+                .getAuthorities()
+                .stream()
+                .map(Authority::getName)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+            return new CachedPrincipal(user.getLogin(), user.getPassword(), user.isActivated(), authorities);
+        }
+    }
+
+    /**
+     * A cached lookup; {@code principal} is {@code null} when no user matched.
+     */
+    private record Entry(CachedPrincipal principal, long expiresAt) {}
+
+    private final ApplicationProperties.AuthenticationCache properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by each eviction, so that lookups started before it do not cache their result.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+
+    private final Counter negativeHitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter evictionCounter;
+
+    public AuthenticationPrincipalCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getAuthenticationCache();
+        Gauge.builder("app.authentication.cache.size", entries, Map::size)
+            .description("Logins and emails cached for authentication")
+            .register(meterRegistry);
+        this.hitCounter = getsCounter("hit", meterRegistry);
+        this.negativeHitCounter = getsCounter("negative-hit", meterRegistry);
+        this.missCounter = getsCounter("miss", meterRegistry);
+        this.evictionCounter = Counter.builder("app.authentication.cache.evictions")
+            .description("Users evicted from the authentication cache because they changed")
+            .register(meterRegistry);
+    }
+
+    private static Counter getsCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("app.authentication.cache.gets")
+            .description("Lookups of the authentication cache, by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the user with a login or email, loading it on a miss.
+     *
+     * @param username the lowercase login or email.
+     * @param loader loads the user, or returns {@code null} if there is none.
+     * @return the user, or {@code null} if there is none.
+     */
+    public CachedPrincipal get(String username, Function<String, CachedPrincipal> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(username);
+        }
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            (entry.principal == null ? negativeHitCounter : hitCounter).increment();
+            return entry.principal;
+        }
+        missCounter.increment();
+        long loadGeneration = generation.get();
+        CachedPrincipal principal = loader.apply(username);
+        long ttlSeconds = principal == null ? properties.getNegativeTtlSeconds() : properties.getTtlSeconds();
+        Entry loaded = new Entry(principal, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        if (hasRoomFor(username)) {
+            entries.put(username, loaded);
+            if (generation.get() != loadGeneration) {
+                entries.remove(username, loaded);
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Evict a user, under its login and email as well as any former email it was cached under. Within a transaction,
+     * the user is evicted again once it commits, as lookups until then still read the former user.
+     *
+     * @param login the login of the user.
+     * @param email the email of the user, may be {@code null}.
+     */
+    public void evict(String login, String email) {
+        doEvict(login, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        doEvict(login, email);
+                    }
+                }
+            );
+        }
+    }
+
+    private void doEvict(String login, String email) {
+        generation.incrementAndGet();
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        entries.remove(lowercaseLogin);
+        if (email != null) {
+            entries.remove(email.toLowerCase(Locale.ENGLISH));
+        }
+        entries.values().removeIf(entry -> entry.principal != null && entry.principal.login().equalsIgnoreCase(lowercaseLogin));
+        evictionCounter.increment();
+    }
+
+    private boolean hasRoomFor(String username) {
+        if (entries.size() < properties.getMaxEntries() || entries.containsKey(username)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        return entries.size() < properties.getMaxEntries();
+    }
+}
@@ -0,0 +1,218 @@
+package com.cbse.restaurant.security;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.Configuration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Decoder of the bearer tokens, which keeps the tokens it has validated until they expire.
+ * <p>
+ * Clients send the same token on every request, so verifying its signature and parsing its claims each time is
+ * wasted work. A cached token is reused until its expiry, and at most {@code max-ttl-seconds} after its validation;
+ * expired tokens always go through the delegate decoder, so they are rejected and counted as such. The cache is keyed
+ * by the token itself: a signature cannot be forged for a token which was never validated, and the decoded
+ * {@link Jwt} holds the token anyway.
+ * <p>
+ * The tokens are kept in the {@value #CACHE} cache region, which expires each of them on its own and evicts tokens
+ * beyond {@code max-entries}, so a full cache costs no more than an empty one.
+ * <p>
+ * Cached or not, every token is checked against the {@link TokenRevocationList}, since a token may be revoked while
+ * it is cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingJwtDecoder.class);
+
+    /**
+     * Name of the cache region of the validated tokens.
+     */
+    public static final String CACHE = "validatedJwts";
+
+    /**
+     * Why a token was rejected, found from the exception types rather than from their messages.
+     */
+    public enum Failure {
+        INVALID_SIGNATURE,
+        EXPIRED,
+        MALFORMED,
+        UNSUPPORTED,
+        UNKNOWN;
+
+        /**
+         * Classify a failure of {@link org.springframework.security.oauth2.jwt.NimbusJwtDecoder}.
+         * <p>
+         * Claims are only validated once the signature is verified, and only the timestamps are validated; parsing
+         * errors are wrapped, possibly twice, around a {@link ParseException}; other token rejections by Nimbus, such
+         * as another algorithm or an unsigned token, are {@link BadJOSEException}.
+         */
+        public static Failure of(JwtException e) {
+            if (e instanceof JwtValidationException) {
+                return EXPIRED;
+            }
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof BadJWSException) {
+                    return INVALID_SIGNATURE;
+                }
+                if (cause instanceof ParseException) {
+                    return MALFORMED;
+                }
+                if (cause instanceof BadJOSEException) {
+                    return UNSUPPORTED;
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * A validated token, with the claims checked for revocation read once, since reading a claim converts it.
+     */
+    private record Entry(Jwt jwt, String tokenId, String subject, Instant issuedAt, long expiresAt) {
+        Entry(Jwt jwt, long expiresAt) {
+            this(jwt, jwt.getId(), jwt.getSubject(), jwt.getIssuedAt(), expiresAt);
+        }
+    }
+
+    /**
+     * Expires each cached token at its {@link Entry#expiresAt}.
+     */
+    private static final class EntryExpiry implements ExpiryPolicy<String, Object> {
+
+        @Override
+        public Duration getExpiryForCreation(String token, Object value) {
+            return timeToLive(value);
+        }
+
+        @Override
+        public Duration getExpiryForAccess(String token, Supplier<?> value) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(String token, Supplier<?> oldValue, Object newValue) {
+            return timeToLive(newValue);
+        }
+
+        private static Duration timeToLive(Object value) {
+            return Duration.ofMillis(Math.max(0, ((Entry) value).expiresAt - System.currentTimeMillis()));
+        }
+    }
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final TokenRevocationList revocationList;
+
+    private final ApplicationProperties.JwtCache properties;
+
+    private final Cache<String, Object> entries;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    public CachingJwtDecoder(
+        JwtDecoder delegate,
+        SecurityMetersService metersService,
+        TokenRevocationList revocationList,
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.revocationList = revocationList;
+        this.properties = applicationProperties.getJwtCache();
+        this.entries = cacheManager.getCache(CACHE, String.class, Object.class);
+        this.hitCounter = getsCounter("hit", meterRegistry);
+        this.missCounter = getsCounter("miss", meterRegistry);
+    }
+
+    /**
+     * Configuration of the {@value #CACHE} cache region, holding at most {@code max-entries} tokens on the heap.
+     *
+     * @param properties the JWT cache properties.
+     * @return the configuration.
+     */
+    public static Configuration<String, Object> cacheConfiguration(ApplicationProperties.JwtCache properties) {
+        CacheConfigurationBuilder<String, Object> configuration = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            String.class,
+            Object.class,
+            ResourcePoolsBuilder.heap(properties.getMaxEntries())
+        ).withExpiry(new EntryExpiry());
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
+    }
+
+    private static Counter getsCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("app.jwt.cache.gets")
+            .description("Lookups of the validated tokens cache, by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        Entry entry = properties.isEnabled() ? getOrValidate(token) : new Entry(validate(token), 0);
+        if (revocationList.isRevoked(entry.tokenId, entry.subject, entry.issuedAt)) {
+            throw new BadJwtException("Revoked token");
+        }
+        return entry.jwt;
+    }
+
+    private Entry getOrValidate(String token) {
+        if (entries.get(token) instanceof Entry entry) {
+            hitCounter.increment();
+            return entry;
+        }
+        missCounter.increment();
+        Jwt jwt = validate(token);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.SECONDS.toMillis(properties.getMaxTtlSeconds());
+        if (jwt.getExpiresAt() != null) {
+            expiresAt = Math.min(expiresAt, jwt.getExpiresAt().toEpochMilli());
+        }
+        Entry validated = new Entry(jwt, expiresAt);
+        if (expiresAt > now) {
+            entries.put(token, validated);
+        }
+        return validated;
+    }
+
+    private Jwt validate(String token) {
+        try {
+            return delegate.decode(token);
+        } catch (JwtException e) {
+            switch (Failure.of(e)) {
+                case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+                case EXPIRED -> metersService.trackTokenExpired();
+                case MALFORMED -> metersService.trackTokenMalformed();
+                case UNSUPPORTED -> metersService.trackTokenUnsupported();
+                case UNKNOWN -> LOG.error("Unknown JWT error {}", e.getMessage());
+            }
+            throw e;
+        }
+    }
+}
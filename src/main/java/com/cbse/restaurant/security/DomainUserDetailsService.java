@@ -1,14 +1,16 @@
 package com.cbse.restaurant.security;
 
-import com.cbse.restaurant.domain.Authority;
 import com.cbse.restaurant.domain.User;
+import com.cbse.restaurant.repository.PrimaryReads;
 import com.cbse.restaurant.repository.UserRepository;
+import com.cbse.restaurant.security.AuthenticationPrincipalCache.CachedPrincipal;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -16,47 +18,82 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Users are resolved through the {@link AuthenticationPrincipalCache}, so that only the first authentication of a user
+ * queries the database; this method is not transactional, so that cache hits do not take a connection either. The
+ * misses are read on the primary database, so that a read replica lagging behind does not cache outdated credentials.
+ * <p>
+ * On a successful login, a password hash which is not in the current format is replaced, see
+ * {@link UserDetailsPasswordService}.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements UserDetailsService {
+public class DomainUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final AuthenticationPrincipalCache principalCache;
+
+    private final CacheManager cacheManager;
+
+    public DomainUserDetailsService(UserRepository userRepository, AuthenticationPrincipalCache principalCache, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.cacheManager = cacheManager;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        if (EMAIL_VALIDATOR.isValid(login, null)) {
+            CachedPrincipal principal = principalCache.get(lowercaseLogin, email ->
+                PrimaryReads.call(() -> userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email)).map(CachedPrincipal::of).orElse(null)
+            );
+            if (principal == null) {
+                throw new UsernameNotFoundException("User with email " + login + " was not found in the database");
+            }
+            return createSpringSecurityUser(login, principal);
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+        CachedPrincipal principal = principalCache.get(lowercaseLogin, key ->
+            PrimaryReads.call(() -> userRepository.findOneWithAuthoritiesByLogin(key)).map(CachedPrincipal::of).orElse(null)
+        );
+        if (principal == null) {
+            throw new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database");
+        }
+        return createSpringSecurityUser(lowercaseLogin, principal);
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-        if (!user.isActivated()) {
+    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, CachedPrincipal principal) {
+        if (!principal.activated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
-        List<SimpleGrantedAuthority> grantedAuthorities = user
-            .getAuthorities()
-            .stream()
-            .map(Authority::getName)
-            .map(SimpleGrantedAuthority::new)
-            .toList();
-        return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
+        return new org.springframework.security.core.userdetails.User(principal.login(), principal.password(), principal.authorities());
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        LOG.debug("Upgrading password hash of {}", userDetails.getUsername());
+        userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .ifPresent(user -> {
+                user.setPassword(newPassword);
+                clearUserCaches(user);
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build();
+    }
+
+    private void clearUserCaches(User user) {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        if (user.getEmail() != null) {
+            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+        }
+        principalCache.evict(user.getLogin(), user.getEmail());
     }
 }
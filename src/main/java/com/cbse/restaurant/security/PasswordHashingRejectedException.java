@@ -0,0 +1,15 @@
+package com.cbse.restaurant.security;
+
+/**
+ * This exception is thrown when a password cannot be hashed because too many are already waiting to be.
+ * <p>
+ * It is not an {@link org.springframework.security.core.AuthenticationException}, as the credentials were not checked.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message, Throwable t) {
+        super(message, t);
+    }
+}
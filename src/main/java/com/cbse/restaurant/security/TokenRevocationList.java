@@ -0,0 +1,219 @@
+package com.cbse.restaurant.security;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory list of the revoked tokens, checked on each authenticated request.
+ * <p>
+ * A token is revoked either by its id, or with all the tokens of its subject issued before a date. Both are kept in
+ * exact sets, fronted by a Bloom filter holding the revoked token ids and subjects: almost all tokens are not revoked
+ * and are cleared by the filter, without touching the sets. Lookups take no lock; revocations are added under a lock,
+ * to the exact sets before the filter, so that a token matching the filter is always found in the sets. A Bloom filter
+ * cannot forget a key, so it is rebuilt once expired revocations have been removed.
+ */
+@Component
+public class TokenRevocationList {
+
+    /**
+     * A revocation of the token with an id, or of the tokens of a subject issued before a date.
+     *
+     * @param tokenId the id of the revoked token, or {@code null} for a revocation of a subject.
+     * @param subject the subject whose tokens are revoked, or {@code null} for a revocation of a token.
+     * @param issuedBefore the tokens of the subject issued before this date are revoked.
+     * @param expiresAt the date from which all the revoked tokens have expired.
+     */
+    public record Revocation(String tokenId, String subject, Instant issuedBefore, Instant expiresAt) {
+        public static Revocation ofToken(String tokenId, Instant expiresAt) {
+            return new Revocation(Objects.requireNonNull(tokenId), null, null, expiresAt);
+        }
+
+        public static Revocation ofSubject(String subject, Instant issuedBefore, Instant expiresAt) {
+            return new Revocation(null, Objects.requireNonNull(subject), Objects.requireNonNull(issuedBefore), expiresAt);
+        }
+    }
+
+    private final ApplicationProperties.TokenRevocation properties;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Revocation> revokedSubjects = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private final Counter revokedCounter;
+
+    private final Counter passedCounter;
+
+    public TokenRevocationList(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getTokenRevocation();
+        this.filter = new BloomFilter(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+        Gauge.builder("app.jwt.revocation.size", this, TokenRevocationList::size)
+            .description("Token and subject revocations not yet expired")
+            .register(meterRegistry);
+        this.revokedCounter = checksCounter("revoked", meterRegistry);
+        this.passedCounter = checksCounter("passed", meterRegistry);
+    }
+
+    private static Counter checksCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("app.jwt.revocation.checks")
+            .description("Tokens matched by the revocation filter, by result of the exact check")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a token is revoked.
+     *
+     * @param jwt the validated token.
+     * @return {@code true} if the token is revoked.
+     */
+    public boolean isRevoked(Jwt jwt) {
+        return isRevoked(jwt.getId(), jwt.getSubject(), jwt.getIssuedAt());
+    }
+
+    /**
+     * Check whether a token is revoked, from its claims read beforehand.
+     *
+     * @param tokenId the id of the token, may be {@code null}.
+     * @param subject the subject of the token, may be {@code null}.
+     * @param issuedAt the issue date of the token, may be {@code null}.
+     * @return {@code true} if the token is revoked.
+     */
+    public boolean isRevoked(String tokenId, String subject, Instant issuedAt) {
+        BloomFilter filter = this.filter;
+        if (tokenId != null && filter.mightContain(tokenId)) {
+            if (revokedTokens.containsKey(tokenId)) {
+                revokedCounter.increment();
+                return true;
+            }
+            passedCounter.increment();
+        }
+        if (subject != null && filter.mightContain(subject)) {
+            Revocation revocation = revokedSubjects.get(subject);
+            if (revocation != null && (issuedAt == null || issuedAt.isBefore(revocation.issuedBefore()))) {
+                revokedCounter.increment();
+                return true;
+            }
+            passedCounter.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Add a revocation; adding it again, for example when it is polled from the database, has no effect.
+     *
+     * @param revocation the revocation.
+     */
+    public synchronized void add(Revocation revocation) {
+        String key;
+        if (revocation.tokenId() != null) {
+            key = revocation.tokenId();
+            revokedTokens.merge(key, revocation.expiresAt(), TokenRevocationList::latest);
+        } else {
+            key = revocation.subject();
+            revokedSubjects.merge(key, revocation, (a, b) ->
+                Revocation.ofSubject(key, latest(a.issuedBefore(), b.issuedBefore()), latest(a.expiresAt(), b.expiresAt()))
+            );
+        }
+        if (size() > filter.capacity) {
+            rebuild();
+        } else {
+            filter.put(key);
+        }
+    }
+
+    /**
+     * Remove the revocations whose tokens have all expired.
+     *
+     * @param now the current date.
+     */
+    public synchronized void removeExpired(Instant now) {
+        boolean removed = revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        removed |= revokedSubjects.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+        if (removed) {
+            rebuild();
+        }
+    }
+
+    public int size() {
+        return revokedTokens.size() + revokedSubjects.size();
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(properties.getExpectedEntries(), 2 * size()), properties.getFalsePositiveRate());
+        revokedTokens.keySet().forEach(rebuilt::put);
+        revokedSubjects.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Bloom filter of strings, whose bit positions are derived from the cached hash code of the strings.
+     */
+    private static final class BloomFilter {
+
+        private final int capacity;
+
+        private final AtomicLongArray bits;
+
+        private final int mask;
+
+        private final int hashes;
+
+        BloomFilter(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            double optimalBits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            int size = Integer.highestOneBit((int) Math.min(Math.max(optimalBits, 64), 1 << 30) - 1) << 1;
+            this.bits = new AtomicLongArray(size / 64);
+            this.mask = size - 1;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = mix(key.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long word = 1L << bit;
+                bits.getAndAccumulate(bit >>> 6, word, (current, set) -> current | set);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = mix(key.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * The finalizer of SplitMix64, spreading the 32 bits of the hash code over 64 bits.
+         */
+        private static long mix(int hashCode) {
+            long z = hashCode * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
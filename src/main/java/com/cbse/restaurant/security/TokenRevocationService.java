@@ -0,0 +1,160 @@
+package com.cbse.restaurant.security;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.security.TokenRevocationList.Revocation;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service revoking tokens before they expire, shared by all the instances through the {@code jwt_revocation} table.
+ * <p>
+ * A revocation is inserted in the table and added to the {@link TokenRevocationList} of this instance at once. Each
+ * instance polls the table for the revocations created since its previous poll, so a revocation is enforced everywhere
+ * within the poll interval; the first poll loads all the revocations not yet expired. Polls read again the revocations
+ * created shortly before the previous one, which is harmless since revocations are idempotent, so that revocations
+ * committed late or on an instance whose clock is behind are not missed.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TokenRevocationList revocationList;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.TokenRevocation properties;
+
+    /**
+     * Start of the previous successful poll, or {@code null} until the revocations have been loaded.
+     */
+    private volatile Instant lastPoll;
+
+    public TokenRevocationService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        TokenRevocationList revocationList,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.revocationList = revocationList;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getTokenRevocation();
+    }
+
+    /**
+     * Revoke a token. A token issued without an id is revoked with all the tokens of its subject issued at the same
+     * time or before.
+     *
+     * @param jwt the token.
+     */
+    public void revokeToken(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt() : maxExpiry(Instant.now());
+        if (jwt.getId() != null) {
+            revoke(Revocation.ofToken(jwt.getId(), expiresAt));
+        } else {
+            Instant issuedAt = jwt.getIssuedAt() != null ? jwt.getIssuedAt() : Instant.now();
+            revoke(Revocation.ofSubject(jwt.getSubject(), issuedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1), expiresAt));
+        }
+    }
+
+    /**
+     * Revoke all the tokens issued to a subject until now. Token dates have a precision of one second, so the tokens
+     * issued during the current second are revoked too.
+     *
+     * @param subject the subject, that is the login of the user.
+     */
+    public void revokeSubject(String subject) {
+        Instant issuedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        revoke(Revocation.ofSubject(subject, issuedBefore, maxExpiry(issuedBefore)));
+    }
+
+    private void revoke(Revocation revocation) {
+        LOG.debug("Revoke tokens: {}", revocation);
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into jwt_revocation (token_id, subject, issued_before, expires_at, created_date) values (?, ?, ?, ?, ?)",
+                revocation.tokenId(),
+                revocation.subject(),
+                revocation.issuedBefore() != null ? Timestamp.from(revocation.issuedBefore()) : null,
+                Timestamp.from(revocation.expiresAt()),
+                Timestamp.from(Instant.now())
+            )
+        );
+        revocationList.add(revocation);
+    }
+
+    /**
+     * The date when all the tokens issued until a date have expired, remember-me tokens included.
+     */
+    private Instant maxExpiry(Instant issuedBefore) {
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        return issuedBefore.plusSeconds(Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe()));
+    }
+
+    /**
+     * Load the revocations created by all the instances since the previous poll, and forget the expired ones.
+     */
+    @Scheduled(fixedDelayString = "${application.token-revocation.poll-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        Instant now = Instant.now();
+        Instant since = lastPoll == null ? Instant.EPOCH : lastPoll.minusSeconds(properties.getPollLookbackSeconds());
+        try {
+            jdbcTemplate.query(
+                "select token_id, subject, issued_before, expires_at from jwt_revocation where created_date >= ? and expires_at > ?",
+                rs -> {
+                    revocationList.add(toRevocation(rs));
+                },
+                Timestamp.from(since),
+                Timestamp.from(now)
+            );
+            if (lastPoll == null) {
+                LOG.info("Loaded {} token revocations", revocationList.size());
+            }
+            lastPoll = now;
+        } catch (DataAccessException e) {
+            LOG.warn("Token revocations could not be loaded, they will be retried: {}", e.getMessage());
+        }
+        revocationList.removeExpired(now);
+    }
+
+    /**
+     * Delete the revocations whose tokens have all expired, once a day.
+     */
+    @Scheduled(cron = "0 55 3 * * ?")
+    public void removeExpiredRevocations() {
+        Integer deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.update("delete from jwt_revocation where expires_at <= ?", Timestamp.from(Instant.now()))
+        );
+        LOG.debug("Deleted {} expired token revocations", deleted);
+    }
+
+    private static Revocation toRevocation(ResultSet rs) throws SQLException {
+        Instant expiresAt = rs.getTimestamp("expires_at").toInstant();
+        String tokenId = rs.getString("token_id");
+        if (tokenId != null) {
+            return Revocation.ofToken(tokenId, expiresAt);
+        }
+        return Revocation.ofSubject(rs.getString("subject"), rs.getTimestamp("issued_before").toInstant(), expiresAt);
+    }
+}
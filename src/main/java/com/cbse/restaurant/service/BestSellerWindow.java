@@ -0,0 +1,64 @@
+package com.cbse.restaurant.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The sliding windows the best-selling menu items are ranked over.
+ */
+public enum BestSellerWindow {
+    /**
+     * The last hour, counted per 5 minutes.
+     */
+    HOUR(Duration.ofHours(1), Duration.ofMinutes(5)),
+    /**
+     * The last 24 hours, counted per hour.
+     */
+    DAY(Duration.ofDays(1), Duration.ofHours(1));
+
+    private final Duration length;
+
+    private final Duration bucketLength;
+
+    BestSellerWindow(Duration length, Duration bucketLength) {
+        this.length = length;
+        this.bucketLength = bucketLength;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    /**
+     * Get the number of buckets the window is made of.
+     *
+     * @return the number of buckets.
+     */
+    public int getBuckets() {
+        return (int) length.dividedBy(bucketLength);
+    }
+
+    /**
+     * Get the epoch of the bucket holding an instant: the start of the bucket divided by the length of the buckets.
+     *
+     * @param instant the instant.
+     * @return the epoch of its bucket.
+     */
+    public long epoch(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketLength.toMillis());
+    }
+
+    /**
+     * Get the start of a bucket.
+     *
+     * @param epoch the epoch of the bucket.
+     * @return the start of the bucket.
+     */
+    public Instant bucketStart(long epoch) {
+        return Instant.ofEpochMilli(epoch * bucketLength.toMillis());
+    }
+}
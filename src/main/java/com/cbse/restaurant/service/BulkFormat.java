@@ -0,0 +1,25 @@
+package com.cbse.restaurant.service;
+
+/**
+ * File formats of the bulk export and import.
+ */
+public enum BulkFormat {
+    /**
+     * Semicolon separated values with a header line of column names, the format of the Liquibase fake-data files.
+     */
+    CSV("text/csv"),
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BulkFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,168 @@
+package com.cbse.restaurant.service;
+
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.Reservation;
+import com.cbse.restaurant.domain.Staff;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Entity tables which can be exported and imported in bulk.
+ * <p>
+ * The columns are read from the JPA mapping of the entity, so they follow the entity when fields are added: every
+ * {@link Column} field, and the foreign key of every owning {@link ManyToOne} or {@link OneToOne} association.
+ */
+public enum BulkTable {
+    MENU_ITEM("menu-items", MenuItem.class),
+    CUSTOMER("customers", Customer.class),
+    ORDER("orders", Order.class),
+    ORDER_ITEM("order-items", OrderItem.class),
+    RESERVATION("reservations", Reservation.class),
+    STAFF("staff", Staff.class);
+
+    private final String path;
+
+    private final Class<?> entityClass;
+
+    private final String tableName;
+
+    private final List<BulkColumn> columns;
+
+    BulkTable(String path, Class<?> entityClass) {
+        this.path = path;
+        this.entityClass = entityClass;
+        this.tableName = entityClass.getAnnotation(Table.class).name();
+        this.columns = readColumns(entityClass);
+    }
+
+    /**
+     * Get the table exposed under the given REST path segment.
+     *
+     * @param path the path segment, like {@code menu-items}.
+     * @return the table, if any.
+     */
+    public static Optional<BulkTable> fromPath(String path) {
+        return Arrays.stream(values()).filter(table -> table.path.equals(path)).findFirst();
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Get the columns of the table, the {@code id} column first.
+     *
+     * @return the columns.
+     */
+    public List<BulkColumn> getColumns() {
+        return columns;
+    }
+
+    public Optional<BulkColumn> getColumn(String name) {
+        return columns.stream().filter(column -> column.getName().equals(name)).findFirst();
+    }
+
+    private static List<BulkColumn> readColumns(Class<?> entityClass) {
+        List<BulkColumn> columns = new ArrayList<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                columns.add(new BulkColumn(column.name(), field.getName(), field.getType(), false, !column.nullable()));
+                continue;
+            }
+            ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+            OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+            boolean owning = manyToOne != null || (oneToOne != null && oneToOne.mappedBy().isEmpty());
+            if (owning && field.getType().isAnnotationPresent(Entity.class)) {
+                JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                String name = joinColumn != null && !joinColumn.name().isEmpty() ? joinColumn.name() : toSnakeCase(field.getName()) + "_id";
+                boolean required = manyToOne != null ? !manyToOne.optional() : !oneToOne.optional();
+                columns.add(new BulkColumn(name, field.getName(), Long.class, true, required));
+            }
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    private static String toSnakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    /**
+     * A column of a bulk table.
+     */
+    public static final class BulkColumn {
+
+        private final String name;
+
+        private final String property;
+
+        private final Class<?> type;
+
+        private final boolean reference;
+
+        private final boolean required;
+
+        BulkColumn(String name, String property, Class<?> type, boolean reference, boolean required) {
+            this.name = name;
+            this.property = property;
+            this.type = type;
+            this.reference = reference;
+            this.required = required;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the name of the entity property mapped to the column, used to validate values with its constraints.
+         *
+         * @return the property name.
+         */
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * Get the Java type of the column values, {@link Long} for a foreign key.
+         *
+         * @return the value type.
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        public boolean isReference() {
+            return reference;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+    }
+}
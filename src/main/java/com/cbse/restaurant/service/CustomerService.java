@@ -4,6 +4,7 @@ import com.cbse.restaurant.service.dto.CustomerDTO;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface CustomerService {
@@ -16,8 +17,13 @@ public interface CustomerService {
     @Transactional(readOnly = true)
     Page<CustomerDTO> findAll(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<CustomerDTO> findAll(Pageable pageable, PaginationMode paginationMode);
+
     Page<CustomerDTO> findAllWithEagerRelationships(Pageable pageable);
 
+    Slice<CustomerDTO> findAllWithEagerRelationships(Pageable pageable, PaginationMode paginationMode);
+
     @Transactional(readOnly = true)
     Optional<CustomerDTO> findOne(Long id);
 
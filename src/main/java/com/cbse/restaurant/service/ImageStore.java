@@ -0,0 +1,28 @@
+package com.cbse.restaurant.service;
+
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+/**
+ * Content-addressed store for binary images.
+ * <p>
+ * Images are keyed by the lowercase hex SHA-256 of their content, so storing the same bytes twice yields the same key
+ * and a stored image never changes.
+ */
+public interface ImageStore {
+    /**
+     * Store an image.
+     *
+     * @param content the image bytes.
+     * @return the content hash identifying the image.
+     */
+    String store(byte[] content);
+
+    /**
+     * Load a stored image.
+     *
+     * @param hash the content hash returned by {@link #store(byte[])}.
+     * @return the image, or empty if the hash is unknown or malformed.
+     */
+    Optional<Resource> load(String hash);
+}
@@ -0,0 +1,353 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.service.BestSellerWindow;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service ranking the menu items by the quantity ordered over the last hour and the last day, for the menu boards.
+ * <p>
+ * The quantities of the created order items are counted in memory, after the commit, whatever the status of their
+ * order, so ranking them never queries the database. Each {@link BestSellerWindow} is a ring of time buckets, each one a
+ * Space-Saving summary of at most {@code application.best-sellers.capacity} menu items: past that, a new item replaces
+ * the least ordered one and inherits its count, so the counts of the top items are kept and only over-estimated. A
+ * bucket is recycled once it falls out of the window.
+ * <p>
+ * Every node counts the orders it creates. It periodically publishes its changed buckets to the
+ * {@code best_seller_bucket} table, under an id of its own, and reads back the buckets of the other nodes, in a
+ * read-only transaction which the read replica serves when there is one; a ranking merges its own buckets with the
+ * ones it last read. The buckets of a stopped node are counted until they fall out of the window, so a restarted node
+ * does not need to count the past orders again.
+ */
+@Service
+public class BestSellerTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BestSellerTracker.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<BestSellerWindow, SlidingWindow> windows = new EnumMap<>(BestSellerWindow.class);
+
+    /**
+     * The quantities of the other nodes, per window, bucket epoch and menu item, as last read.
+     */
+    private volatile Map<BestSellerWindow, Map<Long, Map<Long, Long>>> sharedBuckets = Map.of();
+
+    private final Object publishMonitor = new Object();
+
+    public BestSellerTracker(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        int capacity = applicationProperties.getBestSellers().getCapacity();
+        for (BestSellerWindow window : BestSellerWindow.values()) {
+            windows.put(window, new SlidingWindow(window, capacity));
+        }
+    }
+
+    /**
+     * Count the created order items once the current transaction commits, or immediately when no transaction is active.
+     *
+     * @param orderItems the created order items.
+     */
+    public void recordAfterCommit(List<OrderItem> orderItems) {
+        List<OrderItem> counted = orderItems
+            .stream()
+            .filter(orderItem -> orderItem.getMenuItem() != null && orderItem.getMenuItem().getId() != null)
+            .filter(orderItem -> orderItem.getQuantity() != null && orderItem.getQuantity() > 0)
+            .toList();
+        if (counted.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        record(counted);
+                    }
+                }
+            );
+        } else {
+            record(counted);
+        }
+    }
+
+    private void record(List<OrderItem> orderItems) {
+        Instant now = Instant.now();
+        orderItems.forEach(orderItem -> record(orderItem.getMenuItem().getId(), orderItem.getQuantity(), now, now));
+    }
+
+    /**
+     * Count a quantity of a menu item ordered at a given time.
+     *
+     * @param menuItemId the id of the menu item.
+     * @param quantity the quantity.
+     * @param orderedAt when the menu item was ordered; it is ignored once out of all the windows.
+     * @param now the current time.
+     */
+    public synchronized void record(Long menuItemId, long quantity, Instant orderedAt, Instant now) {
+        windows.values().forEach(window -> window.add(menuItemId, quantity, orderedAt, now));
+    }
+
+    /**
+     * Get the most ordered menu items over a window, on all the nodes.
+     *
+     * @param window the window.
+     * @param size the maximum number of menu items.
+     * @param now the current time.
+     * @return the menu items with their ordered quantity, the most ordered first.
+     */
+    public List<BestSeller> getBestSellers(BestSellerWindow window, int size, Instant now) {
+        Map<Long, Long> merged;
+        synchronized (this) {
+            merged = windows.get(window).merged(now);
+        }
+        long currentEpoch = window.epoch(now);
+        sharedBuckets
+            .getOrDefault(window, Map.of())
+            .forEach((epoch, counts) -> {
+                if (epoch <= currentEpoch && epoch > currentEpoch - window.getBuckets()) {
+                    counts.forEach((menuItemId, count) -> merged.merge(menuItemId, count, Long::sum));
+                }
+            });
+        return merged
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(size)
+            .map(entry -> new BestSeller(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    /**
+     * Publish the buckets of this node which changed since the previous call, drop the buckets out of their window,
+     * and read the buckets of the other nodes.
+     */
+    @Scheduled(fixedDelayString = "${application.best-sellers.publish-interval-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void publish() {
+        synchronized (publishMonitor) {
+            Instant now = Instant.now();
+            List<Bucket> changed = new ArrayList<>();
+            synchronized (this) {
+                windows.forEach((window, slidingWindow) -> changed.addAll(slidingWindow.drainChanged(now)));
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    changed.forEach(this::replace);
+                    windows
+                        .keySet()
+                        .forEach(window ->
+                            jdbcTemplate.update(
+                                "delete from best_seller_bucket where time_window = ? and bucket_start <= ?",
+                                window.name(),
+                                Timestamp.from(window.bucketStart(window.epoch(now) - window.getBuckets()))
+                            )
+                        );
+                });
+            } catch (DataAccessException e) {
+                LOG.warn("Best sellers could not be published, they will be retried: {}", e.getMessage());
+                synchronized (this) {
+                    changed.forEach(bucket -> windows.get(bucket.window()).markChanged(bucket.epoch()));
+                }
+            }
+            try {
+                sharedBuckets = readOnlyTransactionTemplate.execute(status -> readSharedBuckets(now));
+            } catch (DataAccessException e) {
+                LOG.warn("Best sellers of the other nodes could not be read: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void replace(Bucket bucket) {
+        Timestamp bucketStart = Timestamp.from(bucket.window().bucketStart(bucket.epoch()));
+        jdbcTemplate.update(
+            "delete from best_seller_bucket where node_id = ? and time_window = ? and bucket_start = ?",
+            nodeId,
+            bucket.window().name(),
+            bucketStart
+        );
+        jdbcTemplate.batchUpdate(
+            "insert into best_seller_bucket (node_id, time_window, bucket_start, menu_item_id, quantity) values (?, ?, ?, ?, ?)",
+            bucket
+                .counts()
+                .entrySet()
+                .stream()
+                .map(entry -> new Object[] { nodeId, bucket.window().name(), bucketStart, entry.getKey(), entry.getValue() })
+                .toList()
+        );
+    }
+
+    private Map<BestSellerWindow, Map<Long, Map<Long, Long>>> readSharedBuckets(Instant now) {
+        Map<BestSellerWindow, Map<Long, Map<Long, Long>>> buckets = new EnumMap<>(BestSellerWindow.class);
+        jdbcTemplate.query(
+            "select time_window, bucket_start, menu_item_id, quantity from best_seller_bucket where node_id <> ? and bucket_start > ?",
+            rs -> {
+                BestSellerWindow window = BestSellerWindow.valueOf(rs.getString("time_window"));
+                long epoch = window.epoch(rs.getTimestamp("bucket_start").toInstant());
+                buckets
+                    .computeIfAbsent(window, w -> new HashMap<>())
+                    .computeIfAbsent(epoch, e -> new HashMap<>())
+                    .merge(rs.getLong("menu_item_id"), rs.getLong("quantity"), Long::sum);
+            },
+            nodeId,
+            Timestamp.from(BestSellerWindow.DAY.bucketStart(BestSellerWindow.DAY.epoch(now) - BestSellerWindow.DAY.getBuckets()))
+        );
+        return buckets;
+    }
+
+    /**
+     * A menu item and the quantity ordered over a window, over-estimated when the capacity was exceeded.
+     */
+    public record BestSeller(Long menuItemId, long quantity) {}
+
+    /**
+     * A copy of the counts of a bucket, to publish.
+     */
+    private record Bucket(BestSellerWindow window, long epoch, Map<Long, Long> counts) {}
+
+    /**
+     * Ring of the buckets of a window, indexed by their epoch: the start of the bucket divided by its length.
+     */
+    private static final class SlidingWindow {
+
+        private final BestSellerWindow window;
+
+        private final SpaceSaving[] buckets;
+
+        private final long[] epochs;
+
+        private final boolean[] changed;
+
+        SlidingWindow(BestSellerWindow window, int capacity) {
+            this.window = window;
+            this.buckets = new SpaceSaving[window.getBuckets()];
+            this.epochs = new long[buckets.length];
+            this.changed = new boolean[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new SpaceSaving(capacity);
+            }
+            Arrays.fill(epochs, Long.MIN_VALUE);
+        }
+
+        void add(Long menuItemId, long quantity, Instant orderedAt, Instant now) {
+            long epoch = window.epoch(orderedAt);
+            long currentEpoch = window.epoch(now);
+            if (epoch > currentEpoch || epoch <= currentEpoch - buckets.length) {
+                return;
+            }
+            int slot = slot(epoch);
+            if (epochs[slot] > epoch) {
+                return;
+            }
+            if (epochs[slot] < epoch) {
+                buckets[slot].clear();
+                epochs[slot] = epoch;
+            }
+            buckets[slot].add(menuItemId, quantity);
+            changed[slot] = true;
+        }
+
+        Map<Long, Long> merged(Instant now) {
+            long currentEpoch = window.epoch(now);
+            Map<Long, Long> merged = new HashMap<>();
+            for (int slot = 0; slot < buckets.length; slot++) {
+                if (isInWindow(slot, currentEpoch)) {
+                    buckets[slot].counts.forEach((menuItemId, count) -> merged.merge(menuItemId, count, Long::sum));
+                }
+            }
+            return merged;
+        }
+
+        List<Bucket> drainChanged(Instant now) {
+            long currentEpoch = window.epoch(now);
+            List<Bucket> drained = new ArrayList<>();
+            for (int slot = 0; slot < buckets.length; slot++) {
+                if (changed[slot] && isInWindow(slot, currentEpoch)) {
+                    drained.add(new Bucket(window, epochs[slot], new HashMap<>(buckets[slot].counts)));
+                }
+                changed[slot] = false;
+            }
+            return drained;
+        }
+
+        void markChanged(long epoch) {
+            int slot = slot(epoch);
+            if (epochs[slot] == epoch) {
+                changed[slot] = true;
+            }
+        }
+
+        private boolean isInWindow(int slot, long currentEpoch) {
+            return epochs[slot] <= currentEpoch && epochs[slot] > currentEpoch - buckets.length;
+        }
+
+        private int slot(long epoch) {
+            return (int) Math.floorMod(epoch, (long) buckets.length);
+        }
+    }
+
+    /**
+     * Space-Saving summary: the counts of at most {@code capacity} keys, where a new key replaces the key with the
+     * smallest count, and starts from that count.
+     */
+    private static final class SpaceSaving {
+
+        private final int capacity;
+
+        private final Map<Long, Long> counts = new HashMap<>();
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(Long key, long count) {
+            Long current = counts.get(key);
+            if (current != null) {
+                counts.put(key, current + count);
+            } else if (counts.size() < capacity) {
+                counts.put(key, count);
+            } else {
+                Map.Entry<Long, Long> min = Collections.min(counts.entrySet(), Map.Entry.comparingByValue());
+                counts.remove(min.getKey());
+                counts.put(key, min.getValue() + count);
+            }
+        }
+
+        void clear() {
+            counts.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cbse.restaurant.service.Impl;
+
+/**
+ * Thrown when a bulk import cannot be started or resumed, for example because its file has no header or its job is already completed.
+ */
+public class BulkImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public BulkImportException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
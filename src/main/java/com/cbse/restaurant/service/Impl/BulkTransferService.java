@@ -0,0 +1,712 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.service.BulkFormat;
+import com.cbse.restaurant.service.BulkTable;
+import com.cbse.restaurant.service.BulkTable.BulkColumn;
+import com.cbse.restaurant.service.dto.BulkImportErrorDTO;
+import com.cbse.restaurant.service.dto.BulkImportJobDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service exporting and importing whole entity tables as CSV or NDJSON files.
+ * <p>
+ * Exports read the table through a forward-only cursor and write each row as soon as it is read, so they run in
+ * constant memory whatever the size of the table. Imports read the file one line at a time and insert it in chunks,
+ * with one JDBC batch per chunk. Each chunk is committed with the progress of its job, so that an interrupted import
+ * can be resumed with the same file, and invalid lines are reported with their line number instead of failing the file.
+ */
+@Service
+public class BulkTransferService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkTransferService.class);
+
+    public static final String STATUS_RUNNING = "RUNNING";
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    public static final String STATUS_FAILED = "FAILED";
+
+    /**
+     * Allocation size of the pooled {@code sequenceGenerator} shared by the entities.
+     */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate cursorJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MenuSnapshotService menuSnapshotService;
+
+    private final ApplicationProperties.BulkTransfer properties;
+
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public BulkTransferService(
+        JdbcTemplate jdbcTemplate,
+        DataSource dataSource,
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        ObjectMapper objectMapper,
+        EntityManagerFactory entityManagerFactory,
+        MenuSnapshotService menuSnapshotService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getBulkTransfer();
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.menuSnapshotService = menuSnapshotService;
+    }
+
+    /**
+     * Write all the rows of a table, ordered by id.
+     *
+     * @param table the table to export.
+     * @param format the file format.
+     * @param outputStream the stream to write to, left open.
+     */
+    public void export(BulkTable table, BulkFormat format, OutputStream outputStream) {
+        LOG.debug("Request to export {} as {}", table, format);
+        List<BulkColumn> columns = table.getColumns();
+        String sql =
+            "select " +
+            columns.stream().map(BulkColumn::getName).collect(Collectors.joining(", ")) +
+            " from " +
+            table.getTableName() +
+            " order by id";
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try {
+                if (format == BulkFormat.CSV) {
+                    CsvFormat.writeRecord(writer, columns.stream().map(BulkColumn::getName).toList());
+                    cursorJdbcTemplate.query(sql, rs -> {
+                        List<String> values = new ArrayList<>(columns.size());
+                        for (int i = 0; i < columns.size(); i++) {
+                            Object value = readValue(rs, i + 1, columns.get(i));
+                            values.add(value != null ? formatValue(value) : null);
+                        }
+                        writeCsvRecord(writer, values);
+                    });
+                } else {
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    generator.setRootValueSeparator(null);
+                    cursorJdbcTemplate.query(sql, rs -> {
+                        writeJsonRow(generator, rs, columns);
+                    });
+                    generator.flush();
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new BulkTransferIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Import the lines of a file into a table, or resume an interrupted import of the same file.
+     *
+     * @param table the table to import into.
+     * @param format the file format.
+     * @param inputStream the file.
+     * @param resumedJobId the id of the job to resume, {@code null} to start a new one.
+     * @return the job, with the lines rejected by this run.
+     * @throws IOException if the file cannot be read; the chunks committed before stay committed.
+     */
+    public BulkImportJobDTO importFile(BulkTable table, BulkFormat format, InputStream inputStream, String resumedJobId)
+        throws IOException {
+        LOG.debug("Request to import {} as {}, resuming job {}", table, format, resumedJobId);
+        BulkImportJobDTO job = resumedJobId != null ? resumeJob(table, resumedJobId) : createJob(table);
+        if (!runningJobs.add(job.getId())) {
+            throw new BulkImportException("Bulk import " + job.getId() + " is already running", "jobrunning");
+        }
+        try {
+            LineSource source = format == BulkFormat.CSV ? new CsvLineSource(inputStream) : new NdjsonLineSource(inputStream);
+            importLines(table, source, job);
+            job.setStatus(STATUS_COMPLETED);
+            updateJobStatus(job);
+            return job;
+        } catch (IOException | RuntimeException e) {
+            job.setStatus(STATUS_FAILED);
+            updateJobStatus(job);
+            throw e;
+        } finally {
+            runningJobs.remove(job.getId());
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(table.getEntityClass());
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictCollectionData();
+            if (table.getEntityClass() == MenuItem.class) {
+                menuSnapshotService.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Get a bulk import job.
+     *
+     * @param id the id of the job.
+     * @return the job, without the rejected lines.
+     */
+    public Optional<BulkImportJobDTO> findJob(String id) {
+        return jdbcTemplate
+            .query(
+                "select id, table_name, status, lines_committed, imported, rejected, created_date, last_modified_date" +
+                " from bulk_import_job where id = ?",
+                (rs, rowNum) -> {
+                    BulkImportJobDTO job = new BulkImportJobDTO();
+                    job.setId(rs.getString("id"));
+                    job.setTable(rs.getString("table_name"));
+                    job.setStatus(rs.getString("status"));
+                    job.setLinesCommitted(rs.getLong("lines_committed"));
+                    job.setImported(rs.getLong("imported"));
+                    job.setRejected(rs.getLong("rejected"));
+                    job.setCreatedDate(rs.getObject("created_date", LocalDateTime.class).toInstant(ZoneOffset.UTC));
+                    job.setLastModifiedDate(rs.getObject("last_modified_date", LocalDateTime.class).toInstant(ZoneOffset.UTC));
+                    return job;
+                },
+                id
+            )
+            .stream()
+            .findFirst();
+    }
+
+    private BulkImportJobDTO createJob(BulkTable table) {
+        BulkImportJobDTO job = new BulkImportJobDTO();
+        job.setId(UUID.randomUUID().toString());
+        job.setTable(table.getPath());
+        job.setStatus(STATUS_RUNNING);
+        job.setCreatedDate(Instant.now());
+        job.setLastModifiedDate(job.getCreatedDate());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into bulk_import_job (id, table_name, status, lines_committed, imported, rejected, created_date," +
+                " last_modified_date) values (?, ?, ?, 0, 0, 0, ?, ?)",
+                job.getId(),
+                job.getTable(),
+                job.getStatus(),
+                LocalDateTime.ofInstant(job.getCreatedDate(), ZoneOffset.UTC),
+                LocalDateTime.ofInstant(job.getLastModifiedDate(), ZoneOffset.UTC)
+            )
+        );
+        return job;
+    }
+
+    private BulkImportJobDTO resumeJob(BulkTable table, String jobId) {
+        BulkImportJobDTO job = findJob(jobId).orElseThrow(() ->
+            new BulkImportException("Bulk import " + jobId + " not found", "jobnotfound")
+        );
+        if (!job.getTable().equals(table.getPath())) {
+            throw new BulkImportException("Bulk import " + jobId + " is an import of " + job.getTable(), "jobtablemismatch");
+        }
+        if (STATUS_COMPLETED.equals(job.getStatus())) {
+            throw new BulkImportException("Bulk import " + jobId + " is already completed", "jobcompleted");
+        }
+        job.setStatus(STATUS_RUNNING);
+        return job;
+    }
+
+    private void updateJobStatus(BulkImportJobDTO job) {
+        job.setLastModifiedDate(Instant.now());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "update bulk_import_job set status = ?, last_modified_date = ? where id = ?",
+                job.getStatus(),
+                LocalDateTime.ofInstant(job.getLastModifiedDate(), ZoneOffset.UTC),
+                job.getId()
+            )
+        );
+    }
+
+    private void importLines(BulkTable table, LineSource source, BulkImportJobDTO job) throws IOException {
+        List<BulkColumn> columns = table.getColumns();
+        Set<String> ignoredColumns = new LinkedHashSet<>();
+        List<ImportRow> rows = new ArrayList<>(properties.getChunkSize());
+        List<BulkImportErrorDTO> chunkErrors = new ArrayList<>();
+        long chunkLastLine = job.getLinesCommitted();
+        Map<String, Object> raw;
+        while ((raw = source.next()) != null) {
+            long line = source.getLineNumber();
+            if (line <= job.getLinesCommitted()) {
+                continue;
+            }
+            chunkLastLine = line;
+            if (raw.containsKey(INVALID_LINE)) {
+                chunkErrors.add(new BulkImportErrorDTO(line, (String) raw.get(INVALID_LINE)));
+                if (rows.size() + chunkErrors.size() >= properties.getChunkSize()) {
+                    commitChunk(table, rows, chunkErrors, chunkLastLine, job);
+                    rows.clear();
+                    chunkErrors.clear();
+                }
+                continue;
+            }
+            for (String name : raw.keySet()) {
+                if (table.getColumn(name).isEmpty()) {
+                    ignoredColumns.add(name);
+                }
+            }
+            Object[] values = new Object[columns.size()];
+            List<String> lineErrors = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                BulkColumn column = columns.get(i);
+                try {
+                    values[i] = convertValue(column, raw.get(column.getName()));
+                    lineErrors.addAll(validateValue(table, column, values[i]));
+                } catch (IllegalArgumentException e) {
+                    lineErrors.add(column.getName() + ": " + e.getMessage());
+                }
+            }
+            if (lineErrors.isEmpty()) {
+                rows.add(new ImportRow(line, values));
+            } else {
+                chunkErrors.add(new BulkImportErrorDTO(line, String.join("; ", lineErrors)));
+            }
+            if (rows.size() + chunkErrors.size() >= properties.getChunkSize()) {
+                commitChunk(table, rows, chunkErrors, chunkLastLine, job);
+                rows.clear();
+                chunkErrors.clear();
+            }
+        }
+        if (chunkLastLine > job.getLinesCommitted()) {
+            commitChunk(table, rows, chunkErrors, chunkLastLine, job);
+        }
+        job.setIgnoredColumns(new ArrayList<>(ignoredColumns));
+    }
+
+    private void commitChunk(BulkTable table, List<ImportRow> rows, List<BulkImportErrorDTO> errors, long lastLine, BulkImportJobDTO job) {
+        assignIds(rows);
+        List<BulkImportErrorDTO> chunkErrors = new ArrayList<>(errors);
+        String sql = insertSql(table);
+        int imported;
+        try {
+            imported = transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> bindRow(ps, row));
+                updateJobProgress(job, lastLine, rows.size(), chunkErrors.size());
+                return rows.size();
+            });
+        } catch (DataAccessException e) {
+            LOG.debug("Batch insert of lines up to {} failed, inserting them one by one: {}", lastLine, e.getMessage());
+            imported = transactionTemplate.execute(status -> {
+                int inserted = insertOneByOne(sql, rows, chunkErrors);
+                updateJobProgress(job, lastLine, inserted, chunkErrors.size());
+                return inserted;
+            });
+        }
+        job.setLinesCommitted(lastLine);
+        job.setImported(job.getImported() + imported);
+        job.setRejected(job.getRejected() + chunkErrors.size());
+        chunkErrors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        for (BulkImportErrorDTO error : chunkErrors) {
+            if (job.getErrors().size() >= properties.getMaxReportedErrors()) {
+                break;
+            }
+            job.getErrors().add(error);
+        }
+    }
+
+    /**
+     * Insert the rows one at a time, each one behind a savepoint, so that the rows violating a database constraint
+     * are rolled back and reported without losing the others.
+     */
+    private int insertOneByOne(String sql, List<ImportRow> rows, List<BulkImportErrorDTO> errors) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            int inserted = 0;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (ImportRow row : rows) {
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        bindRow(ps, row);
+                        ps.executeUpdate();
+                        connection.releaseSavepoint(savepoint);
+                        inserted++;
+                    } catch (SQLException e) {
+                        connection.rollback(savepoint);
+                        errors.add(new BulkImportErrorDTO(row.line, NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                    }
+                }
+            }
+            return inserted;
+        });
+    }
+
+    private void updateJobProgress(BulkImportJobDTO job, long lastLine, int imported, int rejected) {
+        jdbcTemplate.update(
+            "update bulk_import_job set lines_committed = ?, imported = imported + ?, rejected = rejected + ?, status = ?," +
+            " last_modified_date = ? where id = ?",
+            lastLine,
+            imported,
+            rejected,
+            STATUS_RUNNING,
+            LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC),
+            job.getId()
+        );
+    }
+
+    /**
+     * Give an id to the rows without one, and make sure the ids given in the file are never handed out by the
+     * sequence generator later.
+     * <p>
+     * The pooled generator hands out the block {@code (next_val - 49 .. next_val)} and moves {@code next_val} one
+     * block up, so every id up to {@code next_val - 50} may be in use, and the next block starts at {@code next_val - 49}.
+     * The ids of the chunk are reserved by moving {@code next_val} up by their count, in a transaction of its own to keep
+     * the generator row locked only for an instant.
+     */
+    private void assignIds(List<ImportRow> rows) {
+        long missing = rows.stream().filter(row -> row.values[0] == null).count();
+        long maxId = rows.stream().filter(row -> row.values[0] != null).mapToLong(row -> (Long) row.values[0]).max().orElse(0);
+        if (missing == 0 && maxId == 0) {
+            return;
+        }
+        long firstId = newTransactionTemplate.execute(status -> {
+            long nextVal = jdbcTemplate.queryForObject("select next_val from sequence_generator for update", Long.class);
+            nextVal = Math.max(nextVal, maxId + ID_ALLOCATION_SIZE);
+            jdbcTemplate.update("update sequence_generator set next_val = ?", nextVal + missing);
+            return nextVal - ID_ALLOCATION_SIZE + 1;
+        });
+        long id = firstId;
+        for (ImportRow row : rows) {
+            if (row.values[0] == null) {
+                row.values[0] = id++;
+            }
+        }
+    }
+
+    private static String insertSql(BulkTable table) {
+        List<BulkColumn> columns = table.getColumns();
+        return (
+            "insert into " +
+            table.getTableName() +
+            " (" +
+            columns.stream().map(BulkColumn::getName).collect(Collectors.joining(", ")) +
+            ") values (" +
+            columns.stream().map(column -> "?").collect(Collectors.joining(", ")) +
+            ")"
+        );
+    }
+
+    private static void bindRow(PreparedStatement ps, ImportRow row) throws SQLException {
+        for (int i = 0; i < row.values.length; i++) {
+            Object value = row.values[i];
+            if (value instanceof Instant instant) {
+                value = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+            } else if (value instanceof Enum<?> constant) {
+                value = constant.name();
+            }
+            StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, value);
+        }
+    }
+
+    private List<String> validateValue(BulkTable table, BulkColumn column, Object value) {
+        if (column.isReference()) {
+            return column.isRequired() && value == null ? List.of(column.getName() + ": must not be null") : List.of();
+        }
+        if ("id".equals(column.getName())) {
+            return List.of();
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<?> violation : validator.validateValue(table.getEntityClass(), column.getProperty(), value)) {
+            errors.add(column.getName() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Convert a value read from a file to the type of its column.
+     *
+     * @throws IllegalArgumentException if the value is not valid for the column.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object convertValue(BulkColumn column, Object raw) {
+        if (raw instanceof JsonNode node) {
+            if (node.isNull()) {
+                return null;
+            }
+            raw = node.isNumber() && column.getType() != String.class ? node.decimalValue().toPlainString() : node.asText();
+        }
+        if (raw == null) {
+            return null;
+        }
+        String text = raw.toString();
+        Class<?> type = column.getType();
+        if (type == String.class) {
+            return text;
+        }
+        if (text.isBlank()) {
+            return null;
+        }
+        text = text.trim();
+        try {
+            if (type == Long.class) {
+                return Long.valueOf(text);
+            } else if (type == Integer.class) {
+                return Integer.valueOf(text);
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(text);
+            } else if (type == Boolean.class) {
+                if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                    throw new IllegalArgumentException("'" + text + "' is not true or false");
+                }
+                return Boolean.valueOf(text);
+            } else if (type == Instant.class) {
+                return text.endsWith("Z") || text.contains("+") ? Instant.parse(text) : LocalDateTime.parse(text).toInstant(ZoneOffset.UTC);
+            } else if (type == LocalDate.class) {
+                return LocalDate.parse(text);
+            } else if (type.isEnum()) {
+                try {
+                    return Enum.valueOf((Class<? extends Enum>) type, text);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        "'" + text + "' is not one of " + Arrays.toString(type.getEnumConstants())
+                    );
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + text + "' is not a number");
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("'" + text + "' is not a valid " + (type == LocalDate.class ? "date" : "date and time"));
+        }
+        throw new IllegalArgumentException("unsupported column type " + type.getSimpleName());
+    }
+
+    private static Object readValue(ResultSet rs, int index, BulkColumn column) throws SQLException {
+        Class<?> type = column.getType();
+        if (type == Instant.class) {
+            LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+            return value != null ? value.toInstant(ZoneOffset.UTC) : null;
+        }
+        if (type.isEnum()) {
+            return rs.getString(index);
+        }
+        return rs.getObject(index, type);
+    }
+
+    private static String formatValue(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        return value.toString();
+    }
+
+    private static void writeCsvRecord(Writer writer, List<String> values) {
+        try {
+            CsvFormat.writeRecord(writer, values);
+        } catch (IOException e) {
+            throw new BulkTransferIOException(e);
+        }
+    }
+
+    private static void writeJsonRow(JsonGenerator generator, ResultSet rs, List<BulkColumn> columns) throws SQLException {
+        try {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                BulkColumn column = columns.get(i);
+                Object value = readValue(rs, i + 1, column);
+                generator.writeFieldName(column.getName());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(formatValue(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new BulkTransferIOException(e);
+        }
+    }
+
+    /**
+     * Wraps the failure to write an export, typically because the client went away, to get it out of the JDBC callbacks.
+     */
+    public static class BulkTransferIOException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        BulkTransferIOException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private static final class ImportRow {
+
+        private final long line;
+
+        private final Object[] values;
+
+        ImportRow(long line, Object[] values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+
+    /**
+     * The lines of an import file, as raw values keyed by column name.
+     */
+    private interface LineSource {
+        Map<String, Object> next() throws IOException;
+
+        long getLineNumber();
+    }
+
+    private static final class CsvLineSource implements LineSource {
+
+        private final CsvFormat.RecordReader reader;
+
+        private final List<String> header;
+
+        CsvLineSource(InputStream inputStream) throws IOException {
+            this.reader = new CsvFormat.RecordReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+            this.header = reader.next();
+            if (header == null || header.stream().anyMatch(name -> name == null || name.isBlank())) {
+                throw new BulkImportException("The first line of a CSV file must name its columns", "csvheader");
+            }
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            List<String> values = reader.next();
+            while (values != null && values.size() == 1 && values.get(0) == null) {
+                values = reader.next();
+            }
+            if (values == null) {
+                return null;
+            }
+            Map<String, Object> raw = new LinkedHashMap<>();
+            Iterator<String> value = values.iterator();
+            for (String name : header) {
+                raw.put(name.trim(), value.hasNext() ? value.next() : null);
+            }
+            return raw;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return reader.getLineNumber();
+        }
+    }
+
+    private final class NdjsonLineSource implements LineSource {
+
+        private final BufferedReader reader;
+
+        private long lineNumber;
+
+        NdjsonLineSource(InputStream inputStream) {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            Map<String, Object> raw = new LinkedHashMap<>();
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    raw.put(INVALID_LINE, "not a JSON object");
+                    return raw;
+                }
+                node.fields().forEachRemaining(field -> raw.put(field.getKey(), field.getValue()));
+            } catch (IOException e) {
+                raw.put(INVALID_LINE, "not valid JSON");
+            }
+            return raw;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return lineNumber;
+        }
+    }
+
+    private static final String INVALID_LINE = "$invalid";
+}
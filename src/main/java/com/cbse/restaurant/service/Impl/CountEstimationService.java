@@ -0,0 +1,114 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service keeping the row count of each entity for a while, so that list endpoints in
+ * {@link com.cbse.restaurant.service.PaginationMode#ESTIMATED} mode do not run a count query on every page.
+ * <p>
+ * The count query runs outside of the map, so it never blocks the other entities; concurrent requests for an expired
+ * count wait for the query already running instead of starting their own.
+ */
+@Service
+public class CountEstimationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CountEstimationService.class);
+
+    private final Duration timeToLive;
+
+    private final ConcurrentMap<Class<?>, EstimatedCount> counts = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, CompletableFuture<Long>> inFlightCounts = new ConcurrentHashMap<>();
+
+    public CountEstimationService(ApplicationProperties applicationProperties) {
+        this.timeToLive = Duration.ofSeconds(applicationProperties.getPagination().getEstimatedCountTimeToLiveSeconds());
+    }
+
+    /**
+     * Get the estimated row count of an entity, counting again if the last count is too old.
+     *
+     * @param entityClass the entity class.
+     * @param count the count query.
+     * @return the estimated row count.
+     */
+    public long estimate(Class<?> entityClass, LongSupplier count) {
+        Instant now = Instant.now();
+        EstimatedCount estimated = counts.get(entityClass);
+        if (estimated != null && estimated.countedAt.plus(timeToLive).isAfter(now)) {
+            return estimated.value;
+        }
+        CompletableFuture<Long> counting = new CompletableFuture<>();
+        CompletableFuture<Long> inFlight = inFlightCounts.putIfAbsent(entityClass, counting);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            LOG.debug("Counting {} rows", entityClass.getSimpleName());
+            long value = count.getAsLong();
+            counts.put(entityClass, new EstimatedCount(value, now));
+            counting.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            counting.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCounts.remove(entityClass, counting);
+        }
+    }
+
+    private static long await(CompletableFuture<Long> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Turn a slice into a page whose total is the estimated row count of an entity.
+     * <p>
+     * The total is raised if needed so that it is consistent with the slice: a page with a next page is never the last.
+     *
+     * @param slice the slice.
+     * @param entityClass the entity class.
+     * @param count the count query.
+     * @param <T> the content type.
+     * @return the page.
+     */
+    public <T> Page<T> toPage(Slice<T> slice, Class<?> entityClass, LongSupplier count) {
+        long total = estimate(entityClass, count);
+        if (slice.getPageable().isPaged()) {
+            long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+            total = Math.max(total, seen);
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    private static final class EstimatedCount {
+
+        private final long value;
+
+        private final Instant countedAt;
+
+        private EstimatedCount(long value, Instant countedAt) {
+            this.value = value;
+            this.countedAt = countedAt;
+        }
+    }
+}
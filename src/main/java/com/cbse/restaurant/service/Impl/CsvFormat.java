@@ -0,0 +1,161 @@
+package com.cbse.restaurant.service.Impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Semicolon separated values, as used by the Liquibase fake-data files.
+ * <p>
+ * Fields containing the separator, a quote or a line break are quoted, with quotes doubled. An empty unquoted field
+ * is a {@code null} value, while {@code ""} is an empty string.
+ */
+public final class CsvFormat {
+
+    public static final char SEPARATOR = ';';
+
+    private static final char QUOTE = '"';
+
+    private CsvFormat() {}
+
+    /**
+     * Write one record, terminated by a line feed.
+     *
+     * @param writer the writer.
+     * @param values the values of the record, {@code null} for an empty field.
+     * @throws IOException if the writer fails.
+     */
+    public static void writeRecord(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value.isEmpty() || needsQuotes(value)) {
+                writer.write(QUOTE);
+                writer.write(value.replace("\"", "\"\""));
+                writer.write(QUOTE);
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads records one at a time, so that files of any size are read in constant memory.
+     */
+    public static final class RecordReader {
+
+        private final Reader reader;
+
+        private long line = 1;
+
+        private long recordLine;
+
+        private int pending = -2;
+
+        public RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Read the next record.
+         *
+         * @return the values of the record, or {@code null} at the end of the input.
+         * @throws IOException if the reader fails, or on a quoted field left open at the end of the input.
+         */
+        public List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            while (true) {
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new IOException("Quoted field starting on line " + recordLine + " is not closed");
+                    }
+                    if (c == QUOTE) {
+                        int following = read();
+                        if (following == QUOTE) {
+                            field.append(QUOTE);
+                        } else {
+                            inQuotes = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == QUOTE && field.isEmpty() && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == SEPARATOR) {
+                    values.add(fieldValue(field, quoted));
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            pending = following;
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    values.add(fieldValue(field, quoted));
+                    return values;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * Get the line on which the last record read starts, counting from 1.
+         *
+         * @return the line number.
+         */
+        public long getLineNumber() {
+            return recordLine;
+        }
+
+        private static String fieldValue(StringBuilder field, boolean quoted) {
+            return field.isEmpty() && !quoted ? null : field.toString();
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
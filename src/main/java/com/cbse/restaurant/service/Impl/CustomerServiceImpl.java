@@ -3,6 +3,7 @@ package com.cbse.restaurant.service.Impl;
 import com.cbse.restaurant.domain.Customer;
 import com.cbse.restaurant.repository.CustomerRepository;
 import com.cbse.restaurant.service.CustomerService;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.CustomerDTO;
 import com.cbse.restaurant.service.mapper.CustomerMapper;
 import java.util.Optional;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +28,16 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerMapper customerMapper;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    private final CountEstimationService countEstimationService;
+
+    public CustomerServiceImpl(
+        CustomerRepository customerRepository,
+        CustomerMapper customerMapper,
+        CountEstimationService countEstimationService
+    ) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.countEstimationService = countEstimationService;
     }
 
     /**
@@ -93,6 +102,26 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.findAll(pageable).map(customerMapper::toDto);
     }
 
+    /**
+     * Get all the customers in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the customers are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CustomerDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all Customers in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> customerRepository.findAll(pageable).map(customerMapper::toDto);
+            case SLICE -> customerRepository.findSliceBy(pageable).map(customerMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(customerRepository.findSliceBy(pageable), Customer.class, customerRepository::count)
+                .map(customerMapper::toDto);
+        };
+    }
+
     /**
      * Get all the customers with eager load of many-to-many relationships.
      *
@@ -103,6 +132,25 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.findAllWithEagerRelationships(pageable).map(customerMapper::toDto);
     }
 
+    /**
+     * Get all the customers with eager load of many-to-many relationships in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the customers are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CustomerDTO> findAllWithEagerRelationships(Pageable pageable, PaginationMode paginationMode) {
+        return switch (paginationMode) {
+            case EXACT -> customerRepository.findAllWithEagerRelationships(pageable).map(customerMapper::toDto);
+            case SLICE -> customerRepository.findSliceWithEagerRelationships(pageable).map(customerMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(customerRepository.findSliceWithEagerRelationships(pageable), Customer.class, customerRepository::count)
+                .map(customerMapper::toDto);
+        };
+    }
+
     /**
      * Get one customer by id.
      *
@@ -0,0 +1,91 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.service.ImageStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link ImageStore} keeping each image in a file named after its content hash.
+ * <p>
+ * Files are sharded by the first two hash characters and written through a temporary file and an atomic move,
+ * so readers never see a partially written image.
+ */
+@Service
+public class FileSystemImageStore implements ImageStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemImageStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+
+    public FileSystemImageStore(ApplicationProperties applicationProperties) {
+        this.directory = Paths.get(applicationProperties.getImageStore().getDirectory()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] content) {
+        String hash = hash(content);
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        LOG.debug("Storing image {} ({} bytes)", hash, content.length);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently with the same content
+                LOG.trace("Image {} already stored", hash);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image " + hash, e);
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<Resource> load(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = path(hash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(path));
+    }
+
+    private Path path(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.service.dto.OrderStatusEventDTO;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service pushing {@link Order} status transitions to kitchen displays.
+ * <p>
+ * Events are numbered and kept in a bounded history, so a subscriber reconnecting with the id of the last event it
+ * received gets the missed events replayed. Each subscriber has its own bounded buffer drained on the task executor:
+ * a slow subscriber never blocks order processing, and one whose buffer fills up is disconnected so that it resumes
+ * from the history instead.
+ */
+@Service
+public class KitchenFeedService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KitchenFeedService.class);
+
+    private final Executor taskExecutor;
+
+    private final int historySize;
+
+    private final int subscriberBufferSize;
+
+    private final Deque<OrderStatusEventDTO> history = new ArrayDeque<>();
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Seeded with the start time in milliseconds, so that event ids keep increasing across restarts.
+     */
+    private long lastEventId = System.currentTimeMillis();
+
+    public KitchenFeedService(@Qualifier("taskExecutor") Executor taskExecutor, ApplicationProperties applicationProperties) {
+        this.taskExecutor = taskExecutor;
+        this.historySize = applicationProperties.getKitchenFeed().getHistorySize();
+        this.subscriberBufferSize = applicationProperties.getKitchenFeed().getSubscriberBufferSize();
+    }
+
+    /**
+     * Publish the status transition of an order once the current transaction commits, or immediately when no
+     * transaction is active. Nothing is published if the status did not change.
+     *
+     * @param order the order, holding its new status.
+     * @param previousStatus the status before the change, {@code null} for a new order.
+     */
+    public void publishAfterCommit(Order order, OrderStatus previousStatus) {
+        if (order.getStatus() == previousStatus) {
+            return;
+        }
+        OrderStatusEventDTO event = new OrderStatusEventDTO();
+        event.setOrderId(order.getId());
+        event.setOrderDate(order.getOrderDate());
+        event.setPreviousStatus(previousStatus);
+        event.setStatus(order.getStatus());
+        event.setSpecialInstructions(order.getSpecialInstructions());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(event);
+                    }
+                }
+            );
+        } else {
+            publish(event);
+        }
+    }
+
+    /**
+     * Number and record an event, then hand it to every subscriber.
+     *
+     * @param event the event to publish.
+     */
+    public void publish(OrderStatusEventDTO event) {
+        LOG.debug("Publishing order status event : {}", event);
+        synchronized (history) {
+            event.setEventId(++lastEventId);
+            event.setOccurredAt(Instant.now());
+            history.addLast(event);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            subscriptions.forEach(subscription -> subscription.offer(event));
+        }
+    }
+
+    /**
+     * Subscribe to the feed.
+     *
+     * @param lastEventId the id of the last event received before reconnecting, or {@code null} for live events only.
+     * @param listener the listener receiving the events.
+     * @return the subscription, to be cancelled when the client goes away.
+     */
+    public Subscription subscribe(Long lastEventId, Listener listener) {
+        Subscription subscription = new Subscription(listener);
+        synchronized (history) {
+            if (lastEventId != null) {
+                subscription.replayFrom(lastEventId);
+            }
+            if (!subscription.closed) {
+                subscriptions.add(subscription);
+            }
+        }
+        subscription.schedule();
+        return subscription;
+    }
+
+    /**
+     * @return the number of connected subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Receiver of the kitchen feed. Calls for one subscription are never concurrent.
+     */
+    public interface Listener {
+        /**
+         * Deliver an event.
+         *
+         * @param event the event.
+         * @throws IOException if the client cannot be written to, which cancels the subscription.
+         */
+        void onEvent(OrderStatusEventDTO event) throws IOException;
+
+        /**
+         * Tell the client that events were missed and that it must reload the orders it displays.
+         *
+         * @throws IOException if the client cannot be written to, which cancels the subscription.
+         */
+        void onResync() throws IOException;
+
+        /**
+         * Called once when the subscription is closed by the feed.
+         */
+        void onClose();
+    }
+
+    /**
+     * A subscriber with its bounded buffer of pending events.
+     */
+    public final class Subscription {
+
+        private final Listener listener;
+
+        private final BlockingQueue<OrderStatusEventDTO> buffer = new ArrayBlockingQueue<>(subscriberBufferSize);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean resync;
+
+        private volatile boolean closed;
+
+        private Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Stop receiving events. Safe to call several times.
+         */
+        public void cancel() {
+            closed = true;
+            subscriptions.remove(this);
+            buffer.clear();
+        }
+
+        private void replayFrom(long lastEventId) {
+            OrderStatusEventDTO oldest = history.peekFirst();
+            long oldestAvailable = oldest != null ? oldest.getEventId() : KitchenFeedService.this.lastEventId + 1;
+            long missed = KitchenFeedService.this.lastEventId - lastEventId;
+            if (lastEventId + 1 < oldestAvailable || missed < 0 || missed > subscriberBufferSize) {
+                // The client reloads its orders anyway, so replaying part of the missed events is pointless
+                resync = true;
+                return;
+            }
+            for (OrderStatusEventDTO event : history) {
+                if (event.getEventId() > lastEventId && !offer(event)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean offer(OrderStatusEventDTO event) {
+            if (closed) {
+                return false;
+            }
+            if (!buffer.offer(event)) {
+                LOG.warn("Kitchen feed subscriber is too slow, disconnecting it after {} pending events", subscriberBufferSize);
+                close();
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (closed || draining.get()) {
+                return;
+            }
+            try {
+                taskExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Kitchen feed delivery rejected, disconnecting subscriber", e);
+                close();
+            }
+        }
+
+        private void drain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (resync) {
+                    resync = false;
+                    listener.onResync();
+                }
+                OrderStatusEventDTO event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    listener.onEvent(event);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Kitchen feed subscriber disconnected : {}", e.getMessage());
+                cancel();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                cancel();
+                listener.onClose();
+            }
+        }
+    }
+}
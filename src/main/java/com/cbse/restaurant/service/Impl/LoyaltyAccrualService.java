@@ -0,0 +1,346 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service crediting loyalty points to the customer of an order when it reaches {@link OrderStatus#COMPLETED}.
+ * <p>
+ * Completing an order only appends an entry to the {@code loyalty_journal} table, in the order transaction, so
+ * that busy customers do not contend on their own {@code customer} row. Committed entries are summed per customer
+ * in memory and applied to {@code customer.loyalty_points} and {@code customer.last_visit} by a periodic flush,
+ * with one batched UPDATE per customer, which also marks the entries as flushed. Entries which were not flushed
+ * before a crash are reloaded on startup.
+ */
+@Service
+public class LoyaltyAccrualService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoyaltyAccrualService.class);
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Loyalty properties;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    /**
+     * The read lock is held while adding to the pending accruals, the write lock while a flush swaps them out.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ConcurrentHashMap<Long, Accrual> pending = new ConcurrentHashMap<>();
+
+    private final Object flushMonitor = new Object();
+
+    public LoyaltyAccrualService(
+        JdbcTemplate jdbcTemplate,
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getLoyalty();
+    }
+
+    /**
+     * Credit the customer of an order which has just been completed, in the transaction saving the order.
+     *
+     * @param order the saved order.
+     * @param previousStatus the status of the order before this transaction, or {@code null} for a new order.
+     */
+    public void creditIfCompleted(Order order, OrderStatus previousStatus) {
+        Customer customer = order.getCustomer();
+        if (
+            order.getStatus() != OrderStatus.COMPLETED ||
+            previousStatus == OrderStatus.COMPLETED ||
+            customer == null ||
+            customer.getId() == null
+        ) {
+            return;
+        }
+        Long customerId = customer.getId();
+        int points = pointsFor(order.getTotalAmount());
+        LocalDate visitDate = LocalDate.ofInstant(order.getOrderDate() != null ? order.getOrderDate() : Instant.now(), zoneId);
+        // The order_id key settles concurrent completions: only the transaction inserting the row credits the points
+        try {
+            jdbcTemplate.update(
+                "insert into loyalty_journal (order_id, customer_id, points, visit_date, created_date, flushed) values (?, ?, ?, ?, ?, ?)",
+                order.getId(),
+                customerId,
+                points,
+                Date.valueOf(visitDate),
+                Timestamp.from(Instant.now()),
+                false
+            );
+        } catch (DuplicateKeyException e) {
+            LOG.debug("Order {} has already earned its loyalty points", order.getId());
+            return;
+        }
+        LOG.debug("Order {} earned {} loyalty points for Customer {}", order.getId(), points, customerId);
+        Long orderId = order.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        accumulate(customerId, orderId, points, visitDate);
+                    }
+                }
+            );
+        } else {
+            accumulate(customerId, orderId, points, visitDate);
+        }
+    }
+
+    int pointsFor(BigDecimal totalAmount) {
+        if (totalAmount == null || totalAmount.signum() <= 0) {
+            return 0;
+        }
+        return totalAmount.multiply(BigDecimal.valueOf(properties.getPointsPerCurrencyUnit())).setScale(0, RoundingMode.DOWN).intValue();
+    }
+
+    void accumulate(Long customerId, Long orderId, int points, LocalDate visitDate) {
+        lock.readLock().lock();
+        try {
+            pending.computeIfAbsent(customerId, id -> new Accrual()).add(orderId, points, visitDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reload the journal entries which were not flushed before the last shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJournal() {
+        try {
+            int[] recovered = new int[1];
+            jdbcTemplate.query("select order_id, customer_id, points, visit_date from loyalty_journal where flushed = false", rs -> {
+                accumulate(rs.getLong("customer_id"), rs.getLong("order_id"), rs.getInt("points"), rs.getDate("visit_date").toLocalDate());
+                recovered[0]++;
+            });
+            if (recovered[0] > 0) {
+                LOG.info("Recovered {} loyalty journal entries to flush", recovered[0]);
+            }
+        } catch (DataAccessException e) {
+            LOG.warn("Loyalty journal could not be recovered, it will be retried on next startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply the pending points to the customer table.
+     * <p>
+     * The entries are first marked as flushed, if another node already flushed some of them (this happens when a
+     * node recovers the journal while another one is running), the batch is rolled back and the remaining entries
+     * are applied from the journal instead of from memory.
+     */
+    @Scheduled(fixedDelayString = "${application.loyalty.flush-interval-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        synchronized (flushMonitor) {
+            Map<Long, Accrual> drained;
+            lock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                drained = pending;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<Credit> credits = new ArrayList<>(drained.size());
+            List<Long> orderIds = new ArrayList<>();
+            drained.forEach((customerId, accrual) -> {
+                credits.add(new Credit(customerId, accrual.points.intValue(), accrual.lastVisit.get()));
+                orderIds.addAll(accrual.orderIds);
+            });
+            try {
+                Boolean applied = transactionTemplate.execute(status -> {
+                    if (markFlushed(orderIds) != orderIds.size()) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    applyCredits(credits);
+                    return true;
+                });
+                if (!Boolean.TRUE.equals(applied)) {
+                    transactionTemplate.executeWithoutResult(status -> flushFromJournal(orderIds));
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Loyalty points could not be flushed, they will be retried: {}", e.getMessage());
+                lock.readLock().lock();
+                try {
+                    drained.forEach((customerId, accrual) -> pending.merge(customerId, accrual, Accrual::merge));
+                } finally {
+                    lock.readLock().unlock();
+                }
+                return;
+            }
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            credits.forEach(credit -> cache.evict(Customer.class, credit.customerId));
+            LOG.debug("Flushed loyalty points of {} orders to {} customers", orderIds.size(), credits.size());
+        }
+    }
+
+    /**
+     * Delete the flushed journal entries after the retention period, once a day.
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void removeFlushedEntries() {
+        Instant before = Instant.now().minus(properties.getJournalRetentionDays(), ChronoUnit.DAYS);
+        Integer deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.update("delete from loyalty_journal where flushed = true and created_date < ?", Timestamp.from(before))
+        );
+        LOG.debug("Deleted {} flushed loyalty journal entries", deleted);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private int markFlushed(List<Long> orderIds) {
+        int marked = 0;
+        for (int from = 0; from < orderIds.size(); from += FLUSH_CHUNK_SIZE) {
+            marked += namedParameterJdbcTemplate.update(
+                "update loyalty_journal set flushed = true where order_id in (:orderIds) and flushed = false",
+                Map.of("orderIds", orderIds.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, orderIds.size())))
+            );
+        }
+        return marked;
+    }
+
+    private void flushFromJournal(List<Long> orderIds) {
+        Map<Long, Credit> credits = new HashMap<>();
+        List<Long> unflushed = new ArrayList<>();
+        for (int from = 0; from < orderIds.size(); from += FLUSH_CHUNK_SIZE) {
+            namedParameterJdbcTemplate.query(
+                "select order_id, customer_id, points, visit_date from loyalty_journal" +
+                " where order_id in (:orderIds) and flushed = false for update",
+                Map.of("orderIds", orderIds.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, orderIds.size()))),
+                rs -> {
+                    unflushed.add(rs.getLong("order_id"));
+                    Credit credit = new Credit(rs.getLong("customer_id"), rs.getInt("points"), rs.getDate("visit_date").toLocalDate());
+                    credits.merge(credit.customerId, credit, Credit::merge);
+                }
+            );
+        }
+        markFlushed(unflushed);
+        applyCredits(new ArrayList<>(credits.values()));
+    }
+
+    private void applyCredits(List<Credit> credits) {
+        jdbcTemplate.batchUpdate(
+            "update customer set loyalty_points = coalesce(loyalty_points, 0) + ?," +
+            " last_visit = case when last_visit is null or last_visit < ? then ? else last_visit end" +
+            " where id = ?",
+            credits,
+            FLUSH_CHUNK_SIZE,
+            (ps, credit) -> {
+                ps.setInt(1, credit.points);
+                ps.setDate(2, Date.valueOf(credit.lastVisit));
+                ps.setDate(3, Date.valueOf(credit.lastVisit));
+                ps.setLong(4, credit.customerId);
+            }
+        );
+    }
+
+    /**
+     * Points and last visit accumulated for one customer, updated concurrently under the read lock.
+     */
+    private static final class Accrual {
+
+        private final LongAdder points = new LongAdder();
+
+        private final AtomicReference<LocalDate> lastVisit = new AtomicReference<>();
+
+        private final ConcurrentLinkedQueue<Long> orderIds = new ConcurrentLinkedQueue<>();
+
+        void add(Long orderId, int points, LocalDate visitDate) {
+            this.points.add(points);
+            this.lastVisit.accumulateAndGet(visitDate, Accrual::latest);
+            this.orderIds.add(orderId);
+        }
+
+        Accrual merge(Accrual other) {
+            points.add(other.points.sum());
+            lastVisit.accumulateAndGet(other.lastVisit.get(), Accrual::latest);
+            orderIds.addAll(other.orderIds);
+            return this;
+        }
+
+        private static LocalDate latest(LocalDate current, LocalDate candidate) {
+            if (current == null) {
+                return candidate;
+            }
+            return candidate == null || current.isAfter(candidate) ? current : candidate;
+        }
+    }
+
+    private static final class Credit {
+
+        private final long customerId;
+
+        private final int points;
+
+        private final LocalDate lastVisit;
+
+        Credit(long customerId, int points, LocalDate lastVisit) {
+            this.customerId = customerId;
+            this.points = points;
+            this.lastVisit = lastVisit;
+        }
+
+        Credit merge(Credit other) {
+            return new Credit(customerId, points + other.points, lastVisit.isAfter(other.lastVisit) ? lastVisit : other.lastVisit);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service queuing rendered emails in the {@code mail_outbox} table and sending them in batches.
+ * <p>
+ * Queuing an email is a single insert, so bursts of emails never occupy the shared async executor. A scheduled
+ * dispatcher claims the due messages by moving their next attempt date past a lease, sends each batch over one SMTP
+ * connection, and then marks the messages as sent or schedules their retry with an exponential backoff. Messages claimed
+ * by a dispatcher which crashed are sent again once their lease expires, so delivery is at least once.
+ */
+@Service
+public class MailOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxService.class);
+
+    static final String STATUS_PENDING = "PENDING";
+
+    static final String STATUS_SENT = "SENT";
+
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private final Timer sendTimer;
+
+    private final Timer deliveryTimer;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    public MailOutboxService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailOutbox();
+        Gauge.builder("app.mail.outbox.depth", depth, AtomicLong::get)
+            .description("Messages waiting in the mail outbox, as of the last poll")
+            .baseUnit("messages")
+            .register(meterRegistry);
+        this.sendTimer = Timer.builder("app.mail.outbox.send")
+            .description("Time to send one batch of messages over an SMTP connection")
+            .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("app.mail.outbox.delivery")
+            .description("Time from queuing a message to sending it")
+            .register(meterRegistry);
+        this.sentCounter = messagesCounter("sent", meterRegistry);
+        this.retriedCounter = messagesCounter("retried", meterRegistry);
+        this.failedCounter = messagesCounter("failed", meterRegistry);
+    }
+
+    private static Counter messagesCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("app.mail.outbox.messages")
+            .description("Send attempts of the mail outbox messages, by result")
+            .baseUnit("messages")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue an email, to be sent by the next poll.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the rendered content.
+     * @param isMultipart whether the message is multipart.
+     * @param isHtml whether the content is HTML.
+     */
+    public void enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        LOG.debug("Queue email to '{}' with subject '{}'", to, subject);
+        Timestamp now = Timestamp.from(Instant.now());
+        // Joins the transaction of the caller, if any, so that the email is only queued if it commits
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into mail_outbox (recipient, subject, content, multipart, html, status, attempts, next_attempt_date," +
+                " created_date) values (?, ?, ?, ?, ?, ?, 0, ?, ?)",
+                to,
+                subject,
+                content,
+                isMultipart,
+                isHtml,
+                STATUS_PENDING,
+                now,
+                now
+            )
+        );
+    }
+
+    /**
+     * Send the due messages, batch by batch, until none is due or the batches per poll are used up.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void dispatch() {
+        try {
+            for (int batch = 0; batch < properties.getBatchesPerPoll(); batch++) {
+                List<OutboxMessage> messages = claimDueMessages();
+                if (!messages.isEmpty()) {
+                    send(messages);
+                }
+                if (messages.size() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            depth.set(jdbcTemplate.queryForObject("select count(*) from mail_outbox where status = ?", Long.class, STATUS_PENDING));
+        } catch (DataAccessException e) {
+            LOG.warn("Mail outbox could not be dispatched, it will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the sent and failed messages after the retention period, once a day.
+     */
+    @Scheduled(cron = "0 50 3 * * ?")
+    public void removeOldMessages() {
+        Instant before = Instant.now().minus(properties.getRetentionDays(), ChronoUnit.DAYS);
+        Integer deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.update("delete from mail_outbox where status <> ? and created_date < ?", STATUS_PENDING, Timestamp.from(before))
+        );
+        LOG.debug("Deleted {} old mail outbox messages", deleted);
+    }
+
+    /**
+     * Claim a batch of due messages by moving their next attempt date past the lease and counting the attempt.
+     * {@code skip locked} lets several instances claim disjoint batches.
+     */
+    private List<OutboxMessage> claimDueMessages() {
+        Instant now = Instant.now();
+        Timestamp leaseEnd = Timestamp.from(now.plusSeconds(properties.getLeaseSeconds()));
+        return transactionTemplate.execute(status -> {
+            List<OutboxMessage> messages = jdbcTemplate.query(
+                "select id, recipient, subject, content, multipart, html, attempts, created_date from mail_outbox" +
+                " where status = ? and next_attempt_date <= ? order by next_attempt_date, id limit ? for update skip locked",
+                (rs, rowNum) ->
+                    new OutboxMessage(
+                        rs.getLong("id"),
+                        rs.getString("recipient"),
+                        rs.getString("subject"),
+                        rs.getString("content"),
+                        rs.getBoolean("multipart"),
+                        rs.getBoolean("html"),
+                        rs.getInt("attempts") + 1,
+                        rs.getTimestamp("created_date").toInstant()
+                    ),
+                STATUS_PENDING,
+                Timestamp.from(now),
+                properties.getBatchSize()
+            );
+            if (!messages.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                    "update mail_outbox set attempts = ?, next_attempt_date = ? where id = ?",
+                    messages.stream().map(message -> new Object[] { message.attempts, leaseEnd, message.id }).toList()
+                );
+            }
+            return messages;
+        });
+    }
+
+    private void send(List<OutboxMessage> messages) {
+        Map<MimeMessage, OutboxMessage> mimeMessages = new LinkedHashMap<>();
+        List<OutboxMessage> failed = new ArrayList<>();
+        Map<OutboxMessage, String> errors = new IdentityHashMap<>();
+        for (OutboxMessage message : messages) {
+            try {
+                mimeMessages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                // The message itself is invalid, typically its address, retrying cannot help
+                message.attempts = properties.getMaxAttempts();
+                failed.add(message);
+                errors.put(message, e.getMessage());
+            }
+        }
+        if (!mimeMessages.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                javaMailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                mimeMessages.forEach((mimeMessage, message) -> {
+                    Exception cause = failedMessages.isEmpty() ? e : failedMessages.get(mimeMessage);
+                    if (cause != null) {
+                        failed.add(message);
+                        errors.put(message, cause.getMessage());
+                    }
+                });
+            } catch (MailException e) {
+                mimeMessages.values().forEach(message -> {
+                    failed.add(message);
+                    errors.put(message, e.getMessage());
+                });
+            } finally {
+                sample.stop(sendTimer);
+            }
+        }
+        recordResults(messages, failed, errors);
+    }
+
+    private void recordResults(List<OutboxMessage> messages, List<OutboxMessage> failed, Map<OutboxMessage, String> errors) {
+        Instant now = Instant.now();
+        List<Object[]> sent = new ArrayList<>();
+        List<Object[]> retried = new ArrayList<>();
+        List<Object[]> abandoned = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            String error = truncate(errors.get(message));
+            if (!errors.containsKey(message)) {
+                sent.add(new Object[] { STATUS_SENT, Timestamp.from(now), message.id });
+                deliveryTimer.record(Duration.between(message.createdDate, now));
+            } else if (message.attempts >= properties.getMaxAttempts()) {
+                LOG.warn("Email to '{}' could not be sent after {} attempts: {}", message.recipient, message.attempts, error);
+                abandoned.add(new Object[] { STATUS_FAILED, error, message.id });
+            } else {
+                LOG.debug("Email to '{}' could not be sent at attempt {}: {}", message.recipient, message.attempts, error);
+                retried.add(new Object[] { Timestamp.from(now.plus(backoff(message.attempts))), error, message.id });
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                jdbcTemplate.batchUpdate("update mail_outbox set status = ?, sent_date = ?, last_error = null where id = ?", sent);
+            }
+            if (!retried.isEmpty()) {
+                jdbcTemplate.batchUpdate("update mail_outbox set next_attempt_date = ?, last_error = ? where id = ?", retried);
+            }
+            if (!abandoned.isEmpty()) {
+                jdbcTemplate.batchUpdate("update mail_outbox set status = ?, last_error = ? where id = ?", abandoned);
+            }
+        });
+        sentCounter.increment(sent.size());
+        retriedCounter.increment(retried.size());
+        failedCounter.increment(abandoned.size());
+    }
+
+    /**
+     * Delay before the next attempt of a message, doubling from the initial backoff up to the maximum.
+     *
+     * @param attempts the attempts made so far, at least one.
+     * @return the delay.
+     */
+    private Duration backoff(int attempts) {
+        long seconds = properties.getInitialBackoffSeconds() << Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(Math.min(seconds, properties.getMaxBackoffSeconds()));
+    }
+
+    private MimeMessage toMimeMessage(OutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.multipart, StandardCharsets.UTF_8.name());
+        helper.setTo(message.recipient);
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.subject);
+        helper.setText(message.content, message.html);
+        return mimeMessage;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static final class OutboxMessage {
+
+        private final long id;
+
+        private final String recipient;
+
+        private final String subject;
+
+        private final String content;
+
+        private final boolean multipart;
+
+        private final boolean html;
+
+        private final Instant createdDate;
+
+        private int attempts;
+
+        OutboxMessage(
+            long id,
+            String recipient,
+            String subject,
+            String content,
+            boolean multipart,
+            boolean html,
+            int attempts,
+            Instant createdDate
+        ) {
+            this.id = id;
+            this.recipient = recipient;
+            this.subject = subject;
+            this.content = content;
+            this.multipart = multipart;
+            this.html = html;
+            this.attempts = attempts;
+            this.createdDate = createdDate;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.User;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service rendering the user email templates, with the rendered templates and subjects cached per locale.
+ * <p>
+ * The output of the user email templates only varies with the locale and a few user properties inserted as text. So
+ * each template is rendered once per locale for a probe user whose properties are markers, and the output is split
+ * around the markers into static fragments. Rendering an email is then only concatenating the fragments and the
+ * escaped user properties into a reused buffer. A template is only compiled this way when a second probe with other
+ * values, including characters which must be escaped, renders exactly like the compiled template; otherwise, for
+ * example when the template branches on a user property, it is always rendered by Thymeleaf.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    public static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
+
+    public static final String CREATION_TEMPLATE = "mail/creationEmail";
+
+    public static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
+
+    public static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    public static final String RESET_TITLE_KEY = "email.reset.title";
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    /**
+     * A private use character, which Thymeleaf neither escapes nor trims.
+     */
+    private static final char MARKER = '\uE000';
+
+    private static final Pattern MARKER_PATTERN = Pattern.compile(MARKER + "(\\d+)" + MARKER);
+
+    /**
+     * Buffers above this size are not kept for reuse.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The user properties a template may insert, in marker order.
+     */
+    private static final List<UserProperty> USER_PROPERTIES = List.of(
+        new UserProperty(User::getLogin, User::setLogin),
+        new UserProperty(User::getFirstName, User::setFirstName),
+        new UserProperty(User::getLastName, User::setLastName),
+        new UserProperty(User::getEmail, User::setEmail),
+        new UserProperty(User::getImageUrl, User::setImageUrl),
+        new UserProperty(User::getActivationKey, User::setActivationKey),
+        new UserProperty(User::getResetKey, User::setResetKey)
+    );
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private static final ThreadLocal<StringWriter> WRITER = ThreadLocal.withInitial(() -> new StringWriter(4096));
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailTemplates properties;
+
+    private final Map<TemplateKey, CompileResult> templates = new ConcurrentHashMap<>();
+
+    private final Map<SubjectKey, String> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        SpringTemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailTemplates();
+    }
+
+    /**
+     * Compile the user email templates and load their subjects for all the configured languages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile() {
+        if (!properties.isCacheEnabled()) {
+            return;
+        }
+        int compiled = 0;
+        for (String language : properties.getLanguages()) {
+            Locale locale = Locale.forLanguageTag(language);
+            for (String templateName : List.of(ACTIVATION_TEMPLATE, CREATION_TEMPLATE, PASSWORD_RESET_TEMPLATE)) {
+                if (isPrecompiled(templateName, locale)) {
+                    compiled++;
+                }
+            }
+            getSubject(ACTIVATION_TITLE_KEY, locale);
+            getSubject(RESET_TITLE_KEY, locale);
+        }
+        LOG.info("Precompiled {} mail templates for languages {}", compiled, properties.getLanguages());
+    }
+
+    /**
+     * Render an email template for a user.
+     *
+     * @param templateName the template.
+     * @param locale the locale of the user.
+     * @param user the user, available as {@code user} in the template.
+     * @return the rendered email.
+     */
+    public String render(String templateName, Locale locale, User user) {
+        if (!properties.isCacheEnabled()) {
+            return process(templateName, locale, user);
+        }
+        CompiledTemplate template = templates.computeIfAbsent(new TemplateKey(templateName, locale), this::compile).template;
+        if (template == null || !template.canRender(user)) {
+            return process(templateName, locale, user);
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.render(user, buffer);
+        String content = buffer.toString();
+        if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return content;
+    }
+
+    /**
+     * Get the subject of an email.
+     *
+     * @param titleKey the message key of the subject.
+     * @param locale the locale of the user.
+     * @return the subject.
+     */
+    public String getSubject(String titleKey, Locale locale) {
+        if (!properties.isCacheEnabled()) {
+            return messageSource.getMessage(titleKey, null, locale);
+        }
+        return subjects.computeIfAbsent(new SubjectKey(titleKey, locale), key -> messageSource.getMessage(key.titleKey, null, key.locale));
+    }
+
+    /**
+     * Whether a template is rendered from its compiled form for a locale, compiling it if needed.
+     *
+     * @param templateName the template.
+     * @param locale the locale.
+     * @return {@code true} if the template could be compiled.
+     */
+    public boolean isPrecompiled(String templateName, Locale locale) {
+        return templates.computeIfAbsent(new TemplateKey(templateName, locale), this::compile).template != null;
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        StringWriter writer = WRITER.get();
+        writer.getBuffer().setLength(0);
+        templateEngine.process(templateName, context, writer);
+        String content = writer.toString();
+        if (writer.getBuffer().capacity() > MAX_REUSED_BUFFER_SIZE) {
+            WRITER.remove();
+        }
+        return content;
+    }
+
+    private CompileResult compile(TemplateKey key) {
+        String markedOutput = process(key.templateName, key.locale, probeUser(1));
+        List<String> fragments = new ArrayList<>();
+        List<UserProperty> slots = new ArrayList<>();
+        Matcher matcher = MARKER_PATTERN.matcher(markedOutput);
+        int start = 0;
+        while (matcher.find()) {
+            fragments.add(markedOutput.substring(start, matcher.start()));
+            slots.add(USER_PROPERTIES.get(Integer.parseInt(matcher.group(1))));
+            start = matcher.end();
+        }
+        fragments.add(markedOutput.substring(start));
+        CompiledTemplate template = new CompiledTemplate(fragments.toArray(new String[0]), slots.toArray(new UserProperty[0]));
+
+        User check = probeUser(2);
+        StringBuilder rendered = new StringBuilder();
+        template.render(check, rendered);
+        if (!rendered.toString().equals(process(key.templateName, key.locale, check))) {
+            LOG.debug("Mail template {} does not only insert user properties as text, it is not precompiled", key.templateName);
+            return new CompileResult(null);
+        }
+        LOG.debug("Precompiled mail template {} for {} with {} user properties", key.templateName, key.locale, slots.size());
+        return new CompileResult(template);
+    }
+
+    /**
+     * A user whose text properties are markers, for the first probe, or values needing escaping, for the second one.
+     * All its other properties differ between the two probes, so that a template using them fails the check.
+     */
+    private static User probeUser(int probe) {
+        User user = new User();
+        for (int i = 0; i < USER_PROPERTIES.size(); i++) {
+            USER_PROPERTIES.get(i).setter.accept(user, probe == 1 ? MARKER + String.valueOf(i) + MARKER : "<p" + i + " a=\"&'>");
+        }
+        user.setId((long) probe);
+        user.setActivated(probe == 1);
+        user.setLangKey("probe" + probe);
+        user.setResetDate(Instant.ofEpochSecond(probe));
+        user.setCreatedDate(Instant.ofEpochSecond(probe));
+        user.setCreatedBy("probe" + probe);
+        return user;
+    }
+
+    private static final class CompiledTemplate {
+
+        private final String[] fragments;
+
+        private final UserProperty[] slots;
+
+        CompiledTemplate(String[] fragments, UserProperty[] slots) {
+            this.fragments = fragments;
+            this.slots = slots;
+        }
+
+        /**
+         * Thymeleaf renders missing values differently depending on where they are inserted, and trims the values
+         * ending a link.
+         */
+        boolean canRender(User user) {
+            for (UserProperty slot : slots) {
+                String value = slot.getter.apply(user);
+                if (value == null || (!value.isEmpty() && (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' '))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void render(User user, StringBuilder buffer) {
+            for (int i = 0; i < slots.length; i++) {
+                buffer.append(fragments[i]).append(HtmlEscape.escapeHtml4Xml(slots[i].getter.apply(user)));
+            }
+            buffer.append(fragments[slots.length]);
+        }
+    }
+
+    /**
+     * The compiled template, or {@code null} when the template cannot be compiled.
+     */
+    private record CompileResult(CompiledTemplate template) {}
+
+    private record UserProperty(Function<User, String> getter, BiConsumer<User, String> setter) {}
+
+    private record TemplateKey(String templateName, Locale locale) {
+        TemplateKey {
+            Objects.requireNonNull(templateName);
+            Objects.requireNonNull(locale);
+        }
+    }
+
+    private record SubjectKey(String titleKey, Locale locale) {}
+}
@@ -0,0 +1,62 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.service.ImageStore;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service moving menu item images still stored in the legacy {@code menu_item.image} BLOB column into the {@link ImageStore}.
+ * <p>
+ * Images are copied one row at a time, so the migration never holds more than one image in memory.
+ */
+@Service
+public class MenuItemImageMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MenuItemImageMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ImageStore imageStore;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public MenuItemImageMigrationService(JdbcTemplate jdbcTemplate, ImageStore imageStore, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageStore = imageStore;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Migrate the legacy images once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyImages() {
+        try {
+            List<Long> ids = jdbcTemplate.queryForList(
+                "select id from menu_item where image is not null and image_hash is null",
+                Long.class
+            );
+            for (Long id : ids) {
+                byte[] image = jdbcTemplate.queryForObject("select image from menu_item where id = ?", byte[].class, id);
+                String hash = imageStore.store(image);
+                jdbcTemplate.update("update menu_item set image_hash = ?, image = null where id = ?", hash, id);
+            }
+            if (!ids.isEmpty()) {
+                entityManagerFactory.getCache().evict(MenuItem.class);
+                LOG.info("Moved {} legacy menu item images to the image store", ids.size());
+            }
+        } catch (DataAccessException e) {
+            LOG.warn("Legacy menu item images could not be migrated, they will be retried on next startup: {}", e.getMessage());
+        }
+    }
+}
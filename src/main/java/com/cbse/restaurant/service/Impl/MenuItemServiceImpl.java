@@ -1,17 +1,29 @@
 package com.cbse.restaurant.service.Impl;
 
 import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
 import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.service.BestSellerWindow;
+import com.cbse.restaurant.service.ImageStore;
 import com.cbse.restaurant.service.MenuItemService;
+import com.cbse.restaurant.service.PaginationMode;
+import com.cbse.restaurant.service.dto.BestSellerDTO;
 import com.cbse.restaurant.service.dto.MenuItemDTO;
 import com.cbse.restaurant.service.mapper.MenuItemMapper;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.cbse.restaurant.domain.MenuItem}.
@@ -26,9 +38,37 @@ public class MenuItemServiceImpl implements MenuItemService {
 
     private final MenuItemMapper menuItemMapper;
 
-    public MenuItemServiceImpl(MenuItemRepository menuItemRepository, MenuItemMapper menuItemMapper) {
+    private final ImageStore imageStore;
+
+    private final MenuSnapshotService menuSnapshotService;
+
+    private final CountEstimationService countEstimationService;
+
+    private final QueryCacheService queryCacheService;
+
+    private final BestSellerTracker bestSellerTracker;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public MenuItemServiceImpl(
+        MenuItemRepository menuItemRepository,
+        MenuItemMapper menuItemMapper,
+        ImageStore imageStore,
+        MenuSnapshotService menuSnapshotService,
+        CountEstimationService countEstimationService,
+        QueryCacheService queryCacheService,
+        BestSellerTracker bestSellerTracker,
+        PlatformTransactionManager transactionManager
+    ) {
         this.menuItemRepository = menuItemRepository;
         this.menuItemMapper = menuItemMapper;
+        this.imageStore = imageStore;
+        this.menuSnapshotService = menuSnapshotService;
+        this.countEstimationService = countEstimationService;
+        this.queryCacheService = queryCacheService;
+        this.bestSellerTracker = bestSellerTracker;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -41,7 +81,9 @@ public class MenuItemServiceImpl implements MenuItemService {
     public MenuItemDTO save(MenuItemDTO menuItemDTO) {
         LOG.debug("Request to save MenuItem : {}", menuItemDTO);
         MenuItem menuItem = menuItemMapper.toEntity(menuItemDTO);
+        storeImage(menuItem, menuItemDTO);
         menuItem = menuItemRepository.save(menuItem);
+        invalidateAfterCommit();
         return menuItemMapper.toDto(menuItem);
     }
 
@@ -55,7 +97,9 @@ public class MenuItemServiceImpl implements MenuItemService {
     public MenuItemDTO update(MenuItemDTO menuItemDTO) {
         LOG.debug("Request to update MenuItem : {}", menuItemDTO);
         MenuItem menuItem = menuItemMapper.toEntity(menuItemDTO);
+        storeImage(menuItem, menuItemDTO);
         menuItem = menuItemRepository.save(menuItem);
+        invalidateAfterCommit();
         return menuItemMapper.toDto(menuItem);
     }
 
@@ -73,6 +117,8 @@ public class MenuItemServiceImpl implements MenuItemService {
             .findById(menuItemDTO.getId())
             .map(existingMenuItem -> {
                 menuItemMapper.partialUpdate(existingMenuItem, menuItemDTO);
+                storeImage(existingMenuItem, menuItemDTO);
+                invalidateAfterCommit();
 
                 return existingMenuItem;
             })
@@ -93,6 +139,74 @@ public class MenuItemServiceImpl implements MenuItemService {
         return menuItemRepository.findAll(pageable).map(menuItemMapper::toDto);
     }
 
+    /**
+     * Get all the menuItems in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the menuItems are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<MenuItemDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all MenuItems in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> menuItemRepository.findAll(pageable).map(menuItemMapper::toDto);
+            case SLICE -> menuItemRepository.findSliceBy(pageable).map(menuItemMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(menuItemRepository.findSliceBy(pageable), MenuItem.class, menuItemRepository::count)
+                .map(menuItemMapper::toDto);
+        };
+    }
+
+    /**
+     * Get the menuItems of a category, by availability.
+     *
+     * @param category the category.
+     * @param available whether the menuItems are available.
+     * @return the list of entities, by name.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MenuItemDTO> findAllByCategory(MenuCategory category, boolean available) {
+        LOG.debug("Request to get all MenuItems of category {} and availability {}", category, available);
+        return menuItemRepository
+            .findAllByCategoryAndIsAvailable(category, available, Sort.by("name", "id"))
+            .stream()
+            .map(menuItemMapper::toDto)
+            .toList();
+    }
+
+    /**
+     * Get the available menuItems ordered the most over a sliding window.
+     * <p>
+     * The ranking comes from the {@link BestSellerTracker}, in memory, and the menuItems are read by id, from the
+     * second-level cache when they are in it; only those reads run in a read-only transaction.
+     *
+     * @param window the window.
+     * @param size the maximum number of menuItems.
+     * @return the menuItems with their ordered quantity, the most ordered first.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BestSellerDTO> findBestSellers(BestSellerWindow window, int size) {
+        LOG.debug("Request to get the {} best-selling MenuItems over the last {}", size, window);
+        List<BestSellerTracker.BestSeller> bestSellers = bestSellerTracker.getBestSellers(window, Integer.MAX_VALUE, Instant.now());
+        return readOnlyTransactionTemplate.execute(status ->
+            bestSellers
+                .stream()
+                .flatMap(bestSeller ->
+                    menuItemRepository
+                        .findById(bestSeller.menuItemId())
+                        .filter(menuItem -> Boolean.TRUE.equals(menuItem.getIsAvailable()))
+                        .map(menuItem -> new BestSellerDTO(menuItemMapper.toDto(menuItem), bestSeller.quantity()))
+                        .stream()
+                )
+                .limit(size)
+                .toList()
+        );
+    }
+
     /**
      * Get one menuItem by id.
      *
@@ -115,5 +229,26 @@ public class MenuItemServiceImpl implements MenuItemService {
     public void delete(Long id) {
         LOG.debug("Request to delete MenuItem : {}", id);
         menuItemRepository.deleteById(id);
+        invalidateAfterCommit();
+    }
+
+    /**
+     * Drop the menu snapshot and the cached menu queries once the current transaction commits.
+     */
+    private void invalidateAfterCommit() {
+        menuSnapshotService.invalidateAfterCommit();
+        queryCacheService.evictAfterCommit(MenuItemRepository.QUERY_CACHE);
+    }
+
+    /**
+     * Move an uploaded image out of the DTO into the image store, keeping only its content hash on the entity.
+     *
+     * @param menuItem the entity to update.
+     * @param menuItemDTO the DTO possibly carrying uploaded image bytes.
+     */
+    private void storeImage(MenuItem menuItem, MenuItemDTO menuItemDTO) {
+        if (menuItemDTO.getImage() != null) {
+            menuItem.setImageHash(imageStore.store(menuItemDTO.getImage()));
+        }
     }
 }
@@ -0,0 +1,186 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.repository.PrimaryReads;
+import com.cbse.restaurant.service.dto.MenuItemDTO;
+import com.cbse.restaurant.service.mapper.MenuItemMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping a pre-serialized, versioned snapshot of the public menu in memory.
+ * <p>
+ * The snapshot holds the available menu items grouped by {@link MenuCategory}, already encoded as JSON, so serving it
+ * costs no database query and no serialization. It is dropped after every committed menu change and rebuilt on the
+ * next read; a time-to-live bounds its age so changes made on other nodes are picked up as well. Only the rebuild runs
+ * in a read-only transaction, on the primary database, so serving the cached snapshot never borrows a connection.
+ */
+@Service
+public class MenuSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MenuSnapshotService.class);
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final MenuItemMapper menuItemMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Duration timeToLive;
+
+    /**
+     * Incremented on every invalidation, so a rebuild racing with a change is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile MenuSnapshot snapshot;
+
+    public MenuSnapshotService(
+        MenuItemRepository menuItemRepository,
+        MenuItemMapper menuItemMapper,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.menuItemRepository = menuItemRepository;
+        this.menuItemMapper = menuItemMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.timeToLive = Duration.ofSeconds(applicationProperties.getMenuSnapshot().getTimeToLiveSeconds());
+    }
+
+    /**
+     * Get the current menu snapshot, building it if needed.
+     *
+     * @return the menu snapshot.
+     */
+    public MenuSnapshot getSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && !isExpired(current)) {
+                return current;
+            }
+            long expectedGeneration = generation.get();
+            MenuSnapshot built = PrimaryReads.call(() -> readOnlyTransactionTemplate.execute(status -> build()));
+            if (generation.get() == expectedGeneration) {
+                snapshot = built;
+            }
+            return built;
+        }
+    }
+
+    /**
+     * Drop the snapshot once the current transaction commits, or immediately when no transaction is active.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate();
+                    }
+                }
+            );
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drop the snapshot, so the next read rebuilds it from the primary.
+     */
+    public void invalidate() {
+        LOG.debug("Invalidating menu snapshot");
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private boolean isExpired(MenuSnapshot current) {
+        return current.getBuiltAt().plus(timeToLive).isBefore(Instant.now());
+    }
+
+    private MenuSnapshot build() {
+        LOG.debug("Building menu snapshot");
+        Map<MenuCategory, List<MenuItemDTO>> categories = new EnumMap<>(MenuCategory.class);
+        menuItemRepository
+            .findAllByIsAvailableTrue(Sort.by("name", "id"))
+            .forEach(menuItem ->
+                categories.computeIfAbsent(menuItem.getCategory(), c -> new ArrayList<>()).add(menuItemMapper.toDto(menuItem))
+            );
+        try {
+            byte[] content = objectMapper.writeValueAsBytes(categories);
+            return new MenuSnapshot(version(content), content, Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the menu snapshot", e);
+        }
+    }
+
+    private static String version(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Immutable JSON snapshot of the menu, identified by a hash of its content.
+     */
+    public static final class MenuSnapshot {
+
+        private final String version;
+
+        private final byte[] content;
+
+        private final Instant builtAt;
+
+        MenuSnapshot(String version, byte[] content, Instant builtAt) {
+            this.version = version;
+            this.content = content;
+            this.builtAt = builtAt;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the JSON content, shared between readers: it must not be modified.
+         */
+        public byte[] getContent() {
+            return content;
+        }
+
+        public Instant getBuiltAt() {
+            return builtAt;
+        }
+    }
+}
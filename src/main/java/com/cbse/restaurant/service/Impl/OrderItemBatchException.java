@@ -0,0 +1,29 @@
+package com.cbse.restaurant.service.Impl;
+
+import java.util.List;
+
+/**
+ * Thrown when a batch of order items is rejected, listing the problems of all the items so that they can be fixed in one go.
+ */
+public class OrderItemBatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    private final List<String> errors;
+
+    public OrderItemBatchException(List<String> errors, String errorKey) {
+        super("Invalid order items: " + String.join("; ", errors));
+        this.errorKey = errorKey;
+        this.errors = List.copyOf(errors);
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
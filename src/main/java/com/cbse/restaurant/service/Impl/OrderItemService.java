@@ -1,14 +1,32 @@
 package com.cbse.restaurant.service.Impl;
 
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
 import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.repository.MenuItemRepository;
 import com.cbse.restaurant.repository.OrderItemRepository;
+import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.PaginationMode;
+import com.cbse.restaurant.service.dto.MenuItemDTO;
+import com.cbse.restaurant.service.dto.OrderDTO;
 import com.cbse.restaurant.service.dto.OrderItemDTO;
 import com.cbse.restaurant.service.mapper.OrderItemMapper;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +43,36 @@ public class OrderItemService {
 
     private final OrderItemMapper orderItemMapper;
 
-    public OrderItemService(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper) {
+    private final CountEstimationService countEstimationService;
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final Validator validator;
+
+    private final BestSellerTracker bestSellerTracker;
+
+    private final SalesRollupService salesRollupService;
+
+    public OrderItemService(
+        OrderItemRepository orderItemRepository,
+        OrderItemMapper orderItemMapper,
+        CountEstimationService countEstimationService,
+        MenuItemRepository menuItemRepository,
+        OrderRepository orderRepository,
+        Validator validator,
+        BestSellerTracker bestSellerTracker,
+        SalesRollupService salesRollupService
+    ) {
         this.orderItemRepository = orderItemRepository;
         this.orderItemMapper = orderItemMapper;
+        this.countEstimationService = countEstimationService;
+        this.menuItemRepository = menuItemRepository;
+        this.orderRepository = orderRepository;
+        this.validator = validator;
+        this.bestSellerTracker = bestSellerTracker;
+        this.salesRollupService = salesRollupService;
     }
 
     /**
@@ -40,6 +85,8 @@ public class OrderItemService {
         LOG.debug("Request to save OrderItem : {}", orderItemDTO);
         OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
         orderItem = orderItemRepository.save(orderItem);
+        bestSellerTracker.recordAfterCommit(List.of(orderItem));
+        salesRollupService.recordChange(orderId(orderItem));
         return orderItemMapper.toDto(orderItem);
     }
 
@@ -51,8 +98,10 @@ public class OrderItemService {
      */
     public OrderItemDTO update(OrderItemDTO orderItemDTO) {
         LOG.debug("Request to update OrderItem : {}", orderItemDTO);
+        Long previousOrderId = orderItemRepository.findById(orderItemDTO.getId()).map(OrderItemService::orderId).orElse(null);
         OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
         orderItem = orderItemRepository.save(orderItem);
+        salesRollupService.recordChanges(Arrays.asList(previousOrderId, orderId(orderItem)));
         return orderItemMapper.toDto(orderItem);
     }
 
@@ -68,7 +117,9 @@ public class OrderItemService {
         return orderItemRepository
             .findById(orderItemDTO.getId())
             .map(existingOrderItem -> {
+                Long previousOrderId = orderId(existingOrderItem);
                 orderItemMapper.partialUpdate(existingOrderItem, orderItemDTO);
+                salesRollupService.recordChanges(Arrays.asList(previousOrderId, orderId(existingOrderItem)));
 
                 return existingOrderItem;
             })
@@ -76,6 +127,116 @@ public class OrderItemService {
             .map(orderItemMapper::toDto);
     }
 
+    /**
+     * Save several new orderItems.
+     * <p>
+     * All the items are validated before anything is written, the referenced menu items and orders are loaded with
+     * one query each, and the inserts are sent in JDBC batches.
+     *
+     * @param orderItemDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     * @throws OrderItemBatchException if any item is invalid, with the problems of all of them.
+     */
+    public List<OrderItemDTO> saveAll(List<OrderItemDTO> orderItemDTOs) {
+        LOG.debug("Request to save {} OrderItems", orderItemDTOs.size());
+        List<String> errors = new ArrayList<>();
+        Map<Long, MenuItem> menuItems = findMenuItems(orderItemDTOs);
+        Map<Long, Order> orders = findOrders(orderItemDTOs);
+        List<OrderItem> orderItems = new ArrayList<>(orderItemDTOs.size());
+        for (int i = 0; i < orderItemDTOs.size(); i++) {
+            OrderItemDTO orderItemDTO = orderItemDTOs.get(i);
+            if (orderItemDTO == null) {
+                errors.add("[" + i + "] must not be null");
+                continue;
+            }
+            if (orderItemDTO.getId() != null) {
+                errors.add("[" + i + "] id: a new orderItem cannot already have an ID");
+            }
+            int index = i;
+            validator
+                .validate(orderItemDTO)
+                .forEach(violation -> errors.add(itemError(index, violation.getPropertyPath(), violation.getMessage())));
+            OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
+            orderItem.setMenuItem(resolveMenuItem(orderItemDTO, menuItems, i, errors));
+            orderItem.setOrder(resolveOrder(orderItemDTO, orders, i, errors));
+            orderItems.add(orderItem);
+        }
+        if (!errors.isEmpty()) {
+            throw new OrderItemBatchException(errors, "batchinvalid");
+        }
+        List<OrderItem> savedOrderItems = orderItemRepository.saveAll(orderItems);
+        bestSellerTracker.recordAfterCommit(savedOrderItems);
+        salesRollupService.recordChanges(savedOrderItems.stream().map(OrderItemService::orderId).toList());
+        return orderItemMapper.toDto(savedOrderItems);
+    }
+
+    /**
+     * Partially update several orderItems, fields of each item will be ignored if they are null.
+     * <p>
+     * The orderItems and the menu items and orders they are moved to are loaded with one query each, all the items are
+     * validated before anything is written, and the updates are sent in JDBC batches.
+     *
+     * @param orderItemDTOs the entities to update partially, each with its id.
+     * @return the persisted entities, in the same order.
+     * @throws OrderItemBatchException if any item is invalid or not found, with the problems of all of them.
+     */
+    public List<OrderItemDTO> partialUpdateAll(List<OrderItemDTO> orderItemDTOs) {
+        LOG.debug("Request to partially update {} OrderItems", orderItemDTOs.size());
+        List<String> errors = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < orderItemDTOs.size(); i++) {
+            OrderItemDTO orderItemDTO = orderItemDTOs.get(i);
+            if (orderItemDTO == null) {
+                errors.add("[" + i + "] must not be null");
+            } else if (orderItemDTO.getId() == null) {
+                errors.add("[" + i + "] id: must not be null");
+            } else if (!ids.add(orderItemDTO.getId())) {
+                errors.add("[" + i + "] id: orderItem " + orderItemDTO.getId() + " appears more than once");
+            }
+        }
+        Map<Long, OrderItem> existingOrderItems = ids.isEmpty()
+            ? Map.of()
+            : orderItemRepository
+                .findAllWithToOneRelationshipsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(OrderItem::getId, Function.identity()));
+        Map<Long, MenuItem> menuItems = findMenuItems(orderItemDTOs);
+        Map<Long, Order> orders = findOrders(orderItemDTOs);
+        List<OrderItem> orderItems = new ArrayList<>(orderItemDTOs.size());
+        Set<Long> changedOrderIds = new HashSet<>();
+        for (int i = 0; i < orderItemDTOs.size(); i++) {
+            OrderItemDTO orderItemDTO = orderItemDTOs.get(i);
+            if (orderItemDTO == null || orderItemDTO.getId() == null) {
+                continue;
+            }
+            OrderItem orderItem = existingOrderItems.get(orderItemDTO.getId());
+            if (orderItem == null) {
+                errors.add("[" + i + "] id: orderItem " + orderItemDTO.getId() + " not found");
+                continue;
+            }
+            changedOrderIds.add(orderId(orderItem));
+            orderItemMapper.partialUpdateColumns(orderItem, orderItemDTO);
+            if (orderItemDTO.getMenuItem() != null) {
+                orderItem.setMenuItem(resolveMenuItem(orderItemDTO, menuItems, i, errors));
+            }
+            if (orderItemDTO.getOrder() != null) {
+                orderItem.setOrder(resolveOrder(orderItemDTO, orders, i, errors));
+            }
+            changedOrderIds.add(orderId(orderItem));
+            int index = i;
+            validator
+                .validate(orderItem)
+                .forEach(violation -> errors.add(itemError(index, violation.getPropertyPath(), violation.getMessage())));
+            orderItems.add(orderItem);
+        }
+        if (!errors.isEmpty()) {
+            // Nothing has been flushed yet, the rollback discards the changes made to the loaded orderItems
+            throw new OrderItemBatchException(errors, "batchinvalid");
+        }
+        salesRollupService.recordChanges(changedOrderIds);
+        return orderItemMapper.toDto(orderItems);
+    }
+
     /**
      * Get all the orderItems.
      *
@@ -88,6 +249,25 @@ public class OrderItemService {
         return orderItemRepository.findAll(pageable).map(orderItemMapper::toDto);
     }
 
+    /**
+     * Get all the orderItems in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the orderItems are counted.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderItemDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all OrderItems in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> orderItemRepository.findAll(pageable).map(orderItemMapper::toDto);
+            case SLICE -> orderItemRepository.findSliceBy(pageable).map(orderItemMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(orderItemRepository.findSliceBy(pageable), OrderItem.class, orderItemRepository::count)
+                .map(orderItemMapper::toDto);
+        };
+    }
+
     /**
      * Get all the orderItems with eager load of many-to-many relationships.
      *
@@ -97,6 +277,24 @@ public class OrderItemService {
         return orderItemRepository.findAllWithEagerRelationships(pageable).map(orderItemMapper::toDto);
     }
 
+    /**
+     * Get all the orderItems with eager load of many-to-many relationships in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the orderItems are counted.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderItemDTO> findAllWithEagerRelationships(Pageable pageable, PaginationMode paginationMode) {
+        return switch (paginationMode) {
+            case EXACT -> orderItemRepository.findAllWithEagerRelationships(pageable).map(orderItemMapper::toDto);
+            case SLICE -> orderItemRepository.findSliceWithEagerRelationships(pageable).map(orderItemMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(orderItemRepository.findSliceWithEagerRelationships(pageable), OrderItem.class, orderItemRepository::count)
+                .map(orderItemMapper::toDto);
+        };
+    }
+
     /**
      * Get one orderItem by id.
      *
@@ -116,6 +314,87 @@ public class OrderItemService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete OrderItem : {}", id);
+        Long orderId = orderItemRepository.findById(id).map(OrderItemService::orderId).orElse(null);
         orderItemRepository.deleteById(id);
+        salesRollupService.recordChange(orderId);
+    }
+
+    /**
+     * Delete several orderItems with a single statement.
+     * <p>
+     * Like {@link #delete(Long)}, ids which are not found are ignored, so that a client can retry a batch whose response it
+     * did not receive.
+     *
+     * @param ids the ids of the entities.
+     */
+    public void deleteAll(List<Long> ids) {
+        LOG.debug("Request to delete OrderItems : {}", ids);
+        if (!ids.isEmpty()) {
+            List<Long> orderIds = orderItemRepository.findOrderIdsByIdIn(ids);
+            orderItemRepository.deleteAllByIdInBatch(ids);
+            salesRollupService.recordChanges(orderIds);
+        }
+    }
+
+    private Map<Long, MenuItem> findMenuItems(List<OrderItemDTO> orderItemDTOs) {
+        Set<Long> ids = orderItemDTOs
+            .stream()
+            .filter(Objects::nonNull)
+            .map(OrderItemDTO::getMenuItem)
+            .filter(Objects::nonNull)
+            .map(MenuItemDTO::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return menuItemRepository.findAllById(ids).stream().collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+    }
+
+    private Map<Long, Order> findOrders(List<OrderItemDTO> orderItemDTOs) {
+        Set<Long> ids = orderItemDTOs
+            .stream()
+            .filter(Objects::nonNull)
+            .map(OrderItemDTO::getOrder)
+            .filter(Objects::nonNull)
+            .map(OrderDTO::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return orderRepository.findAllById(ids).stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+    }
+
+    private static MenuItem resolveMenuItem(OrderItemDTO orderItemDTO, Map<Long, MenuItem> menuItems, int index, List<String> errors) {
+        if (orderItemDTO.getMenuItem() == null) {
+            return null;
+        }
+        Long id = orderItemDTO.getMenuItem().getId();
+        MenuItem menuItem = id != null ? menuItems.get(id) : null;
+        if (menuItem == null) {
+            errors.add(itemError(index, "menuItem", id != null ? "menu item " + id + " not found" : "id must not be null"));
+        }
+        return menuItem;
+    }
+
+    private static Order resolveOrder(OrderItemDTO orderItemDTO, Map<Long, Order> orders, int index, List<String> errors) {
+        if (orderItemDTO.getOrder() == null) {
+            return null;
+        }
+        Long id = orderItemDTO.getOrder().getId();
+        Order order = id != null ? orders.get(id) : null;
+        if (order == null) {
+            errors.add(itemError(index, "order", id != null ? "order " + id + " not found" : "id must not be null"));
+        }
+        return order;
+    }
+
+    private static Long orderId(OrderItem orderItem) {
+        return orderItem.getOrder() != null ? orderItem.getOrder().getId() : null;
+    }
+
+    private static String itemError(int index, Object property, String message) {
+        return "[" + index + "] " + property + ": " + message;
     }
 }
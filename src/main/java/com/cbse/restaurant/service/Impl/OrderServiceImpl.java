@@ -1,15 +1,29 @@
 package com.cbse.restaurant.service.Impl;
 
+import com.cbse.restaurant.domain.Customer_;
 import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.Order_;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
 import com.cbse.restaurant.repository.OrderRepository;
 import com.cbse.restaurant.service.OrderService;
+import com.cbse.restaurant.service.PaginationMode;
+import com.cbse.restaurant.service.dto.OrderCriteria;
 import com.cbse.restaurant.service.dto.OrderDTO;
 import com.cbse.restaurant.service.mapper.OrderMapper;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +40,28 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
 
-    public OrderServiceImpl(OrderRepository orderRepository, OrderMapper orderMapper) {
+    private final KitchenFeedService kitchenFeedService;
+
+    private final CountEstimationService countEstimationService;
+
+    private final LoyaltyAccrualService loyaltyAccrualService;
+
+    private final SalesRollupService salesRollupService;
+
+    public OrderServiceImpl(
+        OrderRepository orderRepository,
+        OrderMapper orderMapper,
+        KitchenFeedService kitchenFeedService,
+        CountEstimationService countEstimationService,
+        LoyaltyAccrualService loyaltyAccrualService,
+        SalesRollupService salesRollupService
+    ) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.kitchenFeedService = kitchenFeedService;
+        this.countEstimationService = countEstimationService;
+        this.loyaltyAccrualService = loyaltyAccrualService;
+        this.salesRollupService = salesRollupService;
     }
 
     /**
@@ -42,6 +75,9 @@ public class OrderServiceImpl implements OrderService {
         LOG.debug("Request to save Order : {}", orderDTO);
         Order order = orderMapper.toEntity(orderDTO);
         order = orderRepository.save(order);
+        kitchenFeedService.publishAfterCommit(order, null);
+        loyaltyAccrualService.creditIfCompleted(order, null);
+        salesRollupService.recordChange(order.getId());
         return orderMapper.toDto(order);
     }
 
@@ -54,8 +90,12 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public OrderDTO update(OrderDTO orderDTO) {
         LOG.debug("Request to update Order : {}", orderDTO);
+        OrderStatus previousStatus = orderRepository.findById(orderDTO.getId()).map(Order::getStatus).orElse(null);
         Order order = orderMapper.toEntity(orderDTO);
         order = orderRepository.save(order);
+        kitchenFeedService.publishAfterCommit(order, previousStatus);
+        loyaltyAccrualService.creditIfCompleted(order, previousStatus);
+        salesRollupService.recordChange(order.getId());
         return orderMapper.toDto(order);
     }
 
@@ -72,7 +112,11 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository
             .findById(orderDTO.getId())
             .map(existingOrder -> {
+                OrderStatus previousStatus = existingOrder.getStatus();
                 orderMapper.partialUpdate(existingOrder, orderDTO);
+                kitchenFeedService.publishAfterCommit(existingOrder, previousStatus);
+                loyaltyAccrualService.creditIfCompleted(existingOrder, previousStatus);
+                salesRollupService.recordChange(existingOrder.getId());
 
                 return existingOrder;
             })
@@ -93,6 +137,122 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findAll(pageable).map(orderMapper::toDto);
     }
 
+    /**
+     * Get all the orders in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the orders are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all Orders in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> orderRepository.findAll(pageable).map(orderMapper::toDto);
+            case SLICE -> orderRepository.findSliceBy(pageable).map(orderMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(orderRepository.findSliceBy(pageable), Order.class, orderRepository::count)
+                .map(orderMapper::toDto);
+        };
+    }
+
+    /**
+     * Get the orders matching the criteria, one page at a time, by seeking past the last order of the previous page.
+     * <p>
+     * Orders are sorted by {@code (orderDate, id)}, so a page starts right after the given keyset and reads its rows
+     * straight from the order indexes, whatever its depth. A {@code status in (...)} predicate cannot walk the
+     * {@code (status, order_date, id)} index in order, so several statuses are sought one at a time, each query reading
+     * at most one page from the index, and the results are merged.
+     *
+     * @param criteria the search criteria.
+     * @param afterOrderDate the order date of the last order of the previous page, {@code null} for the first page.
+     * @param afterId the id of the last order of the previous page, {@code null} for the first page.
+     * @param direction the sort direction.
+     * @param size the page size.
+     * @return the page of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> findByCriteria(
+        OrderCriteria criteria,
+        Instant afterOrderDate,
+        Long afterId,
+        Sort.Direction direction,
+        int size
+    ) {
+        LOG.debug("Request to get Orders by criteria : {} after ({}, {})", criteria, afterOrderDate, afterId);
+        Specification<Order> specification = matching(criteria);
+        if (afterOrderDate != null && afterId != null) {
+            specification = specification.and(after(afterOrderDate, afterId, direction));
+        }
+        Sort sort = Sort.by(direction, Order_.ORDER_DATE, Order_.ID);
+        Set<OrderStatus> statuses = criteria.getStatus() != null ? criteria.getStatus() : Set.of();
+        List<Order> orders;
+        if (statuses.size() > 1) {
+            Comparator<Order> keyset = Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId);
+            Specification<Order> others = specification;
+            orders = statuses
+                .stream()
+                .flatMap(status -> findFirst(others.and(hasStatus(status)), sort, size + 1).stream())
+                .sorted(direction.isAscending() ? keyset : keyset.reversed())
+                .limit(size + 1)
+                .toList();
+        } else {
+            if (statuses.size() == 1) {
+                specification = specification.and(hasStatus(statuses.iterator().next()));
+            }
+            orders = findFirst(specification, sort, size + 1);
+        }
+        boolean hasNext = orders.size() > size;
+        List<OrderDTO> content = orderMapper.toDto(hasNext ? orders.subList(0, size) : orders);
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private List<Order> findFirst(Specification<Order> specification, Sort sort, int limit) {
+        return orderRepository.findBy(specification, query -> query.sortBy(sort).limit(limit).all());
+    }
+
+    /**
+     * Match the criteria other than the status, which {@link #hasStatus(OrderStatus)} matches one value at a time.
+     */
+    private static Specification<Order> matching(OrderCriteria criteria) {
+        return (root, query, cb) -> {
+            var predicate = cb.conjunction();
+            if (criteria.getOrderDateFrom() != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get(Order_.orderDate), criteria.getOrderDateFrom()));
+            }
+            if (criteria.getOrderDateTo() != null) {
+                predicate = cb.and(predicate, cb.lessThan(root.get(Order_.orderDate), criteria.getOrderDateTo()));
+            }
+            if (criteria.getCustomerId() != null) {
+                predicate = cb.and(predicate, cb.equal(root.get(Order_.customer).get(Customer_.id), criteria.getCustomerId()));
+            }
+            if (criteria.getPaymentMethod() != null) {
+                predicate = cb.and(predicate, cb.equal(root.get(Order_.paymentMethod), criteria.getPaymentMethod()));
+            }
+            return predicate;
+        };
+    }
+
+    private static Specification<Order> hasStatus(OrderStatus status) {
+        return (root, query, cb) -> cb.equal(root.get(Order_.status), status);
+    }
+
+    private static Specification<Order> after(Instant orderDate, Long id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            var orderDatePath = root.get(Order_.orderDate);
+            var idPath = root.get(Order_.id);
+            if (direction.isAscending()) {
+                return cb.or(
+                    cb.greaterThan(orderDatePath, orderDate),
+                    cb.and(cb.equal(orderDatePath, orderDate), cb.greaterThan(idPath, id))
+                );
+            }
+            return cb.or(cb.lessThan(orderDatePath, orderDate), cb.and(cb.equal(orderDatePath, orderDate), cb.lessThan(idPath, id)));
+        };
+    }
+
     /**
      * Get one order by id.
      *
@@ -115,5 +275,6 @@ public class OrderServiceImpl implements OrderService {
     public void delete(Long id) {
         LOG.debug("Request to delete Order : {}", id);
         orderRepository.deleteById(id);
+        salesRollupService.recordChange(id);
     }
 }
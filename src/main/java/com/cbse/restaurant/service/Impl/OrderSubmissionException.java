@@ -0,0 +1,21 @@
+package com.cbse.restaurant.service.Impl;
+
+/**
+ * Thrown when a submitted order cannot be priced, for example because it references an unknown customer, or a line references an
+ * unknown or unavailable menu item.
+ */
+public class OrderSubmissionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public OrderSubmissionException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
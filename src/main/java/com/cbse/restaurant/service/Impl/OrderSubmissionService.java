@@ -0,0 +1,148 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.repository.CustomerRepository;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.repository.MenuItemRepository.MenuItemPrice;
+import com.cbse.restaurant.repository.OrderItemRepository;
+import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.dto.OrderSubmissionDTO;
+import com.cbse.restaurant.service.dto.SubmittedOrderDTO;
+import com.cbse.restaurant.service.mapper.OrderItemMapper;
+import com.cbse.restaurant.service.mapper.OrderMapper;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service pricing and persisting a whole {@link Order} with its {@link OrderItem}s in one pass.
+ * <p>
+ * All referenced menu item prices are resolved with a single query, subtotals and the total are computed
+ * server-side, and the order items are written with one {@code saveAll} so Hibernate can batch the inserts.
+ */
+@Service
+@Transactional
+public class OrderSubmissionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderSubmissionService.class);
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final OrderRepository orderRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final OrderMapper orderMapper;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final KitchenFeedService kitchenFeedService;
+
+    private final BestSellerTracker bestSellerTracker;
+
+    public OrderSubmissionService(
+        OrderRepository orderRepository,
+        OrderItemRepository orderItemRepository,
+        MenuItemRepository menuItemRepository,
+        CustomerRepository customerRepository,
+        OrderMapper orderMapper,
+        OrderItemMapper orderItemMapper,
+        KitchenFeedService kitchenFeedService,
+        BestSellerTracker bestSellerTracker
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.customerRepository = customerRepository;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.kitchenFeedService = kitchenFeedService;
+        this.bestSellerTracker = bestSellerTracker;
+    }
+
+    /**
+     * Price and save an order with all its lines.
+     *
+     * @param submission the order and its lines.
+     * @return the persisted order and its priced lines.
+     * @throws OrderSubmissionException if the customer is unknown, or a line references an unknown or unavailable menu item.
+     */
+    public SubmittedOrderDTO submit(OrderSubmissionDTO submission) {
+        LOG.debug("Request to submit Order : {}", submission);
+        Set<Long> menuItemIds = submission.getItems().stream().map(OrderSubmissionDTO.Line::getMenuItemId).collect(Collectors.toSet());
+        Map<Long, MenuItemPrice> prices = menuItemRepository
+            .findPricesByIdIn(menuItemIds)
+            .stream()
+            .collect(Collectors.toMap(MenuItemPrice::getId, Function.identity()));
+        Long customerId = submission.getCustomer() != null ? submission.getCustomer().getId() : null;
+        if (customerId != null && !customerRepository.existsById(customerId)) {
+            throw new OrderSubmissionException("Customer " + customerId + " not found", "customernotfound");
+        }
+
+        Order order = new Order()
+            .orderDate(submission.getOrderDate() != null ? submission.getOrderDate() : Instant.now())
+            .status(OrderStatus.NEW)
+            .paymentMethod(submission.getPaymentMethod())
+            .paymentReference(submission.getPaymentReference())
+            .specialInstructions(submission.getSpecialInstructions())
+            .deliveryAddress(submission.getDeliveryAddress());
+        if (customerId != null) {
+            order.setCustomer(new Customer().id(customerId));
+        }
+
+        BigDecimal totalAmount = BigDecimal.ZERO.setScale(AMOUNT_SCALE);
+        List<OrderItem> orderItems = new ArrayList<>(submission.getItems().size());
+        for (OrderSubmissionDTO.Line line : submission.getItems()) {
+            MenuItemPrice price = prices.get(line.getMenuItemId());
+            if (price == null) {
+                throw new OrderSubmissionException("Menu item " + line.getMenuItemId() + " not found", "menuitemnotfound");
+            }
+            if (!Boolean.TRUE.equals(price.getIsAvailable())) {
+                throw new OrderSubmissionException("Menu item " + line.getMenuItemId() + " is not available", "menuitemunavailable");
+            }
+            BigDecimal subtotal = subtotal(price.getPrice(), line.getQuantity());
+            totalAmount = totalAmount.add(subtotal);
+            // Detached reference carrying only the projected columns, so mapping the result does not reload the menu item
+            MenuItem menuItem = new MenuItem().id(price.getId()).name(price.getName()).price(price.getPrice());
+            orderItems.add(new OrderItem().quantity(line.getQuantity()).notes(line.getNotes()).subtotal(subtotal).menuItem(menuItem));
+        }
+        order.setTotalAmount(totalAmount);
+
+        order = orderRepository.save(order);
+        orderItems.forEach(order::addOrderItems);
+        orderItems = orderItemRepository.saveAll(orderItems);
+        kitchenFeedService.publishAfterCommit(order, null);
+        bestSellerTracker.recordAfterCommit(orderItems);
+
+        return new SubmittedOrderDTO(orderMapper.toDto(order), orderItemMapper.toDto(orderItems));
+    }
+
+    /**
+     * Compute the subtotal of an order line.
+     *
+     * @param unitPrice the menu item price.
+     * @param quantity the ordered quantity.
+     * @return the subtotal, rounded to the currency scale.
+     */
+    static BigDecimal subtotal(BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cbse.restaurant.service.Impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service evicting the query cache regions of the read-mostly queries when the entities they read change.
+ * <p>
+ * Hibernate already ignores the cached results of a query once a table it reads is written, through the update
+ * timestamps of the tables. Those results stay in the region until they expire though, and writes made outside of
+ * Hibernate are not seen; evicting the region of the changed entity after the commit drops them at once. Each region
+ * holds the queries of a single table, so writes to other tables, like the orders, leave it untouched.
+ */
+@Service
+public class QueryCacheService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryCacheService.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCacheService(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Evict a query cache region once the current transaction commits, or immediately when no transaction is active.
+     *
+     * @param region the name of the region.
+     */
+    public void evictAfterCommit(String region) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evict(region);
+                    }
+                }
+            );
+        } else {
+            evict(region);
+        }
+    }
+
+    /**
+     * Evict a query cache region.
+     *
+     * @param region the name of the region.
+     */
+    public void evict(String region) {
+        LOG.debug("Evicting query cache region {}", region);
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(region);
+        evictionsCounter(region).increment();
+    }
+
+    private Counter evictionsCounter(String region) {
+        return Counter.builder("app.query.cache.invalidations")
+            .description("Query cache regions evicted after a change of the entities they read")
+            .tag("region", region)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.cbse.restaurant.service.Impl;
+
+/**
+ * Thrown when a reservation does not fit in the seats left for its time slot.
+ */
+public class ReservationCapacityException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReservationCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,295 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Reservation;
+import com.cbse.restaurant.domain.enumeration.ReservationStatus;
+import com.cbse.restaurant.repository.PrimaryReads;
+import com.cbse.restaurant.repository.ReservationRepository;
+import com.cbse.restaurant.repository.ReservationRepository.ReservationSeats;
+import com.cbse.restaurant.service.dto.SlotAvailabilityDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service tracking seat occupancy of {@link Reservation}s, to answer availability queries and reject overbooking
+ * without scanning the reservation table.
+ * <p>
+ * Time is cut into fixed slots, and each day of slots keeps the number of seats taken by {@code PENDING} and
+ * {@code CONFIRMED} reservations, a party holding its seats for a whole sitting. Bookings are checked and applied
+ * under a single lock, so concurrent bookings cannot both take the last seats; they are undone if their transaction
+ * rolls back. The index is rebuilt from the reservation table at startup and is local to this instance: every write
+ * must go through the same node for the overbooking check to hold.
+ */
+@Service
+public class ReservationCapacityService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReservationCapacityService.class);
+
+    static final Set<ReservationStatus> HOLDING_STATUSES = EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+
+    private final int seats;
+
+    private final long slotSeconds;
+
+    private final int slotsPerDay;
+
+    private final int slotsPerSitting;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Seats taken in each slot, by day number since the epoch. Guarded by {@link #lock}.
+     */
+    private final Map<Long, int[]> days = new HashMap<>();
+
+    /**
+     * Bookings counted in {@link #days}, by reservation id. Guarded by {@link #lock}.
+     */
+    private final Map<Long, Booking> bookings = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    public ReservationCapacityService(ReservationRepository reservationRepository, ApplicationProperties applicationProperties) {
+        this.reservationRepository = reservationRepository;
+        ApplicationProperties.ReservationCapacity properties = applicationProperties.getReservationCapacity();
+        if (properties.getSlotMinutes() <= 0 || Duration.ofDays(1).toMinutes() % properties.getSlotMinutes() != 0) {
+            throw new IllegalArgumentException("application.reservation-capacity.slot-minutes must divide a day");
+        }
+        this.seats = properties.getSeats();
+        this.slotSeconds = Duration.ofMinutes(properties.getSlotMinutes()).toSeconds();
+        this.slotsPerDay = (int) (Duration.ofDays(1).toSeconds() / slotSeconds);
+        this.slotsPerSitting = Math.max(
+            1,
+            (properties.getSittingMinutes() + properties.getSlotMinutes() - 1) / properties.getSlotMinutes()
+        );
+    }
+
+    /**
+     * Count the seats of a reservation that was just saved, replacing what was counted for it before.
+     * <p>
+     * The seats left are only checked when the reservation is new, moves to another slot or grows, so an existing
+     * booking in a slot already over capacity can still be edited. The change is undone if the current transaction
+     * rolls back.
+     *
+     * @param reservation the saved reservation.
+     * @throws ReservationCapacityException if the reservation needs seats which are not left.
+     */
+    public void hold(Reservation reservation) {
+        ensureLoaded();
+        Long id = reservation.getId();
+        Booking booking = HOLDING_STATUSES.contains(reservation.getStatus())
+            ? new Booking(slotOf(reservation.getReservationDate()), reservation.getPartySize())
+            : null;
+        Booking previous;
+        lock.writeLock().lock();
+        try {
+            previous = bookings.remove(id);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            if (booking != null) {
+                boolean needsSeats = previous == null || previous.firstSlot != booking.firstSlot || booking.partySize > previous.partySize;
+                if (needsSeats && booking.partySize > seats - maxTaken(booking.firstSlot)) {
+                    if (previous != null) {
+                        apply(previous, 1);
+                        bookings.put(id, previous);
+                    }
+                    throw new ReservationCapacityException(
+                        "No table for " + booking.partySize + " at " + reservation.getReservationDate()
+                    );
+                }
+                apply(booking, 1);
+                bookings.put(id, booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            replace(id, previous);
+                        }
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Free the seats of a deleted reservation once the current transaction commits, or immediately when no
+     * transaction is active.
+     *
+     * @param id the id of the deleted reservation.
+     */
+    public void releaseAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        replace(id, null);
+                    }
+                }
+            );
+        } else {
+            replace(id, null);
+        }
+    }
+
+    /**
+     * Get the time slots in a period where a party can start a reservation.
+     *
+     * @param from the start of the period.
+     * @param to the end of the period, exclusive.
+     * @param partySize the number of guests.
+     * @return the slots with at least {@code partySize} seats available for a whole sitting.
+     */
+    public List<SlotAvailabilityDTO> getAvailability(Instant from, Instant to, int partySize) {
+        ensureLoaded();
+        long firstSlot = slotOf(from);
+        long lastSlot = Math.floorDiv(to.getEpochSecond() - 1, slotSeconds);
+        List<SlotAvailabilityDTO> availability = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                int availableSeats = seats - maxTaken(slot);
+                if (availableSeats >= partySize) {
+                    availability.add(new SlotAvailabilityDTO(Instant.ofEpochSecond(slot * slotSeconds), availableSeats));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return availability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    /**
+     * Rebuild the index from the reservations in the primary database.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Instant from = Instant.now().minusSeconds(slotsPerSitting * slotSeconds);
+            List<ReservationSeats> reservations = PrimaryReads.call(() ->
+                reservationRepository.findSeatsByStatusInAndReservationDateFrom(HOLDING_STATUSES, from)
+            );
+            days.clear();
+            bookings.clear();
+            for (ReservationSeats reservation : reservations) {
+                Booking booking = new Booking(slotOf(reservation.getReservationDate()), reservation.getPartySize());
+                apply(booking, 1);
+                bookings.put(reservation.getId(), booking);
+            }
+            loaded = true;
+            LOG.info("Rebuilt reservation capacity index from {} reservations", reservations.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the days that are over, once a day.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void removePastDays() {
+        long today = Math.floorDiv(slotOf(Instant.now()), slotsPerDay);
+        lock.writeLock().lock();
+        try {
+            days.keySet().removeIf(day -> day < today - 1);
+            bookings.values().removeIf(booking -> Math.floorDiv(booking.firstSlot + slotsPerSitting, slotsPerDay) < today - 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    rebuild();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void replace(Long id, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Booking current = booking != null ? bookings.put(id, booking) : bookings.remove(id);
+            if (current != null) {
+                apply(current, -1);
+            }
+            if (booking != null) {
+                apply(booking, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long slotOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), slotSeconds);
+    }
+
+    private void apply(Booking booking, int sign) {
+        for (long slot = booking.firstSlot; slot < booking.firstSlot + slotsPerSitting; slot++) {
+            days.computeIfAbsent(Math.floorDiv(slot, slotsPerDay), day -> new int[slotsPerDay])[(int) Math.floorMod(slot, slotsPerDay)] +=
+                sign * booking.partySize;
+        }
+    }
+
+    /**
+     * @return the largest number of seats taken during a sitting starting at the given slot.
+     */
+    private int maxTaken(long firstSlot) {
+        int max = 0;
+        for (long slot = firstSlot; slot < firstSlot + slotsPerSitting; slot++) {
+            int[] day = days.get(Math.floorDiv(slot, slotsPerDay));
+            if (day != null) {
+                max = Math.max(max, day[(int) Math.floorMod(slot, slotsPerDay)]);
+            }
+        }
+        return max;
+    }
+
+    private static final class Booking {
+
+        private final long firstSlot;
+
+        private final int partySize;
+
+        private Booking(long firstSlot, int partySize) {
+            this.firstSlot = firstSlot;
+            this.partySize = partySize;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.cbse.restaurant.service.Impl;
 
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.ReservationDTO;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface ReservationService {
@@ -16,6 +18,9 @@ public interface ReservationService {
     @Transactional(readOnly = true)
     Page<ReservationDTO> findAll(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<ReservationDTO> findAll(Pageable pageable, PaginationMode paginationMode);
+
     @Transactional(readOnly = true)
     Optional<ReservationDTO> findOne(Long id);
 
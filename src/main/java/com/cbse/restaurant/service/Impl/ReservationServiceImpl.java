@@ -2,6 +2,7 @@ package com.cbse.restaurant.service.Impl;
 
 import com.cbse.restaurant.domain.Reservation;
 import com.cbse.restaurant.repository.ReservationRepository;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.ReservationDTO;
 import com.cbse.restaurant.service.mapper.ReservationMapper;
 import java.util.Optional;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +27,20 @@ public class ReservationServiceImpl implements ReservationService {
 
     private final ReservationMapper reservationMapper;
 
-    public ReservationServiceImpl(ReservationRepository reservationRepository, ReservationMapper reservationMapper) {
+    private final ReservationCapacityService reservationCapacityService;
+
+    private final CountEstimationService countEstimationService;
+
+    public ReservationServiceImpl(
+        ReservationRepository reservationRepository,
+        ReservationMapper reservationMapper,
+        ReservationCapacityService reservationCapacityService,
+        CountEstimationService countEstimationService
+    ) {
         this.reservationRepository = reservationRepository;
         this.reservationMapper = reservationMapper;
+        this.reservationCapacityService = reservationCapacityService;
+        this.countEstimationService = countEstimationService;
     }
 
     /**
@@ -35,12 +48,14 @@ public class ReservationServiceImpl implements ReservationService {
      *
      * @param reservationDTO the entity to save.
      * @return the persisted entity.
+     * @throws ReservationCapacityException if the reservation does not fit in the seats left.
      */
     @Override
     public ReservationDTO save(ReservationDTO reservationDTO) {
         LOG.debug("Request to save Reservation : {}", reservationDTO);
         Reservation reservation = reservationMapper.toEntity(reservationDTO);
         reservation = reservationRepository.save(reservation);
+        reservationCapacityService.hold(reservation);
         return reservationMapper.toDto(reservation);
     }
 
@@ -49,12 +64,14 @@ public class ReservationServiceImpl implements ReservationService {
      *
      * @param reservationDTO the entity to save.
      * @return the persisted entity.
+     * @throws ReservationCapacityException if the reservation does not fit in the seats left.
      */
     @Override
     public ReservationDTO update(ReservationDTO reservationDTO) {
         LOG.debug("Request to update Reservation : {}", reservationDTO);
         Reservation reservation = reservationMapper.toEntity(reservationDTO);
         reservation = reservationRepository.save(reservation);
+        reservationCapacityService.hold(reservation);
         return reservationMapper.toDto(reservation);
     }
 
@@ -63,6 +80,7 @@ public class ReservationServiceImpl implements ReservationService {
      *
      * @param reservationDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws ReservationCapacityException if the reservation does not fit in the seats left.
      */
     @Override
     public Optional<ReservationDTO> partialUpdate(ReservationDTO reservationDTO) {
@@ -76,6 +94,10 @@ public class ReservationServiceImpl implements ReservationService {
                 return existingReservation;
             })
             .map(reservationRepository::save)
+            .map(reservation -> {
+                reservationCapacityService.hold(reservation);
+                return reservation;
+            })
             .map(reservationMapper::toDto);
     }
 
@@ -92,6 +114,26 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findAll(pageable).map(reservationMapper::toDto);
     }
 
+    /**
+     * Get all the reservations in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the reservations are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ReservationDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all Reservations in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> reservationRepository.findAll(pageable).map(reservationMapper::toDto);
+            case SLICE -> reservationRepository.findSliceBy(pageable).map(reservationMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(reservationRepository.findSliceBy(pageable), Reservation.class, reservationRepository::count)
+                .map(reservationMapper::toDto);
+        };
+    }
+
     /**
      * Get one reservation by id.
      *
@@ -114,5 +156,6 @@ public class ReservationServiceImpl implements ReservationService {
     public void delete(Long id) {
         LOG.debug("Request to delete Reservation : {}", id);
         reservationRepository.deleteById(id);
+        reservationCapacityService.releaseAfterCommit(id);
     }
 }
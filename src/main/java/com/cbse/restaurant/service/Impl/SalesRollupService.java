@@ -0,0 +1,421 @@
+package com.cbse.restaurant.service.Impl;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.SalesGranularity;
+import com.cbse.restaurant.service.dto.CategorySalesDTO;
+import com.cbse.restaurant.service.dto.MenuItemSalesDTO;
+import com.cbse.restaurant.service.dto.PaymentMethodSalesDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the hourly and daily sales rollups: revenue by {@link MenuCategory}, quantity sold per menu
+ * item, and orders and revenue by {@link PaymentMethod}, which give the average ticket.
+ * <p>
+ * The sales of every {@link OrderStatus#COMPLETED} order, its total and its items, are recorded in the
+ * {@code sales_recorded} table. A change to an order or its items appends the difference between its recorded and its
+ * current sales to the {@code sales_journal} table, in the same transaction: the new sales of an order being completed,
+ * the negation of the recorded ones of an order no longer completed or deleted, or both when a completed order is
+ * changed. The journal is folded into the rollup tables by a periodic flush, which adds each batch to the existing
+ * rows and deletes it in the same transaction, so the rollups are never rescanned from the orders and every entry is
+ * counted once, whichever node folds it. The reports only read the rollup tables.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final RowMapper<SalesLine> SALES_LINE_MAPPER = (rs, rowNum) ->
+        new SalesLine(
+            rs.getTimestamp("order_date"),
+            rs.getString("payment_method"),
+            rs.getObject("menu_item_id", Long.class),
+            rs.getString("category"),
+            rs.getInt("quantity"),
+            rs.getBigDecimal("amount")
+        );
+
+    private static final RowMapper<JournalEntry> JOURNAL_ENTRY_MAPPER = (rs, rowNum) ->
+        new JournalEntry(
+            rs.getLong("id"),
+            rs.getTimestamp("order_date").toInstant(),
+            rs.getString("payment_method"),
+            rs.getObject("menu_item_id", Long.class),
+            rs.getString("category"),
+            rs.getInt("quantity"),
+            rs.getBigDecimal("amount")
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final OrderRepository orderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.SalesRollup properties;
+
+    private final ZoneId zoneId;
+
+    private final Object flushMonitor = new Object();
+
+    public SalesRollupService(
+        JdbcTemplate jdbcTemplate,
+        OrderRepository orderRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getSalesRollup();
+        this.zoneId = properties.getTimeZone();
+    }
+
+    /**
+     * Journal the changes to the sales of an order, in the transaction changing the order or its items.
+     *
+     * @param orderId the id of the order, or {@code null} for none.
+     * @see #recordChanges(Collection)
+     */
+    public void recordChange(Long orderId) {
+        recordChanges(Collections.singletonList(orderId));
+    }
+
+    /**
+     * Journal the changes to the sales of orders, in the transaction changing the orders or their items.
+     * <p>
+     * The pending changes of the persistence context are flushed first. Each order is then locked and its current
+     * sales, which are none unless it is {@link OrderStatus#COMPLETED}, are compared with the sales recorded for it;
+     * when they differ, the recorded sales are journaled with negative amounts, the current ones with positive amounts,
+     * and they replace the recorded ones. The lock makes concurrent changes to the same order wait for each other, so
+     * each one sees what the previous one recorded.
+     *
+     * @param orderIds the ids of the orders, which may have been deleted; {@code null} ids are ignored.
+     */
+    public void recordChanges(Collection<Long> orderIds) {
+        // sorted, so that concurrent transactions lock the orders in the same order
+        Set<Long> ids = orderIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        if (ids.isEmpty()) {
+            return;
+        }
+        orderRepository.flush();
+        ids.forEach(this::reconcile);
+    }
+
+    private void reconcile(Long orderId) {
+        List<SalesLine> current = currentSales(orderId);
+        List<SalesLine> recorded = jdbcTemplate.query(
+            "select order_date, payment_method, menu_item_id, category, quantity, amount from sales_recorded" +
+            " where order_id = ? order by id for update",
+            SALES_LINE_MAPPER,
+            orderId
+        );
+        if (new HashSet<>(current).equals(new HashSet<>(recorded))) {
+            return;
+        }
+        List<Object[]> entries = new ArrayList<>(recorded.size() + current.size());
+        recorded.forEach(line -> entries.add(line.toRow(orderId, -1)));
+        current.forEach(line -> entries.add(line.toRow(orderId, 1)));
+        jdbcTemplate.batchUpdate(
+            "insert into sales_journal (order_id, order_date, payment_method, menu_item_id, category, quantity, amount)" +
+            " values (?, ?, ?, ?, ?, ?, ?)",
+            entries
+        );
+        jdbcTemplate.update("delete from sales_recorded where order_id = ?", orderId);
+        if (!current.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "insert into sales_recorded (order_id, order_date, payment_method, menu_item_id, category, quantity, amount)" +
+                " values (?, ?, ?, ?, ?, ?, ?)",
+                current.stream().map(line -> line.toRow(orderId, 1)).toList()
+            );
+        }
+        LOG.debug("Journaled the sales of Order {}: {} lines reversed, {} lines added", orderId, recorded.size(), current.size());
+    }
+
+    private List<SalesLine> currentSales(Long orderId) {
+        List<SalesLine> completed = new ArrayList<>(1);
+        jdbcTemplate.query(
+            "select status, order_date, payment_method, total_amount from jhi_order where id = ? for update",
+            rs -> {
+                if (OrderStatus.COMPLETED.name().equals(rs.getString("status"))) {
+                    completed.add(
+                        new SalesLine(
+                            rs.getTimestamp("order_date"),
+                            rs.getString("payment_method"),
+                            null,
+                            null,
+                            1,
+                            rs.getBigDecimal("total_amount")
+                        )
+                    );
+                }
+            },
+            orderId
+        );
+        if (completed.isEmpty()) {
+            return List.of();
+        }
+        SalesLine order = completed.get(0);
+        // summed per menu item, in the order of the ids
+        Map<Long, SalesLine> items = new TreeMap<>();
+        jdbcTemplate.query(
+            "select oi.menu_item_id, m.category, oi.quantity, oi.subtotal from order_item oi" +
+            " join menu_item m on m.id = oi.menu_item_id where oi.order_id = ? for share of oi",
+            rs -> {
+                SalesLine item = new SalesLine(
+                    order.orderDate,
+                    order.paymentMethod,
+                    rs.getLong("menu_item_id"),
+                    rs.getString("category"),
+                    rs.getInt("quantity"),
+                    rs.getBigDecimal("subtotal")
+                );
+                items.merge(item.menuItemId, item, SalesLine::add);
+            },
+            orderId
+        );
+        List<SalesLine> lines = new ArrayList<>(items.size() + 1);
+        lines.add(order);
+        lines.addAll(items.values());
+        return lines;
+    }
+
+    /**
+     * Fold the journal into the rollups, one batch per transaction, until it is empty.
+     */
+    @Scheduled(fixedDelayString = "${application.sales-rollup.flush-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        synchronized (flushMonitor) {
+            try {
+                int folded;
+                do {
+                    Integer batch = transactionTemplate.execute(status -> foldBatch());
+                    folded = batch != null ? batch : 0;
+                    if (folded > 0) {
+                        LOG.debug("Folded {} sales journal entries into the rollups", folded);
+                    }
+                } while (folded == properties.getBatchSize());
+            } catch (DataAccessException e) {
+                LOG.warn("Sales journal could not be folded into the rollups, it will be retried: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int foldBatch() {
+        List<JournalEntry> entries = jdbcTemplate.query(
+            "select id, order_date, payment_method, menu_item_id, category, quantity, amount from sales_journal" +
+            " order by id limit ? for update skip locked",
+            JOURNAL_ENTRY_MAPPER,
+            properties.getBatchSize()
+        );
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        // sorted, so that concurrent flushes lock the rollup rows in the same order
+        Map<RollupKey<String>, Totals> byCategory = new TreeMap<>();
+        Map<RollupKey<Long>, Totals> byMenuItem = new TreeMap<>();
+        Map<RollupKey<String>, Totals> byPaymentMethod = new TreeMap<>();
+        for (JournalEntry entry : entries) {
+            Totals totals = new Totals(entry.quantity, entry.amount);
+            for (SalesGranularity granularity : SalesGranularity.values()) {
+                Instant bucketStart = granularity.bucketStart(entry.orderDate, zoneId);
+                if (entry.menuItemId == null) {
+                    byPaymentMethod.merge(new RollupKey<>(granularity, bucketStart, entry.paymentMethod), totals, Totals::add);
+                } else {
+                    byMenuItem.merge(new RollupKey<>(granularity, bucketStart, entry.menuItemId), totals, Totals::add);
+                    byCategory.merge(new RollupKey<>(granularity, bucketStart, entry.category), totals, Totals::add);
+                }
+            }
+        }
+        upsert("sales_by_category", "category", "quantity", byCategory);
+        upsert("sales_by_menu_item", "menu_item_id", "quantity", byMenuItem);
+        upsert("sales_by_payment_method", "payment_method", "order_count", byPaymentMethod);
+        List<Object[]> ids = entries.stream().map(entry -> new Object[] { entry.id }).toList();
+        jdbcTemplate.batchUpdate("delete from sales_journal where id = ?", ids);
+        return entries.size();
+    }
+
+    private <D extends Comparable<D>> void upsert(
+        String table,
+        String dimensionColumn,
+        String countColumn,
+        Map<RollupKey<D>, Totals> rows
+    ) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        rows.forEach((key, totals) ->
+            args.add(new Object[] { key.granularity.name(), Timestamp.from(key.bucketStart), key.dimension, totals.count, totals.amount })
+        );
+        String sql =
+            "insert into %1$s (granularity, bucket_start, %2$s, %3$s, revenue) values (?, ?, ?, ?, ?) as delta" +
+            " on duplicate key update %3$s = %3$s + delta.%3$s, revenue = revenue + delta.revenue";
+        jdbcTemplate.batchUpdate(sql.formatted(table, dimensionColumn, countColumn), args);
+    }
+
+    /**
+     * Get the items sold and the revenue per menu category, for the periods starting in a time range.
+     *
+     * @param granularity the period.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the sales, by period then category.
+     */
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> getSalesByCategory(SalesGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(
+            "select bucket_start, category, quantity, revenue from sales_by_category" +
+            " where granularity = ? and bucket_start >= ? and bucket_start < ? and (quantity <> 0 or revenue <> 0)" +
+            " order by bucket_start, category",
+            (rs, rowNum) ->
+                new CategorySalesDTO(
+                    bucketStart(rs),
+                    MenuCategory.valueOf(rs.getString("category")),
+                    rs.getLong("quantity"),
+                    rs.getBigDecimal("revenue")
+                ),
+            granularity.name(),
+            Timestamp.from(from),
+            Timestamp.from(to)
+        );
+    }
+
+    /**
+     * Get the quantity sold and the revenue per menu item, for the periods starting in a time range.
+     *
+     * @param granularity the period.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the sales, by period then menu item.
+     */
+    @Transactional(readOnly = true)
+    public List<MenuItemSalesDTO> getSalesByMenuItem(SalesGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(
+            "select bucket_start, menu_item_id, quantity, revenue from sales_by_menu_item" +
+            " where granularity = ? and bucket_start >= ? and bucket_start < ? and (quantity <> 0 or revenue <> 0)" +
+            " order by bucket_start, menu_item_id",
+            (rs, rowNum) ->
+                new MenuItemSalesDTO(bucketStart(rs), rs.getLong("menu_item_id"), rs.getLong("quantity"), rs.getBigDecimal("revenue")),
+            granularity.name(),
+            Timestamp.from(from),
+            Timestamp.from(to)
+        );
+    }
+
+    /**
+     * Get the orders and the revenue per payment method, for the periods starting in a time range.
+     *
+     * @param granularity the period.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the sales, by period then payment method.
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentMethodSalesDTO> getSalesByPaymentMethod(SalesGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(
+            "select bucket_start, payment_method, order_count, revenue from sales_by_payment_method" +
+            " where granularity = ? and bucket_start >= ? and bucket_start < ? and (order_count <> 0 or revenue <> 0)" +
+            " order by bucket_start, payment_method",
+            (rs, rowNum) ->
+                new PaymentMethodSalesDTO(
+                    bucketStart(rs),
+                    PaymentMethod.valueOf(rs.getString("payment_method")),
+                    rs.getLong("order_count"),
+                    rs.getBigDecimal("revenue")
+                ),
+            granularity.name(),
+            Timestamp.from(from),
+            Timestamp.from(to)
+        );
+    }
+
+    private static Instant bucketStart(ResultSet rs) throws SQLException {
+        return rs.getTimestamp("bucket_start").toInstant();
+    }
+
+    /**
+     * Sales of an order, or of one of its menu items, as journaled.
+     */
+    private record SalesLine(Timestamp orderDate, String paymentMethod, Long menuItemId, String category, int quantity, BigDecimal amount) {
+        SalesLine {
+            // the scale of the amount columns, so that lines read back compare equal
+            amount = (amount != null ? amount : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        SalesLine add(SalesLine other) {
+            return new SalesLine(orderDate, paymentMethod, menuItemId, category, quantity + other.quantity, amount.add(other.amount));
+        }
+
+        Object[] toRow(Long orderId, int sign) {
+            return new Object[] {
+                orderId,
+                orderDate,
+                paymentMethod,
+                menuItemId,
+                category,
+                sign * quantity,
+                sign < 0 ? amount.negate() : amount,
+            };
+        }
+    }
+
+    private record JournalEntry(
+        long id,
+        Instant orderDate,
+        String paymentMethod,
+        Long menuItemId,
+        String category,
+        int quantity,
+        BigDecimal amount
+    ) {}
+
+    private record RollupKey<D extends Comparable<D>>(SalesGranularity granularity, Instant bucketStart, D dimension)
+        implements Comparable<RollupKey<D>> {
+        @Override
+        public int compareTo(RollupKey<D> other) {
+            return Comparator.<RollupKey<D>, SalesGranularity>comparing(RollupKey::granularity)
+                .thenComparing(RollupKey::bucketStart)
+                .thenComparing(RollupKey::dimension)
+                .compare(this, other);
+        }
+    }
+
+    private record Totals(long count, BigDecimal amount) {
+        Totals add(Totals other) {
+            return new Totals(count + other.count, amount.add(other.amount));
+        }
+    }
+}
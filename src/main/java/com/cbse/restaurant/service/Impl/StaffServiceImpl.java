@@ -1,15 +1,20 @@
 package com.cbse.restaurant.service.Impl;
 
 import com.cbse.restaurant.domain.Staff;
+import com.cbse.restaurant.domain.enumeration.StaffRole;
 import com.cbse.restaurant.repository.StaffRepository;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.StaffService;
 import com.cbse.restaurant.service.dto.StaffDTO;
 import com.cbse.restaurant.service.mapper.StaffMapper;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +31,20 @@ public class StaffServiceImpl implements StaffService {
 
     private final StaffMapper staffMapper;
 
-    public StaffServiceImpl(StaffRepository staffRepository, StaffMapper staffMapper) {
+    private final CountEstimationService countEstimationService;
+
+    private final QueryCacheService queryCacheService;
+
+    public StaffServiceImpl(
+        StaffRepository staffRepository,
+        StaffMapper staffMapper,
+        CountEstimationService countEstimationService,
+        QueryCacheService queryCacheService
+    ) {
         this.staffRepository = staffRepository;
         this.staffMapper = staffMapper;
+        this.countEstimationService = countEstimationService;
+        this.queryCacheService = queryCacheService;
     }
 
     /**
@@ -42,6 +58,7 @@ public class StaffServiceImpl implements StaffService {
         LOG.debug("Request to save Staff : {}", staffDTO);
         Staff staff = staffMapper.toEntity(staffDTO);
         staff = staffRepository.save(staff);
+        queryCacheService.evictAfterCommit(StaffRepository.QUERY_CACHE);
         return staffMapper.toDto(staff);
     }
 
@@ -56,6 +73,7 @@ public class StaffServiceImpl implements StaffService {
         LOG.debug("Request to update Staff : {}", staffDTO);
         Staff staff = staffMapper.toEntity(staffDTO);
         staff = staffRepository.save(staff);
+        queryCacheService.evictAfterCommit(StaffRepository.QUERY_CACHE);
         return staffMapper.toDto(staff);
     }
 
@@ -73,6 +91,7 @@ public class StaffServiceImpl implements StaffService {
             .findById(staffDTO.getId())
             .map(existingStaff -> {
                 staffMapper.partialUpdate(existingStaff, staffDTO);
+                queryCacheService.evictAfterCommit(StaffRepository.QUERY_CACHE);
 
                 return existingStaff;
             })
@@ -93,6 +112,43 @@ public class StaffServiceImpl implements StaffService {
         return staffRepository.findAll(pageable).map(staffMapper::toDto);
     }
 
+    /**
+     * Get all the staff in the given pagination mode.
+     *
+     * @param pageable the pagination information.
+     * @param paginationMode how the staff are counted.
+     * @return the list of entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StaffDTO> findAll(Pageable pageable, PaginationMode paginationMode) {
+        LOG.debug("Request to get all Staff in {} pagination mode", paginationMode);
+        return switch (paginationMode) {
+            case EXACT -> staffRepository.findAll(pageable).map(staffMapper::toDto);
+            case SLICE -> staffRepository.findSliceBy(pageable).map(staffMapper::toDto);
+            case ESTIMATED -> countEstimationService
+                .toPage(staffRepository.findSliceBy(pageable), Staff.class, staffRepository::count)
+                .map(staffMapper::toDto);
+        };
+    }
+
+    /**
+     * Get the active staff with a role.
+     *
+     * @param role the role.
+     * @return the list of entities, by name.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffDTO> findAllActiveByRole(StaffRole role) {
+        LOG.debug("Request to get all active Staff with role {}", role);
+        return staffRepository
+            .findAllByRoleAndIsActiveTrue(role, Sort.by("lastName", "firstName", "id"))
+            .stream()
+            .map(staffMapper::toDto)
+            .toList();
+    }
+
     /**
      * Get one staff by id.
      *
@@ -115,5 +171,6 @@ public class StaffServiceImpl implements StaffService {
     public void delete(Long id) {
         LOG.debug("Request to delete Staff : {}", id);
         staffRepository.deleteById(id);
+        queryCacheService.evictAfterCommit(StaffRepository.QUERY_CACHE);
     }
 }
@@ -4,7 +4,9 @@ import com.cbse.restaurant.config.Constants;
 import com.cbse.restaurant.domain.Authority;
 import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.AuthorityRepository;
+import com.cbse.restaurant.repository.PrimaryReads;
 import com.cbse.restaurant.repository.UserRepository;
+import com.cbse.restaurant.security.AuthenticationPrincipalCache;
 import com.cbse.restaurant.security.AuthoritiesConstants;
 import com.cbse.restaurant.security.SecurityUtils;
 import com.cbse.restaurant.service.dto.AdminUserDTO;
@@ -21,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -41,16 +44,20 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final AuthenticationPrincipalCache authenticationPrincipalCache;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        AuthenticationPrincipalCache authenticationPrincipalCache
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.authenticationPrincipalCache = authenticationPrincipalCache;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -280,14 +287,21 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Get a user with its authorities, from the {@link UserRepository#USERS_BY_LOGIN_CACHE} cache or else from the
+     * primary database, so that a read replica lagging behind does not fill the cache.
+     *
+     * @param login the login of the user.
+     * @return the user, if found.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+        return PrimaryReads.call(() -> userRepository.findOneWithAuthoritiesByLogin(login));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getUserWithAuthoritiesByLogin);
     }
 
     /**
@@ -320,5 +334,6 @@ public class UserService {
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
+        authenticationPrincipalCache.evict(user.getLogin(), user.getEmail());
     }
 }
@@ -1,9 +1,13 @@
 package com.cbse.restaurant.service;
 
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.service.dto.BestSellerDTO;
 import com.cbse.restaurant.service.dto.MenuItemDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface MenuItemService {
@@ -16,6 +20,15 @@ public interface MenuItemService {
     @Transactional(readOnly = true)
     Page<MenuItemDTO> findAll(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<MenuItemDTO> findAll(Pageable pageable, PaginationMode paginationMode);
+
+    @Transactional(readOnly = true)
+    List<MenuItemDTO> findAllByCategory(MenuCategory category, boolean available);
+
+    @Transactional(readOnly = true)
+    List<BestSellerDTO> findBestSellers(BestSellerWindow window, int size);
+
     @Transactional(readOnly = true)
     Optional<MenuItemDTO> findOne(Long id);
 
@@ -1,9 +1,13 @@
 package com.cbse.restaurant.service;
 
+import com.cbse.restaurant.service.dto.OrderCriteria;
 import com.cbse.restaurant.service.dto.OrderDTO;
+import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface OrderService {
@@ -16,6 +20,12 @@ public interface OrderService {
     @Transactional(readOnly = true)
     Page<OrderDTO> findAll(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<OrderDTO> findAll(Pageable pageable, PaginationMode paginationMode);
+
+    @Transactional(readOnly = true)
+    Slice<OrderDTO> findByCriteria(OrderCriteria criteria, Instant afterOrderDate, Long afterId, Sort.Direction direction, int size);
+
     @Transactional(readOnly = true)
     Optional<OrderDTO> findOne(Long id);
 
@@ -0,0 +1,19 @@
+package com.cbse.restaurant.service;
+
+/**
+ * How list endpoints count the rows they page through.
+ */
+public enum PaginationMode {
+    /**
+     * Pages carry the exact total, computed by a count query on every request.
+     */
+    EXACT,
+    /**
+     * Pages only tell whether a next page exists, without any count query.
+     */
+    SLICE,
+    /**
+     * Pages carry a total computed by a count query at most once per time-to-live, so it may be slightly off.
+     */
+    ESTIMATED,
+}
@@ -0,0 +1,31 @@
+package com.cbse.restaurant.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The periods the sales are rolled up by.
+ */
+public enum SalesGranularity {
+    /**
+     * Sales per hour.
+     */
+    HOUR,
+    /**
+     * Sales per day, in the time zone of the server.
+     */
+    DAY;
+
+    /**
+     * Get the start of the period containing an instant.
+     *
+     * @param instant the instant.
+     * @param zoneId the time zone the periods are aligned on.
+     * @return the start of the period.
+     */
+    public Instant bucketStart(Instant instant, ZoneId zoneId) {
+        ChronoUnit unit = this == HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        return instant.atZone(zoneId).truncatedTo(unit).toInstant();
+    }
+}
@@ -1,9 +1,12 @@
 package com.cbse.restaurant.service;
 
+import com.cbse.restaurant.domain.enumeration.StaffRole;
 import com.cbse.restaurant.service.dto.StaffDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface StaffService {
@@ -16,6 +19,12 @@ public interface StaffService {
     @Transactional(readOnly = true)
     Page<StaffDTO> findAll(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<StaffDTO> findAll(Pageable pageable, PaginationMode paginationMode);
+
+    @Transactional(readOnly = true)
+    List<StaffDTO> findAllActiveByRole(StaffRole role);
+
     @Transactional(readOnly = true)
     Optional<StaffDTO> findOne(Long id);
 
@@ -0,0 +1,49 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+
+/**
+ * A DTO giving a best-selling menu item and the quantity ordered over a sliding window.
+ */
+@Schema(description = "A best-selling menu item and the quantity ordered over a sliding window")
+public class BestSellerDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private MenuItemDTO menuItem;
+
+    private long quantity;
+
+    public BestSellerDTO() {}
+
+    public BestSellerDTO(MenuItemDTO menuItem, long quantity) {
+        this.menuItem = menuItem;
+        this.quantity = quantity;
+    }
+
+    public MenuItemDTO getMenuItem() {
+        return menuItem;
+    }
+
+    public void setMenuItem(MenuItemDTO menuItem) {
+        this.menuItem = menuItem;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BestSellerDTO{" +
+            "menuItem=" + getMenuItem() +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+}
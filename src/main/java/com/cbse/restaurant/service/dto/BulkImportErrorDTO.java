@@ -0,0 +1,49 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+
+/**
+ * A DTO reporting why a line of a bulk import file was rejected.
+ */
+@Schema(description = "A line rejected by a bulk import")
+public class BulkImportErrorDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long line;
+
+    private String message;
+
+    public BulkImportErrorDTO() {}
+
+    public BulkImportErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkImportErrorDTO{" +
+            "line=" + getLine() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,134 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for the progress of a bulk import job.
+ */
+@Schema(description = "Progress of a bulk import, which can be resumed with the same file after the last committed line")
+public class BulkImportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String table;
+
+    private String status;
+
+    @Schema(description = "Last line of the file whose chunk is committed, a resumed import skips the lines up to this one")
+    private long linesCommitted;
+
+    private long imported;
+
+    private long rejected;
+
+    private Instant createdDate;
+
+    private Instant lastModifiedDate;
+
+    @Schema(description = "Columns of the file which are not columns of the table, and were ignored")
+    private List<String> ignoredColumns = new ArrayList<>();
+
+    @Schema(description = "Rejected lines of this run, up to the configured maximum")
+    private List<BulkImportErrorDTO> errors = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getLinesCommitted() {
+        return linesCommitted;
+    }
+
+    public void setLinesCommitted(long linesCommitted) {
+        this.linesCommitted = linesCommitted;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    public List<String> getIgnoredColumns() {
+        return ignoredColumns;
+    }
+
+    public void setIgnoredColumns(List<String> ignoredColumns) {
+        this.ignoredColumns = ignoredColumns;
+    }
+
+    public List<BulkImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkImportJobDTO{" +
+            "id='" + getId() + "'" +
+            ", table='" + getTable() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", linesCommitted=" + getLinesCommitted() +
+            ", imported=" + getImported() +
+            ", rejected=" + getRejected() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
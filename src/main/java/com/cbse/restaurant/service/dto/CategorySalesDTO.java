@@ -0,0 +1,76 @@
+package com.cbse.restaurant.service.dto;
+
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A DTO giving the items sold and the revenue of a menu category over an hour or a day.
+ */
+@Schema(description = "Items sold and revenue of a menu category over an hour or a day")
+public class CategorySalesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant bucketStart;
+
+    private MenuCategory category;
+
+    private long quantity;
+
+    private BigDecimal revenue;
+
+    public CategorySalesDTO() {}
+
+    public CategorySalesDTO(Instant bucketStart, MenuCategory category, long quantity, BigDecimal revenue) {
+        this.bucketStart = bucketStart;
+        this.category = category;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public MenuCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(MenuCategory category) {
+        this.category = category;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CategorySalesDTO{" +
+            "bucketStart='" + getBucketStart() + "'" +
+            ", category='" + getCategory() + "'" +
+            ", quantity=" + getQuantity() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
@@ -2,6 +2,7 @@ package com.cbse.restaurant.service.dto;
 
 import com.cbse.restaurant.domain.enumeration.MenuCategory;
 import com.cbse.restaurant.domain.enumeration.SpicyLevel;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.*;
@@ -38,10 +39,17 @@ public class MenuItemDTO implements Serializable {
     private Boolean isAvailable;
 
     @Lob
+    @Schema(description = "Image content to upload, never returned: use imageUrl to fetch the stored image")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] image;
 
     private String imageContentType;
 
+    private String imageHash;
+
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private String imageUrl;
+
     public Long getId() {
         return id;
     }
@@ -122,6 +130,22 @@ public class MenuItemDTO implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -155,7 +179,8 @@ public class MenuItemDTO implements Serializable {
             ", spicyLevel='" + getSpicyLevel() + "'" +
             ", isVegetarian='" + getIsVegetarian() + "'" +
             ", isAvailable='" + getIsAvailable() + "'" +
-            ", image='" + getImage() + "'" +
+            ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             "}";
     }
 }
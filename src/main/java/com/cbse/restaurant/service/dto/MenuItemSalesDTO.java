@@ -0,0 +1,75 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A DTO giving the quantity sold and the revenue of a menu item over an hour or a day.
+ */
+@Schema(description = "Quantity sold and revenue of a menu item over an hour or a day")
+public class MenuItemSalesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant bucketStart;
+
+    private Long menuItemId;
+
+    private long quantity;
+
+    private BigDecimal revenue;
+
+    public MenuItemSalesDTO() {}
+
+    public MenuItemSalesDTO(Instant bucketStart, Long menuItemId, long quantity, BigDecimal revenue) {
+        this.bucketStart = bucketStart;
+        this.menuItemId = menuItemId;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MenuItemSalesDTO{" +
+            "bucketStart='" + getBucketStart() + "'" +
+            ", menuItemId=" + getMenuItemId() +
+            ", quantity=" + getQuantity() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
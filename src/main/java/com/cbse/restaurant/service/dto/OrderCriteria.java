@@ -0,0 +1,82 @@
+package com.cbse.restaurant.service.dto;
+
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Criteria for searching {@link com.cbse.restaurant.domain.Order}s. Criteria left empty are not applied.
+ */
+@Schema(description = "Order search criteria")
+public class OrderCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Statuses to match")
+    private Set<OrderStatus> status;
+
+    @Schema(description = "Lower bound of the order date, inclusive")
+    private Instant orderDateFrom;
+
+    @Schema(description = "Upper bound of the order date, exclusive")
+    private Instant orderDateTo;
+
+    private Long customerId;
+
+    private PaymentMethod paymentMethod;
+
+    public Set<OrderStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Set<OrderStatus> status) {
+        this.status = status;
+    }
+
+    public Instant getOrderDateFrom() {
+        return orderDateFrom;
+    }
+
+    public void setOrderDateFrom(Instant orderDateFrom) {
+        this.orderDateFrom = orderDateFrom;
+    }
+
+    public Instant getOrderDateTo() {
+        return orderDateTo;
+    }
+
+    public void setOrderDateTo(Instant orderDateTo) {
+        this.orderDateTo = orderDateTo;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderCriteria{" +
+            "status=" + getStatus() +
+            ", orderDateFrom='" + getOrderDateFrom() + "'" +
+            ", orderDateTo='" + getOrderDateTo() + "'" +
+            ", customerId=" + getCustomerId() +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,99 @@
+package com.cbse.restaurant.service.dto;
+
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO describing a status transition of a {@link com.cbse.restaurant.domain.Order}, pushed to the kitchen feed.
+ */
+@Schema(description = "Status transition of an order")
+public class OrderStatusEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long eventId;
+
+    private Long orderId;
+
+    private Instant orderDate;
+
+    private OrderStatus previousStatus;
+
+    private OrderStatus status;
+
+    private String specialInstructions;
+
+    private Instant occurredAt;
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderStatusEventDTO{" +
+            "eventId=" + getEventId() +
+            ", orderId=" + getOrderId() +
+            ", orderDate='" + getOrderDate() + "'" +
+            ", previousStatus='" + getPreviousStatus() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", specialInstructions='" + getSpecialInstructions() + "'" +
+            ", occurredAt='" + getOccurredAt() + "'" +
+            "}";
+    }
+}
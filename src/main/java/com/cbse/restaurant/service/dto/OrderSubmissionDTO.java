@@ -0,0 +1,160 @@
+package com.cbse.restaurant.service.dto;
+
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO submitting a whole {@link com.cbse.restaurant.domain.Order} together with its lines.
+ * <p>
+ * Prices are never taken from the client: subtotals and the order total are computed server-side
+ * from the current {@link com.cbse.restaurant.domain.MenuItem} prices.
+ */
+@Schema(description = "Order submission with its lines, priced server-side")
+public class OrderSubmissionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant orderDate;
+
+    @NotNull
+    private PaymentMethod paymentMethod;
+
+    private String paymentReference;
+
+    private String specialInstructions;
+
+    private String deliveryAddress;
+
+    private CustomerDTO customer;
+
+    @NotEmpty
+    @Valid
+    private List<Line> items = new ArrayList<>();
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public String getDeliveryAddress() {
+        return deliveryAddress;
+    }
+
+    public void setDeliveryAddress(String deliveryAddress) {
+        this.deliveryAddress = deliveryAddress;
+    }
+
+    public CustomerDTO getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerDTO customer) {
+        this.customer = customer;
+    }
+
+    public List<Line> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Line> items) {
+        this.items = items;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderSubmissionDTO{" +
+            "orderDate='" + getOrderDate() + "'" +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            ", paymentReference='" + getPaymentReference() + "'" +
+            ", specialInstructions='" + getSpecialInstructions() + "'" +
+            ", deliveryAddress='" + getDeliveryAddress() + "'" +
+            ", customer=" + getCustomer() +
+            ", items=" + getItems() +
+            "}";
+    }
+
+    /**
+     * A single line of the submitted order.
+     */
+    public static class Line implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @NotNull
+        private Long menuItemId;
+
+        @NotNull
+        @Min(value = 1)
+        private Integer quantity;
+
+        private String notes;
+
+        public Long getMenuItemId() {
+            return menuItemId;
+        }
+
+        public void setMenuItemId(Long menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public String getNotes() {
+            return notes;
+        }
+
+        public void setNotes(String notes) {
+            this.notes = notes;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Line{" +
+                "menuItemId=" + getMenuItemId() +
+                ", quantity=" + getQuantity() +
+                ", notes='" + getNotes() + "'" +
+                "}";
+        }
+    }
+}
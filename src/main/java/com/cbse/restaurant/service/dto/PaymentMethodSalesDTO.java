@@ -0,0 +1,89 @@
+package com.cbse.restaurant.service.dto;
+
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * A DTO giving the orders paid, the revenue and the average ticket of a payment method over an hour or a day.
+ */
+@Schema(description = "Orders, revenue and average ticket of a payment method over an hour or a day")
+public class PaymentMethodSalesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant bucketStart;
+
+    private PaymentMethod paymentMethod;
+
+    private long orderCount;
+
+    private BigDecimal revenue;
+
+    public PaymentMethodSalesDTO() {}
+
+    public PaymentMethodSalesDTO(Instant bucketStart, PaymentMethod paymentMethod, long orderCount, BigDecimal revenue) {
+        this.bucketStart = bucketStart;
+        this.paymentMethod = paymentMethod;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    /**
+     * Get the average amount of the orders, {@code null} when there are none.
+     *
+     * @return the average ticket.
+     */
+    public BigDecimal getAverageTicket() {
+        if (orderCount <= 0 || revenue == null) {
+            return null;
+        }
+        return revenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PaymentMethodSalesDTO{" +
+            "bucketStart='" + getBucketStart() + "'" +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            ", orderCount=" + getOrderCount() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
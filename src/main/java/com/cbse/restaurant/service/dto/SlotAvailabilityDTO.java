@@ -0,0 +1,50 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO giving the seats still available for a reservation starting at a given time slot.
+ */
+@Schema(description = "Seats available for a reservation starting at a time slot")
+public class SlotAvailabilityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant start;
+
+    private int availableSeats;
+
+    public SlotAvailabilityDTO() {}
+
+    public SlotAvailabilityDTO(Instant start, int availableSeats) {
+        this.start = start;
+        this.availableSeats = availableSeats;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(int availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SlotAvailabilityDTO{" +
+            "start='" + getStart() + "'" +
+            ", availableSeats=" + getAvailableSeats() +
+            "}";
+    }
+}
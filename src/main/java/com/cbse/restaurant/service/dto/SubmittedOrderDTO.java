@@ -0,0 +1,52 @@
+package com.cbse.restaurant.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO returning a persisted {@link com.cbse.restaurant.domain.Order} with its priced
+ * {@link com.cbse.restaurant.domain.OrderItem}s.
+ */
+@Schema(description = "Persisted order with its priced lines")
+public class SubmittedOrderDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private OrderDTO order;
+
+    private List<OrderItemDTO> orderItems = new ArrayList<>();
+
+    public SubmittedOrderDTO() {}
+
+    public SubmittedOrderDTO(OrderDTO order, List<OrderItemDTO> orderItems) {
+        this.order = order;
+        this.orderItems = orderItems;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderDTO order) {
+        this.order = order;
+    }
+
+    public List<OrderItemDTO> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItemDTO> orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SubmittedOrderDTO{" +
+            "order=" + getOrder() +
+            ", orderItems=" + getOrderItems() +
+            "}";
+    }
+}
@@ -8,4 +8,15 @@ import org.mapstruct.*;
  * Mapper for the entity {@link MenuItem} and its DTO {@link MenuItemDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface MenuItemMapper extends EntityMapper<MenuItemDTO, MenuItem> {}
+public interface MenuItemMapper extends EntityMapper<MenuItemDTO, MenuItem> {
+    String IMAGE_URL_PREFIX = "/api/menu-items/images/";
+
+    @Mapping(target = "image", ignore = true)
+    @Mapping(target = "imageUrl", source = "imageHash", qualifiedByName = "imageUrl")
+    MenuItemDTO toDto(MenuItem s);
+
+    @Named("imageUrl")
+    default String toImageUrl(String imageHash) {
+        return imageHash == null ? null : IMAGE_URL_PREFIX + imageHash;
+    }
+}
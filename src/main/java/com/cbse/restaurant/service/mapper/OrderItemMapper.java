@@ -17,6 +17,20 @@ public interface OrderItemMapper extends EntityMapper<OrderItemDTO, OrderItem> {
     @Mapping(target = "order", source = "order", qualifiedByName = "orderId")
     OrderItemDTO toDto(OrderItem s);
 
+    /**
+     * Partially update the columns of an orderItem, leaving its id and relationships alone, so that the caller can set
+     * them to already loaded entities instead of overwriting the fields of the referenced ones.
+     *
+     * @param entity the orderItem to update.
+     * @param dto the non-null fields to copy.
+     */
+    @Named("partialUpdateColumns")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "menuItem", ignore = true)
+    @Mapping(target = "order", ignore = true)
+    void partialUpdateColumns(@MappingTarget OrderItem entity, OrderItemDTO dto);
+
     @Named("menuItemName")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,100 @@
+package com.cbse.restaurant.web.filter;
+
+import com.cbse.restaurant.management.HibernateQueryCounter;
+import com.cbse.restaurant.management.HibernateQueryCounter.QueryCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of SQL statements and loaded entities of each HTTP request, per endpoint.
+ * <p>
+ * Requests preparing more statements than the query budget are counted and logged with their most repeated statement,
+ * which is usually the lazy association loaded once per row of an N+1 pattern.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    public static final String STATEMENTS_METER_NAME = "app.http.server.sql.statements";
+
+    public static final String ENTITIES_METER_NAME = "app.http.server.entities.loaded";
+
+    public static final String BUDGET_EXCEEDED_METER_NAME = "app.http.server.query.budget.exceeded";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final HibernateQueryCounter queryCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int queryBudget;
+
+    public QueryBudgetFilter(HibernateQueryCounter queryCounter, MeterRegistry meterRegistry, int queryBudget) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        QueryCount queryCount = queryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryCounter.stop();
+            record(request, queryCount);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount queryCount) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        if (pattern == null && queryCount.getStatements() == 0) {
+            // Static resources and unmapped paths, keep them out of the endpoint metrics.
+            return;
+        }
+
+        DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .description("SQL statements prepared per HTTP request")
+            .baseUnit("statements")
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry)
+            .record(queryCount.getStatements());
+        DistributionSummary.builder(ENTITIES_METER_NAME)
+            .description("Entities loaded by Hibernate per HTTP request")
+            .baseUnit("entities")
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry)
+            .record(queryCount.getEntitiesLoaded());
+
+        if (queryCount.getStatements() > queryBudget) {
+            Counter.builder(BUDGET_EXCEEDED_METER_NAME)
+                .description("HTTP requests preparing more SQL statements than the query budget")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .increment();
+            LOG.warn(
+                "{} {} prepared {} SQL statements (budget {}) and loaded {} entities, possible N+1 query: {} times \"{}\"",
+                method,
+                uri,
+                queryCount.getStatements(),
+                queryBudget,
+                queryCount.getEntitiesLoaded(),
+                queryCount.getMostRepeatedStatementCount(),
+                queryCount.getMostRepeatedStatement()
+            );
+        }
+    }
+}
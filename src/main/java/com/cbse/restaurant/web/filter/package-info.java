@@ -0,0 +1,4 @@
+/**
+ * Servlet filters.
+ */
+package com.cbse.restaurant.web.filter;
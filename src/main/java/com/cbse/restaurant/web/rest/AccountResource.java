@@ -3,6 +3,7 @@ package com.cbse.restaurant.web.rest;
 import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.UserRepository;
 import com.cbse.restaurant.security.SecurityUtils;
+import com.cbse.restaurant.security.TokenRevocationService;
 import com.cbse.restaurant.service.Impl.MailService;
 import com.cbse.restaurant.service.Impl.UserService;
 import com.cbse.restaurant.service.dto.AdminUserDTO;
@@ -16,6 +17,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -40,10 +43,18 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final TokenRevocationService tokenRevocationService;
+
+    public AccountResource(
+        UserRepository userRepository,
+        UserService userService,
+        MailService mailService,
+        TokenRevocationService tokenRevocationService
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -134,6 +145,19 @@ public class AccountResource {
         userService.changePassword(passwordChangeDto.getCurrentPassword(), passwordChangeDto.getNewPassword());
     }
 
+    /**
+     * {@code POST  /account/logout} : revoke the token of the current request, which is then rejected by all the
+     * instances.
+     *
+     * @param jwt the token of the current request, {@code null} if the request is not authenticated by a token.
+     */
+    @PostMapping(path = "/account/logout")
+    public void logout(@AuthenticationPrincipal Jwt jwt) {
+        if (jwt != null) {
+            tokenRevocationService.revokeToken(jwt);
+        }
+    }
+
     /**
      * {@code POST   /account/reset-password/init} : Send an email to reset the password of the user.
      *
@@ -0,0 +1,111 @@
+package com.cbse.restaurant.web.rest;
+
+import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.service.BulkFormat;
+import com.cbse.restaurant.service.BulkTable;
+import com.cbse.restaurant.service.Impl.BulkImportException;
+import com.cbse.restaurant.service.Impl.BulkTransferService;
+import com.cbse.restaurant.service.dto.BulkImportJobDTO;
+import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for exporting and importing whole tables, see {@link BulkTransferService}.
+ */
+@RestController
+@RequestMapping("/api/admin/bulk")
+@PreAuthorize("hasAnyAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class BulkTransferResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkTransferResource.class);
+
+    private static final String ENTITY_NAME = "bulkTransfer";
+
+    private final BulkTransferService bulkTransferService;
+
+    public BulkTransferResource(BulkTransferService bulkTransferService) {
+        this.bulkTransferService = bulkTransferService;
+    }
+
+    /**
+     * {@code GET  /admin/bulk/:table/export} : export all the rows of a table, streamed as they are read.
+     *
+     * @param table the table, as in the entity endpoint path, e.g. {@code menu-items}.
+     * @param format the file format.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body, or with status {@code 400 (Bad Request)} if the table is unknown.
+     */
+    @GetMapping("/{table}/export")
+    public ResponseEntity<StreamingResponseBody> exportTable(
+        @PathVariable("table") String table,
+        @RequestParam(name = "format", defaultValue = "CSV") BulkFormat format
+    ) {
+        LOG.debug("REST request to export {} as {}", table, format);
+        BulkTable bulkTable = findTable(table);
+        String filename = bulkTable.getPath() + (format == BulkFormat.CSV ? ".csv" : ".ndjson");
+        StreamingResponseBody body = outputStream -> bulkTransferService.export(bulkTable, format, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    /**
+     * {@code POST  /admin/bulk/:table/import} : import the lines of a file into a table.
+     * <p>
+     * Lines are committed in chunks; if the import fails midway, posting the same file again with the {@code jobId}
+     * resumes it after the last committed line.
+     *
+     * @param table the table, as in the entity endpoint path, e.g. {@code menu-items}.
+     * @param format the file format.
+     * @param jobId the id of an interrupted import to resume.
+     * @param file the file, as the request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import job with its rejected lines, or with status {@code 400 (Bad Request)} if the table or the job is not valid.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping("/{table}/import")
+    public ResponseEntity<BulkImportJobDTO> importTable(
+        @PathVariable("table") String table,
+        @RequestParam(name = "format", defaultValue = "CSV") BulkFormat format,
+        @RequestParam(name = "jobId", required = false) String jobId,
+        InputStream file
+    ) throws IOException {
+        LOG.debug("REST request to import {} as {}, resuming job {}", table, format, jobId);
+        BulkTable bulkTable = findTable(table);
+        try {
+            return ResponseEntity.ok(bulkTransferService.importFile(bulkTable, format, file, jobId));
+        } catch (BulkImportException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+    }
+
+    /**
+     * {@code GET  /admin/bulk/imports/:jobId} : get the progress of an import.
+     *
+     * @param jobId the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/imports/{jobId}")
+    public ResponseEntity<BulkImportJobDTO> getImportJob(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to get bulk import job : {}", jobId);
+        Optional<BulkImportJobDTO> job = bulkTransferService.findJob(jobId);
+        return ResponseUtil.wrapOrNotFound(job);
+    }
+
+    private static BulkTable findTable(String table) {
+        return BulkTable.fromPath(table).orElseThrow(() ->
+            new BadRequestAlertException("Unknown table " + table, ENTITY_NAME, "tablenotfound")
+        );
+    }
+}
@@ -2,8 +2,10 @@ package com.cbse.restaurant.web.rest;
 
 import com.cbse.restaurant.repository.CustomerRepository;
 import com.cbse.restaurant.service.CustomerService;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.CustomerDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,14 +16,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -140,21 +141,23 @@ public class CustomerResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
      */
     @GetMapping("")
     public ResponseEntity<List<CustomerDTO>> getAllCustomers(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
     ) {
         LOG.debug("REST request to get a page of Customers");
-        Page<CustomerDTO> page;
+        Slice<CustomerDTO> page;
         if (eagerload) {
-            page = customerService.findAllWithEagerRelationships(pageable);
+            page = customerService.findAllWithEagerRelationships(pageable, paginationMode);
         } else {
-            page = customerService.findAll(pageable);
+            page = customerService.findAll(pageable, paginationMode);
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -1,9 +1,16 @@
 package com.cbse.restaurant.web.rest;
 
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
 import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.service.BestSellerWindow;
+import com.cbse.restaurant.service.ImageStore;
 import com.cbse.restaurant.service.MenuItemService;
+import com.cbse.restaurant.service.Impl.MenuSnapshotService;
+import com.cbse.restaurant.service.PaginationMode;
+import com.cbse.restaurant.service.dto.BestSellerDTO;
 import com.cbse.restaurant.service.dto.MenuItemDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -11,17 +18,22 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -35,6 +47,8 @@ public class MenuItemResource {
 
     private static final String ENTITY_NAME = "menuItem";
 
+    private static final int MAX_BEST_SELLERS = 50;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +56,20 @@ public class MenuItemResource {
 
     private final MenuItemRepository menuItemRepository;
 
-    public MenuItemResource(MenuItemService menuItemService, MenuItemRepository menuItemRepository) {
+    private final ImageStore imageStore;
+
+    private final MenuSnapshotService menuSnapshotService;
+
+    public MenuItemResource(
+        MenuItemService menuItemService,
+        MenuItemRepository menuItemRepository,
+        ImageStore imageStore,
+        MenuSnapshotService menuSnapshotService
+    ) {
         this.menuItemService = menuItemService;
         this.menuItemRepository = menuItemRepository;
+        this.imageStore = imageStore;
+        this.menuSnapshotService = menuSnapshotService;
     }
 
     /**
@@ -139,16 +164,58 @@ public class MenuItemResource {
      * {@code GET  /menu-items} : get all the menuItems.
      *
      * @param pageable the pagination information.
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of menuItems in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<MenuItemDTO>> getAllMenuItems(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<MenuItemDTO>> getAllMenuItems(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
+    ) {
         LOG.debug("REST request to get a page of MenuItems");
-        Page<MenuItemDTO> page = menuItemService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<MenuItemDTO> page = menuItemService.findAll(pageable, paginationMode);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /menu-items/by-category/:category} : get the menuItems of a category.
+     *
+     * @param category the category.
+     * @param available whether to get the available menuItems, or the unavailable ones.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of menuItems in body.
+     */
+    @GetMapping("/by-category/{category}")
+    public ResponseEntity<List<MenuItemDTO>> getMenuItemsByCategory(
+        @PathVariable("category") MenuCategory category,
+        @RequestParam(name = "available", required = false, defaultValue = "true") boolean available
+    ) {
+        LOG.debug("REST request to get the MenuItems of category {} and availability {}", category, available);
+        return ResponseEntity.ok(menuItemService.findAllByCategory(category, available));
+    }
+
+    /**
+     * {@code GET  /menu-items/best-sellers} : get the available menuItems ordered the most over the last hour or day.
+     * <p>
+     * The quantities are counted in memory as orders are placed, so menu boards may poll this often.
+     *
+     * @param window the sliding window, {@code HOUR} or {@code DAY}.
+     * @param size the maximum number of menuItems.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best sellers in body,
+     * or with status {@code 400 (Bad Request)} if the size is invalid.
+     */
+    @GetMapping("/best-sellers")
+    public ResponseEntity<List<BestSellerDTO>> getBestSellers(
+        @RequestParam(name = "window", defaultValue = "HOUR") BestSellerWindow window,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to get the {} best-selling MenuItems over the last {}", size, window);
+        if (size < 1 || size > MAX_BEST_SELLERS) {
+            throw new BadRequestAlertException("Invalid best sellers size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePublic()).body(menuItemService.findBestSellers(window, size));
+    }
+
     /**
      * {@code GET  /menu-items/:id} : get the "id" menuItem.
      *
@@ -162,6 +229,65 @@ public class MenuItemResource {
         return ResponseUtil.wrapOrNotFound(menuItemDTO);
     }
 
+    /**
+     * {@code GET  /menu-items/images/:hash} : get the menu item image with the given content hash.
+     * <p>
+     * Images are immutable, so they are served with a strong ETag and a long-lived cache policy;
+     * {@code If-None-Match} and {@code Range} requests are answered with {@code 304} and {@code 206} respectively.
+     * The content type is the one stored with the menu items referencing the image.
+     *
+     * @param hash the content hash of the image, as found in {@link MenuItemDTO#getImageUrl()}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the image in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/images/{hash}")
+    public ResponseEntity<Resource> getMenuItemImage(@PathVariable("hash") String hash) {
+        LOG.debug("REST request to get MenuItem image : {}", hash);
+        return imageStore
+            .load(hash)
+            .map(image ->
+                ResponseEntity.ok()
+                    .eTag(hash)
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .contentType(imageMediaType(hash))
+                    .body(image)
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private MediaType imageMediaType(String hash) {
+        return menuItemRepository
+            .findImageContentTypes(hash, Limit.of(1))
+            .stream()
+            .findFirst()
+            .flatMap(contentType -> {
+                try {
+                    return Optional.of(MediaType.parseMediaType(contentType));
+                } catch (InvalidMediaTypeException e) {
+                    return Optional.empty();
+                }
+            })
+            .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * {@code GET  /menu-items/snapshot} : get the available menuItems grouped by category.
+     * <p>
+     * The body is a pre-serialized snapshot tagged with its content version, so clients sending
+     * {@code If-None-Match} get a {@code 304 (Not Modified)} until the menu changes.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the menu in body, or with status {@code 304 (Not Modified)}.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<byte[]> getMenuSnapshot() {
+        LOG.debug("REST request to get the menu snapshot");
+        MenuSnapshotService.MenuSnapshot snapshot = menuSnapshotService.getSnapshot();
+        return ResponseEntity.ok()
+            .eTag(snapshot.getVersion())
+            .cacheControl(CacheControl.noCache().cachePublic())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.getContent());
+    }
+
     /**
      * {@code DELETE  /menu-items/:id} : delete the "id" menuItem.
      *
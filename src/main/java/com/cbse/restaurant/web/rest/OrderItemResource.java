@@ -1,9 +1,12 @@
 package com.cbse.restaurant.web.rest;
 
 import com.cbse.restaurant.repository.OrderItemRepository;
+import com.cbse.restaurant.service.Impl.OrderItemBatchException;
 import com.cbse.restaurant.service.Impl.OrderItemService;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.OrderItemDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -11,17 +14,18 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -66,6 +70,27 @@ public class OrderItemResource {
             .body(orderItemDTO);
     }
 
+    /**
+     * {@code POST  /order-items/batch} : Create several new orderItems at once.
+     *
+     * @param orderItemDTOs the orderItemDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new orderItemDTOs, in the same order,
+     * or with status {@code 400 (Bad Request)} with the problems of all the invalid orderItems, in which case none is created.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderItemDTO>> createOrderItems(@RequestBody List<OrderItemDTO> orderItemDTOs) {
+        LOG.debug("REST request to save {} OrderItems", orderItemDTOs.size());
+        List<OrderItemDTO> result;
+        try {
+            result = orderItemService.saveAll(orderItemDTOs);
+        } catch (OrderItemBatchException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, joinIds(result)))
+            .body(result);
+    }
+
     /**
      * {@code PUT  /order-items/:id} : Updates an existing orderItem.
      *
@@ -135,26 +160,49 @@ public class OrderItemResource {
         );
     }
 
+    /**
+     * {@code PATCH  /order-items/batch} : Partial updates given fields of several existing orderItems, field will ignore if it is null
+     *
+     * @param orderItemDTOs the orderItemDTOs to update, each with its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orderItemDTOs, in the same order,
+     * or with status {@code 400 (Bad Request)} with the problems of all the invalid or unknown orderItems, in which case none is updated.
+     */
+    @PatchMapping(value = "/batch", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<OrderItemDTO>> partialUpdateOrderItems(@RequestBody List<OrderItemDTO> orderItemDTOs) {
+        LOG.debug("REST request to partial update {} OrderItems", orderItemDTOs.size());
+        List<OrderItemDTO> result;
+        try {
+            result = orderItemService.partialUpdateAll(orderItemDTOs);
+        } catch (OrderItemBatchException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, joinIds(result)))
+            .body(result);
+    }
+
     /**
      * {@code GET  /order-items} : get all the orderItems.
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body.
      */
     @GetMapping("")
     public ResponseEntity<List<OrderItemDTO>> getAllOrderItems(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
     ) {
         LOG.debug("REST request to get a page of OrderItems");
-        Page<OrderItemDTO> page;
+        Slice<OrderItemDTO> page;
         if (eagerload) {
-            page = orderItemService.findAllWithEagerRelationships(pageable);
+            page = orderItemService.findAllWithEagerRelationships(pageable, paginationMode);
         } else {
-            page = orderItemService.findAll(pageable);
+            page = orderItemService.findAll(pageable, paginationMode);
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -185,4 +233,30 @@ public class OrderItemResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /order-items/batch?ids=:id,:id} : delete several orderItems at once.
+     *
+     * @param ids the ids of the orderItemDTOs to delete, unknown ids are ignored.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteOrderItems(@RequestParam("ids") List<Long> ids) {
+        LOG.debug("REST request to delete OrderItems : {}", ids);
+        orderItemService.deleteAll(ids);
+        return ResponseEntity.noContent()
+            .headers(
+                HeaderUtil.createEntityDeletionAlert(
+                    applicationName,
+                    true,
+                    ENTITY_NAME,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+                )
+            )
+            .build();
+    }
+
+    private static String joinIds(List<OrderItemDTO> orderItemDTOs) {
+        return orderItemDTOs.stream().map(orderItemDTO -> String.valueOf(orderItemDTO.getId())).collect(Collectors.joining(","));
+    }
 }
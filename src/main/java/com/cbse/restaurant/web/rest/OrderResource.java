@@ -1,27 +1,42 @@
 package com.cbse.restaurant.web.rest;
 
+import com.cbse.restaurant.config.ApplicationProperties;
 import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.Impl.KitchenFeedService;
+import com.cbse.restaurant.service.Impl.OrderSubmissionException;
+import com.cbse.restaurant.service.Impl.OrderSubmissionService;
 import com.cbse.restaurant.service.OrderService;
+import com.cbse.restaurant.service.PaginationMode;
+import com.cbse.restaurant.service.dto.OrderCriteria;
 import com.cbse.restaurant.service.dto.OrderDTO;
+import com.cbse.restaurant.service.dto.OrderStatusEventDTO;
+import com.cbse.restaurant.service.dto.OrderSubmissionDTO;
+import com.cbse.restaurant.service.dto.SubmittedOrderDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -35,6 +50,8 @@ public class OrderResource {
 
     private static final String ENTITY_NAME = "order";
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +59,24 @@ public class OrderResource {
 
     private final OrderRepository orderRepository;
 
-    public OrderResource(OrderService orderService, OrderRepository orderRepository) {
+    private final OrderSubmissionService orderSubmissionService;
+
+    private final KitchenFeedService kitchenFeedService;
+
+    private final long kitchenFeedTimeoutMillis;
+
+    public OrderResource(
+        OrderService orderService,
+        OrderRepository orderRepository,
+        OrderSubmissionService orderSubmissionService,
+        KitchenFeedService kitchenFeedService,
+        ApplicationProperties applicationProperties
+    ) {
         this.orderService = orderService;
         this.orderRepository = orderRepository;
+        this.orderSubmissionService = orderSubmissionService;
+        this.kitchenFeedService = kitchenFeedService;
+        this.kitchenFeedTimeoutMillis = TimeUnit.SECONDS.toMillis(applicationProperties.getKitchenFeed().getTimeoutSeconds());
     }
 
     /**
@@ -66,6 +98,29 @@ public class OrderResource {
             .body(orderDTO);
     }
 
+    /**
+     * {@code POST  /orders/submit} : Create a new order together with its items, priced server-side.
+     *
+     * @param submission the order and its lines to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order and its priced items,
+     * or with status {@code 400 (Bad Request)} if the customer is unknown or a line references an unknown or unavailable menu item.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/submit")
+    public ResponseEntity<SubmittedOrderDTO> submitOrder(@Valid @RequestBody OrderSubmissionDTO submission) throws URISyntaxException {
+        LOG.debug("REST request to submit Order : {}", submission);
+        SubmittedOrderDTO result;
+        try {
+            result = orderSubmissionService.submit(submission);
+        } catch (OrderSubmissionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+        Long orderId = result.getOrder().getId();
+        return ResponseEntity.created(new URI("/api/orders/" + orderId))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, orderId.toString()))
+            .body(result);
+    }
+
     /**
      * {@code PUT  /orders/:id} : Updates an existing order.
      *
@@ -139,16 +194,109 @@ public class OrderResource {
      * {@code GET  /orders} : get all the orders.
      *
      * @param pageable the pagination information.
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<OrderDTO>> getAllOrders(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<OrderDTO>> getAllOrders(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
+    ) {
         LOG.debug("REST request to get a page of Orders");
-        Page<OrderDTO> page = orderService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<OrderDTO> page = orderService.findAll(pageable, paginationMode);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /orders/search} : get the orders matching the criteria, sorted by order date.
+     * <p>
+     * Pages are fetched by keyset: the {@code next} link of the response carries the order date and id of its last
+     * order, from which the following page starts.
+     *
+     * @param criteria the criteria which the requested orders should match.
+     * @param afterOrderDate the order date of the last order of the previous page.
+     * @param afterId the id of the last order of the previous page.
+     * @param direction the sort direction on the order date.
+     * @param size the page size.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderDTO>> searchOrders(
+        @org.springdoc.core.annotations.ParameterObject OrderCriteria criteria,
+        @RequestParam(value = "afterOrderDate", required = false) Instant afterOrderDate,
+        @RequestParam(value = "afterId", required = false) Long afterId,
+        @RequestParam(value = "direction", defaultValue = "DESC") Sort.Direction direction,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to search Orders by criteria : {}", criteria);
+        if ((afterOrderDate == null) != (afterId == null)) {
+            throw new BadRequestAlertException("afterOrderDate and afterId must be given together", ENTITY_NAME, "keysetincomplete");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestAlertException("size must be between 1 and " + MAX_SEARCH_PAGE_SIZE, ENTITY_NAME, "invalidsize");
+        }
+        Slice<OrderDTO> slice = orderService.findByCriteria(criteria, afterOrderDate, afterId, direction, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            OrderDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("afterOrderDate", last.getOrderDate())
+                .replaceQueryParam("afterId", last.getId())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /orders/kitchen-feed} : stream order status transitions as Server-Sent Events.
+     * <p>
+     * Each {@code order-status} event carries its id, so a client reconnecting with the {@code Last-Event-ID} header
+     * (or the {@code lastEventId} parameter) gets the events it missed. A {@code resync} event tells the client that
+     * some events are no longer available and that it must reload its orders.
+     *
+     * @param lastEventIdHeader the id of the last event received, sent by reconnecting {@code EventSource} clients.
+     * @param lastEventId the id of the last event received, for clients that cannot set headers.
+     * @return the event stream.
+     */
+    @GetMapping(value = "/kitchen-feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenFeed(
+        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+        @RequestParam(value = "lastEventId", required = false) Long lastEventId
+    ) {
+        LOG.debug("REST request to stream the kitchen feed from event : {}", lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        SseEmitter emitter = new SseEmitter(kitchenFeedTimeoutMillis);
+        KitchenFeedService.Subscription subscription = kitchenFeedService.subscribe(
+            lastEventIdHeader != null ? lastEventIdHeader : lastEventId,
+            new KitchenFeedService.Listener() {
+                @Override
+                public void onEvent(OrderStatusEventDTO event) throws IOException {
+                    emitter.send(
+                        SseEmitter.event()
+                            .id(String.valueOf(event.getEventId()))
+                            .name("order-status")
+                            .data(event, MediaType.APPLICATION_JSON)
+                    );
+                }
+
+                @Override
+                public void onResync() throws IOException {
+                    emitter.send(SseEmitter.event().name("resync").data(""));
+                }
+
+                @Override
+                public void onClose() {
+                    emitter.complete();
+                }
+            }
+        );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
     /**
      * {@code GET  /orders/:id} : get the "id" order.
      *
@@ -1,27 +1,33 @@
 package com.cbse.restaurant.web.rest;
 
 import com.cbse.restaurant.repository.ReservationRepository;
+import com.cbse.restaurant.service.Impl.ReservationCapacityException;
+import com.cbse.restaurant.service.Impl.ReservationCapacityService;
 import com.cbse.restaurant.service.Impl.ReservationService;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.dto.ReservationDTO;
+import com.cbse.restaurant.service.dto.SlotAvailabilityDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -35,6 +41,8 @@ public class ReservationResource {
 
     private static final String ENTITY_NAME = "reservation";
 
+    private static final Duration MAX_AVAILABILITY_PERIOD = Duration.ofDays(31);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,16 +50,23 @@ public class ReservationResource {
 
     private final ReservationRepository reservationRepository;
 
-    public ReservationResource(ReservationService reservationService, ReservationRepository reservationRepository) {
+    private final ReservationCapacityService reservationCapacityService;
+
+    public ReservationResource(
+        ReservationService reservationService,
+        ReservationRepository reservationRepository,
+        ReservationCapacityService reservationCapacityService
+    ) {
         this.reservationService = reservationService;
         this.reservationRepository = reservationRepository;
+        this.reservationCapacityService = reservationCapacityService;
     }
 
     /**
      * {@code POST  /reservations} : Create a new reservation.
      *
      * @param reservationDTO the reservationDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reservationDTO, or with status {@code 400 (Bad Request)} if the reservation has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reservationDTO, or with status {@code 400 (Bad Request)} if the reservation has already an ID or does not fit in the seats left.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -60,7 +75,11 @@ public class ReservationResource {
         if (reservationDTO.getId() != null) {
             throw new BadRequestAlertException("A new reservation cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        reservationDTO = reservationService.save(reservationDTO);
+        try {
+            reservationDTO = reservationService.save(reservationDTO);
+        } catch (ReservationCapacityException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fullybooked");
+        }
         return ResponseEntity.created(new URI("/api/reservations/" + reservationDTO.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, reservationDTO.getId().toString()))
             .body(reservationDTO);
@@ -72,7 +91,7 @@ public class ReservationResource {
      * @param id the id of the reservationDTO to save.
      * @param reservationDTO the reservationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated reservationDTO,
-     * or with status {@code 400 (Bad Request)} if the reservationDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the reservationDTO is not valid or does not fit in the seats left,
      * or with status {@code 500 (Internal Server Error)} if the reservationDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -93,7 +112,11 @@ public class ReservationResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        reservationDTO = reservationService.update(reservationDTO);
+        try {
+            reservationDTO = reservationService.update(reservationDTO);
+        } catch (ReservationCapacityException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fullybooked");
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, reservationDTO.getId().toString()))
             .body(reservationDTO);
@@ -105,7 +128,7 @@ public class ReservationResource {
      * @param id the id of the reservationDTO to save.
      * @param reservationDTO the reservationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated reservationDTO,
-     * or with status {@code 400 (Bad Request)} if the reservationDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the reservationDTO is not valid or does not fit in the seats left,
      * or with status {@code 404 (Not Found)} if the reservationDTO is not found,
      * or with status {@code 500 (Internal Server Error)} if the reservationDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -127,7 +150,12 @@ public class ReservationResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ReservationDTO> result = reservationService.partialUpdate(reservationDTO);
+        Optional<ReservationDTO> result;
+        try {
+            result = reservationService.partialUpdate(reservationDTO);
+        } catch (ReservationCapacityException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fullybooked");
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -139,16 +167,45 @@ public class ReservationResource {
      * {@code GET  /reservations} : get all the reservations.
      *
      * @param pageable the pagination information.
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reservations in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<ReservationDTO>> getAllReservations(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<ReservationDTO>> getAllReservations(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
+    ) {
         LOG.debug("REST request to get a page of Reservations");
-        Page<ReservationDTO> page = reservationService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<ReservationDTO> page = reservationService.findAll(pageable, paginationMode);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /reservations/availability} : get the time slots where a party can book a table.
+     *
+     * @param from the start of the period.
+     * @param to the end of the period, exclusive.
+     * @param partySize the number of guests.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the available slots in body,
+     * or with status {@code 400 (Bad Request)} if the period is invalid.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<SlotAvailabilityDTO>> getAvailability(
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(value = "partySize", defaultValue = "1") int partySize
+    ) {
+        LOG.debug("REST request to get Reservation availability from {} to {} for {}", from, to, partySize);
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(MAX_AVAILABILITY_PERIOD) > 0) {
+            throw new BadRequestAlertException("Invalid availability period", ENTITY_NAME, "periodinvalid");
+        }
+        if (partySize < 1) {
+            throw new BadRequestAlertException("Invalid party size", ENTITY_NAME, "partysizeinvalid");
+        }
+        return ResponseEntity.ok(reservationCapacityService.getAvailability(from, to, partySize));
+    }
+
     /**
      * {@code GET  /reservations/:id} : get the "id" reservation.
      *
@@ -0,0 +1,110 @@
+package com.cbse.restaurant.web.rest;
+
+import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.service.Impl.SalesRollupService;
+import com.cbse.restaurant.service.SalesGranularity;
+import com.cbse.restaurant.service.dto.CategorySalesDTO;
+import com.cbse.restaurant.service.dto.MenuItemSalesDTO;
+import com.cbse.restaurant.service.dto.PaymentMethodSalesDTO;
+import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the hourly and daily sales reports, read from the rollups of {@link SalesRollupService}.
+ * <p>
+ * Each endpoint returns the periods starting in {@code [from, to)}; a range is limited to 31 days by hour and 366
+ * days by day.
+ */
+@RestController
+@RequestMapping("/api/sales-rollups")
+@PreAuthorize("hasAnyAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class SalesRollupResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesRollupResource.class);
+
+    private static final String ENTITY_NAME = "salesRollup";
+
+    private static final Duration MAX_HOURLY_PERIOD = Duration.ofDays(31);
+
+    private static final Duration MAX_DAILY_PERIOD = Duration.ofDays(366);
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesRollupResource(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /**
+     * {@code GET  /sales-rollups/categories} : get the items sold and the revenue per menu category.
+     *
+     * @param granularity the period, {@code HOUR} or {@code DAY}.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> getSalesByCategory(
+        @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to
+    ) {
+        LOG.debug("REST request to get the {} sales by category from {} to {}", granularity, from, to);
+        checkPeriod(granularity, from, to);
+        return ResponseEntity.ok(salesRollupService.getSalesByCategory(granularity, from, to));
+    }
+
+    /**
+     * {@code GET  /sales-rollups/menu-items} : get the quantity sold and the revenue per menu item.
+     *
+     * @param granularity the period, {@code HOUR} or {@code DAY}.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping("/menu-items")
+    public ResponseEntity<List<MenuItemSalesDTO>> getSalesByMenuItem(
+        @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to
+    ) {
+        LOG.debug("REST request to get the {} sales by menu item from {} to {}", granularity, from, to);
+        checkPeriod(granularity, from, to);
+        return ResponseEntity.ok(salesRollupService.getSalesByMenuItem(granularity, from, to));
+    }
+
+    /**
+     * {@code GET  /sales-rollups/payment-methods} : get the orders, the revenue and the average ticket per payment method.
+     *
+     * @param granularity the period, {@code HOUR} or {@code DAY}.
+     * @param from the start of the range.
+     * @param to the end of the range, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping("/payment-methods")
+    public ResponseEntity<List<PaymentMethodSalesDTO>> getSalesByPaymentMethod(
+        @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to
+    ) {
+        LOG.debug("REST request to get the {} sales by payment method from {} to {}", granularity, from, to);
+        checkPeriod(granularity, from, to);
+        return ResponseEntity.ok(salesRollupService.getSalesByPaymentMethod(granularity, from, to));
+    }
+
+    private static void checkPeriod(SalesGranularity granularity, Instant from, Instant to) {
+        Duration maxPeriod = granularity == SalesGranularity.HOUR ? MAX_HOURLY_PERIOD : MAX_DAILY_PERIOD;
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(maxPeriod) > 0) {
+            throw new BadRequestAlertException("Invalid sales period", ENTITY_NAME, "periodinvalid");
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.cbse.restaurant.web.rest;
 
+import com.cbse.restaurant.domain.enumeration.StaffRole;
 import com.cbse.restaurant.repository.StaffRepository;
+import com.cbse.restaurant.service.PaginationMode;
 import com.cbse.restaurant.service.StaffService;
 import com.cbse.restaurant.service.dto.StaffDTO;
 import com.cbse.restaurant.web.rest.errors.BadRequestAlertException;
+import com.cbse.restaurant.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,14 +17,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -139,16 +141,32 @@ public class StaffResource {
      * {@code GET  /staff} : get all the staff.
      *
      * @param pageable the pagination information.
+     * @param paginationMode how the rows are counted: {@code EXACT}, {@code SLICE} (no total) or {@code ESTIMATED} (cached total).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of staff in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<StaffDTO>> getAllStaff(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<StaffDTO>> getAllStaff(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "pagination", required = false, defaultValue = "EXACT") PaginationMode paginationMode
+    ) {
         LOG.debug("REST request to get a page of Staff");
-        Page<StaffDTO> page = staffService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<StaffDTO> page = staffService.findAll(pageable, paginationMode);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /staff/active} : get the active staff with a role.
+     *
+     * @param role the role.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of staff in body.
+     */
+    @GetMapping("/active")
+    public ResponseEntity<List<StaffDTO>> getActiveStaff(@RequestParam("role") StaffRole role) {
+        LOG.debug("REST request to get the active Staff with role {}", role);
+        return ResponseEntity.ok(staffService.findAllActiveByRole(role));
+    }
+
     /**
      * {@code GET  /staff/:id} : get the "id" staff.
      *
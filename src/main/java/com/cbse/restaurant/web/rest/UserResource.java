@@ -4,6 +4,7 @@ import com.cbse.restaurant.config.Constants;
 import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.UserRepository;
 import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.security.TokenRevocationService;
 import com.cbse.restaurant.service.Impl.MailService;
 import com.cbse.restaurant.service.Impl.UserService;
 import com.cbse.restaurant.service.dto.AdminUserDTO;
@@ -65,10 +66,18 @@ public class UserResource {
 
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final TokenRevocationService tokenRevocationService;
+
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        MailService mailService,
+        TokenRevocationService tokenRevocationService
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -184,4 +193,18 @@ public class UserResource {
         userService.deleteUser(login);
         return ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "userManagement.deleted", login)).build();
     }
+
+    /**
+     * {@code POST /admin/users/:login/revoke-tokens} : revoke all the tokens issued to the "login" User until now.
+     *
+     * @param login the login of the user whose tokens are revoked.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/users/{login}/revoke-tokens")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> revokeTokens(@PathVariable("login") @Pattern(regexp = Constants.LOGIN_REGEX) String login) {
+        LOG.debug("REST request to revoke the tokens of User: {}", login);
+        tokenRevocationService.revokeSubject(login.toLowerCase(Locale.ENGLISH));
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,51 @@
+package com.cbse.restaurant.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for the pagination headers of slices, which have no total.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String HEADER_HAS_NEXT_PAGE = "X-Has-Next-Page";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a slice: the {@code Link} header to the next, previous and first pages and
+     * the {@value #HEADER_HAS_NEXT_PAGE} header. Pages get the usual {@code X-Total-Count} header as well.
+     *
+     * @param uriBuilder the URI of the current request.
+     * @param slice the slice.
+     * @param <T> the content type.
+     * @return the pagination headers.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_HAS_NEXT_PAGE, Boolean.toString(slice.hasNext()));
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(link(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(link(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        links.add(link(uriBuilder, 0, slice.getSize(), "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int page, int size, String relType) {
+        String uri = uriBuilder.replaceQueryParam("page", page).replaceQueryParam("size", size).toUriString();
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+}
@@ -0,0 +1,58 @@
+package com.cbse.restaurant.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.service.Impl.CountEstimationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Unit tests for {@link ServiceMetricsAspect}.
+ */
+class ServiceMetricsAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private CountEstimationService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new CountEstimationService(new ApplicationProperties()));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        service = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timesServiceMethods() {
+        service.estimate(String.class, () -> 42L);
+        service.estimate(String.class, () -> 42L);
+
+        assertThat(
+            meterRegistry
+                .get(ServiceMetricsAspect.METER_NAME)
+                .tags("service", "CountEstimationService", "method", "estimate", "exception", "none")
+                .timer()
+                .count()
+        ).isEqualTo(2);
+    }
+
+    @Test
+    void tagsFailedInvocationsWithTheException() {
+        assertThatThrownBy(() ->
+            service.estimate(Integer.class, () -> {
+                throw new IllegalStateException("count failed");
+            })
+        ).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.METER_NAME).tag("exception", "IllegalStateException").timer().count()).isEqualTo(
+            1
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.Staff;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the cache regions of {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private CachingProvider cachingProvider;
+
+    private CacheManager cacheManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private JHipsterProperties jHipsterProperties;
+
+    @BeforeEach
+    void setUp() {
+        // A provider of its own, not to share the default cache manager
+        cachingProvider = new EhcacheCachingProvider();
+        cacheManager = cachingProvider.getCacheManager();
+        applicationProperties = new ApplicationProperties();
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+
+        ApplicationProperties.Cache.Region menuItem = new ApplicationProperties.Cache.Region();
+        menuItem.setHeapEntries(5000L);
+        menuItem.setTimeToLiveSeconds(86400L);
+        applicationProperties.getCache().getRegions().put("MenuItem", menuItem);
+        ApplicationProperties.Cache.Region order = new ApplicationProperties.Cache.Region();
+        order.setTimeToLiveSeconds(300L);
+        applicationProperties.getCache().getRegions().put("Order.orderItems", order);
+        ApplicationProperties.Cache.Region customer = new ApplicationProperties.Cache.Region();
+        customer.setOffHeapMb(1);
+        customer.setTimeToIdleSeconds(600L);
+        applicationProperties.getCache().getRegions().put("Customer", customer);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cachingProvider.close();
+    }
+
+    @Test
+    void configuresRegionsFromTheirSettings() {
+        CacheRuntimeConfiguration<?, ?> menuItem = runtimeConfiguration(MenuItem.class.getName());
+        assertThat(menuItem.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000);
+        assertThat(menuItem.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofDays(1));
+
+        CacheRuntimeConfiguration<?, ?> orderItems = runtimeConfiguration(Order.class.getName() + ".orderItems");
+        assertThat(orderItems.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(orderItems.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void configuresOffHeapAndIdleRegion() {
+        CacheRuntimeConfiguration<?, ?> customer = runtimeConfiguration(Customer.class.getName());
+        assertThat(customer.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+        assertThat(customer.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(customer.getExpiryPolicy().getExpiryForAccess(null, null)).isEqualTo(Duration.ofMinutes(10));
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(Customer.class.getName());
+        cache.put(1L, "customer");
+        assertThat(cache.get(1L)).isEqualTo("customer");
+    }
+
+    @Test
+    void configuresOtherRegionsFromDefaults() {
+        CacheRuntimeConfiguration<?, ?> staff = runtimeConfiguration(Staff.class.getName());
+        assertThat(staff.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(staff.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+        assertThat(staff.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void exportsStatisticsAsMetrics() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(MenuItem.class.getName());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JCacheMetrics.monitor(meterRegistry, cache);
+
+        cache.put(1L, "menu item");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", cache.getName(), "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", cache.getName(), "result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private CacheRuntimeConfiguration<?, ?> runtimeConfiguration(String cacheName) {
+        Eh107Configuration<?, ?> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ConnectionLimitingDataSource}.
+ */
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private Connection targetConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        targetConnection = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, 2, 50);
+        dataSource.bindTo(meterRegistry, "Hikari");
+    }
+
+    @Test
+    void waitsForAConnectionToBeClosed() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(() -> dataSource.getConnection());
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+        assertThat(meterRegistry.get("app.datasource.permits.wait").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    void reportsEachPoolSeparately() throws SQLException {
+        ConnectionLimitingDataSource replicaDataSource = new ConnectionLimitingDataSource(targetDataSource, 2, 50);
+        replicaDataSource.bindTo(meterRegistry, "Hikari-replica");
+
+        dataSource.getConnection();
+        replicaDataSource.getConnection();
+        replicaDataSource.getConnection();
+
+        assertThat(meterRegistry.get("app.datasource.permits.wait").tag("pool", "Hikari").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.datasource.permits.wait").tag("pool", "Hikari-replica").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesOnceWhenClosedTwice() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        verify(targetConnection, times(2)).close();
+    }
+
+    @Test
+    void releasesWhenConnectionFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> dataSource.getConnection());
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void delegatesOtherCalls() throws SQLException {
+        when(targetConnection.getAutoCommit()).thenReturn(true);
+        when(targetConnection.prepareStatement("select 1")).thenThrow(new SQLException("syntax"));
+
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection.getAutoCommit()).isTrue();
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> connection.prepareStatement("select 1")).withMessage("syntax");
+    }
+}
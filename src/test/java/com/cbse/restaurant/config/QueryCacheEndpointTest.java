@@ -0,0 +1,55 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.domain.Staff;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.repository.StaffRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link QueryCacheEndpoint}.
+ */
+class QueryCacheEndpointTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QueryCacheEndpoint endpoint = new QueryCacheEndpoint(meterRegistry);
+
+    @Test
+    void shouldReportAllRegions() {
+        assertThat(endpoint.report()).containsOnlyKeys(QueryCacheEndpoint.REGIONS);
+    }
+
+    @Test
+    void shouldReportHitRatioFromCacheMeters() {
+        cacheMeter("cache.gets", MenuItemRepository.QUERY_CACHE, 30, "result", "hit");
+        cacheMeter("cache.gets", MenuItemRepository.QUERY_CACHE, 10, "result", "miss");
+        cacheMeter("cache.puts", MenuItemRepository.QUERY_CACHE, 10);
+        cacheMeter("cache.evictions", MenuItemRepository.QUERY_CACHE, 2);
+        Counter.builder("app.query.cache.invalidations").tag("region", MenuItemRepository.QUERY_CACHE).register(meterRegistry).increment(3);
+
+        QueryCacheEndpoint.RegionReport report = endpoint.report().get(MenuItemRepository.QUERY_CACHE);
+
+        assertThat(report).isEqualTo(new QueryCacheEndpoint.RegionReport(30, 10, 0.75, 10, 2, 3));
+    }
+
+    @Test
+    void shouldReportRegionsWithoutLookups() {
+        cacheMeter("cache.gets", Staff.class.getName(), 5, "result", "hit");
+
+        Map<String, QueryCacheEndpoint.RegionReport> report = endpoint.report();
+
+        assertThat(report.get(StaffRepository.QUERY_CACHE).hitRatio()).isNull();
+        assertThat(report.get(Staff.class.getName()).hitRatio()).isEqualTo(1.0);
+    }
+
+    private void cacheMeter(String name, String cache, double count, String... tags) {
+        FunctionCounter.builder(name, count, c -> c).tag("cache", cache).tags(tags).register(meterRegistry);
+    }
+}
@@ -0,0 +1,171 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.IntegrationTest;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import com.cbse.restaurant.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * Integration tests for the routing of the transactions to the read replica.
+ * <p>
+ * The replica is a second, standalone MySQL server: the tests tell it apart from the primary by its server UUID, and
+ * set its heartbeat themselves to simulate the replication lag.
+ */
+@IntegrationTest
+class ReadReplicaIT {
+
+    private static final MySQLContainer<?> replica = new MySQLContainer<>("mysql:9.1.0").withDatabaseName("restaurant");
+
+    @DynamicPropertySource
+    static void readReplicaProperties(DynamicPropertyRegistry registry) {
+        replica.start();
+        registry.add("application.read-replica.enabled", () -> "true");
+        registry.add("application.read-replica.url", replica::getJdbcUrl);
+        registry.add("application.read-replica.username", replica::getUsername);
+        registry.add("application.read-replica.password", replica::getPassword);
+        registry.add("application.read-replica.heartbeat-interval-seconds", () -> "3600");
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        replica.stop();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private String primaryUuid;
+
+    private String replicaUuid;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        replicaJdbcTemplate.execute("create table if not exists replication_heartbeat (id integer primary key, beat datetime(6) not null)");
+        replicaJdbcTemplate.update("delete from replication_heartbeat");
+        replicaJdbcTemplate.update("insert into replication_heartbeat (id, beat) values (1, ?)", Timestamp.from(Instant.now()));
+        primaryUuid = new JdbcTemplate(primaryDataSource).queryForObject("select @@server_uuid", String.class);
+        replicaUuid = replicaJdbcTemplate.queryForObject("select @@server_uuid", String.class);
+        assertThat(replicaUuid).isNotEqualTo(primaryUuid);
+        replicaLagMonitor.heartbeat();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRunReadOnlyTransactionsOnTheReplica() {
+        assertThat(replicaLagMonitor.isReplicaFresh()).isTrue();
+        assertThat(serverUuid(true)).isEqualTo(replicaUuid);
+    }
+
+    @Test
+    void shouldRunReadWriteTransactionsOnThePrimary() {
+        assertThat(serverUuid(false)).isEqualTo(primaryUuid);
+    }
+
+    @Test
+    void shouldReadOnThePrimaryWhenTheReplicaLags() {
+        Timestamp lateBeat = Timestamp.from(Instant.now().minusSeconds(60));
+        replicaJdbcTemplate.update("update replication_heartbeat set beat = ? where id = 1", lateBeat);
+        replicaLagMonitor.heartbeat();
+
+        assertThat(replicaLagMonitor.isReplicaFresh()).isFalse();
+        assertThat(serverUuid(true)).isEqualTo(primaryUuid);
+    }
+
+    @Test
+    void shouldReadTheWritesOfTheUserOnThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("read-replica-user", "password"));
+        assertThat(serverUuid(false)).isEqualTo(primaryUuid);
+
+        assertThat(serverUuid(true)).isEqualTo(primaryUuid);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("other-user", "password"));
+        assertThat(serverUuid(true)).isEqualTo(replicaUuid);
+    }
+
+    @Test
+    void shouldKeepReadingOnTheReplicaWhileOrdersAreWritten() {
+        List<Long> orderIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("waiter", "password"));
+                Order order = new Order()
+                    .orderDate(Instant.now())
+                    .status(OrderStatus.NEW)
+                    .totalAmount(new BigDecimal("12.50"))
+                    .paymentMethod(PaymentMethod.CASH);
+                orderIds.add(transactionTemplate(false).execute(status -> orderRepository.saveAndFlush(order)).getId());
+
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("guest", "password"));
+                assertThat(serverUuid(true)).isEqualTo(replicaUuid);
+            }
+            CacheMode cacheMode = transactionTemplate(true).execute(status -> em.unwrap(Session.class).getCacheMode());
+            assertThat(cacheMode).isEqualTo(CacheMode.GET);
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("waiter", "password"));
+            transactionTemplate(false).executeWithoutResult(status -> orderRepository.deleteAllById(orderIds));
+        }
+    }
+
+    private TransactionTemplate transactionTemplate(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private String serverUuid(boolean readOnly) {
+        return transactionTemplate(readOnly).execute(status -> jdbcTemplate.queryForObject("select @@server_uuid", String.class));
+    }
+}
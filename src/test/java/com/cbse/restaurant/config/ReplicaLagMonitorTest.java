@@ -0,0 +1,117 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Test class for the {@link ReplicaLagMonitor}.
+ */
+class ReplicaLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private JdbcTemplate primaryJdbcTemplate;
+
+    private PlatformTransactionManager primaryTransactionManager;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbcTemplate = mock(JdbcTemplate.class);
+        primaryTransactionManager = mock(PlatformTransactionManager.class);
+        when(primaryTransactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        replicaJdbcTemplate = mock(JdbcTemplate.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReadReplica().setMaxLagSeconds(5);
+        applicationProperties.getReadReplica().setHeartbeatIntervalSeconds(1);
+        monitor = new ReplicaLagMonitor(
+            primaryJdbcTemplate,
+            primaryTransactionManager,
+            replicaJdbcTemplate,
+            applicationProperties,
+            meterRegistry,
+            clock
+        );
+    }
+
+    @Test
+    void shouldNotBeFreshBeforeTheFirstHeartbeat() {
+        assertThat(monitor.isReplicaFresh()).isFalse();
+        assertThat(meterRegistry.get("app.datasource.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldMeasureTheLagAndWriteTheNextBeat() {
+        replicaBeat(NOW.minusSeconds(2));
+
+        monitor.heartbeat();
+
+        assertThat(monitor.isReplicaFresh()).isTrue();
+        assertThat(meterRegistry.get("app.datasource.replica.lag").gauge().value()).isEqualTo(2.0);
+        verify(primaryJdbcTemplate).update(anyString(), eq(Timestamp.from(NOW)));
+        verify(primaryTransactionManager).commit(any());
+    }
+
+    @Test
+    void shouldNotBeFreshWhenTheLagIsTooLarge() {
+        replicaBeat(NOW.minusSeconds(6));
+
+        monitor.heartbeat();
+
+        assertThat(monitor.isReplicaFresh()).isFalse();
+    }
+
+    @Test
+    void shouldNotBeFreshWhenTheReplicaIsUnreachable() {
+        replicaBeat(NOW.minusSeconds(1));
+        monitor.heartbeat();
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Timestamp.class))).thenThrow(
+            new DataAccessResourceFailureException("Connection refused")
+        );
+
+        monitor.heartbeat();
+
+        assertThat(monitor.isReplicaFresh()).isFalse();
+        assertThat(meterRegistry.get("app.datasource.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldNotBeFreshWhenTheLastCheckIsTooOld() {
+        replicaBeat(NOW.minusSeconds(1));
+        monitor.heartbeat();
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(4));
+
+        assertThat(monitor.isReplicaFresh()).isFalse();
+    }
+
+    private void replicaBeat(Instant beat) {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Timestamp.class))).thenReturn(Timestamp.from(beat));
+    }
+}
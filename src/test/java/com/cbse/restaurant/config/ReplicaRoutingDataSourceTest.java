@@ -0,0 +1,196 @@
+package com.cbse.restaurant.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.repository.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private Connection primaryConnection;
+
+    private Connection replicaConnection;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaFresh()).thenReturn(true);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReadReplica().setReadYourWritesSeconds(10);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, applicationProperties, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        completeTransaction();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToTheReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routed("replica", "read")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsToThePrimary() throws SQLException {
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "write")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRouteReadsToThePrimaryWhenTheReplicaLags() throws SQLException {
+        when(lagMonitor.isReplicaFresh()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "replica-lag")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReadTheWritesOfTheSameUserOnThePrimary() throws SQLException {
+        login("alice");
+        dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "read-your-writes")).isEqualTo(1);
+
+        login("bob");
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldReadOnTheReplicaOnceTheWritesAreOldEnough() throws SQLException {
+        login("alice");
+        dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(11));
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldFillTheCachesFromThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(PrimaryReads.call(this::getConnection)).isSameAs(primaryConnection);
+        assertThat(routed("primary", "cache-fill")).isEqualTo(1);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void shouldKeepTheDataSourceChosenWhenTheTransactionBegan() throws SQLException {
+        beginReadOnlyTransaction();
+        assertThat(dataSource.pinReadOnlyTransaction()).isTrue();
+
+        when(lagMonitor.isReplicaFresh()).thenReturn(false);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+
+        completeTransaction();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldKeepReadingOnTheReplicaWhileOrdersAreWritten() throws SQLException {
+        for (int order = 0; order < 10; order++) {
+            login("waiter");
+            assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+            login("customer-" + order);
+            beginReadOnlyTransaction();
+            assertThat(dataSource.pinReadOnlyTransaction()).isTrue();
+            assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+            completeTransaction();
+        }
+
+        assertThat(routed("primary", "write")).isEqualTo(10);
+        assertThat(routed("replica", "read")).isEqualTo(10);
+    }
+
+    @Test
+    void shouldForgetTheOldWritesOnlyWhenSweeping() throws SQLException {
+        login("alice");
+        dataSource.getConnection();
+        login("bob");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(8));
+        dataSource.getConnection();
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(12));
+        dataSource.getConnection();
+        assertThat(dataSource.trackedWriters()).isEqualTo(2);
+
+        dataSource.removeExpiredWrites();
+        assertThat(dataSource.trackedWriters()).isEqualTo(1);
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void beginReadOnlyTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static void completeTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private static void login(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, "password"));
+    }
+
+    private double routed(String pool, String reason) {
+        return meterRegistry.get("app.datasource.routing").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+}
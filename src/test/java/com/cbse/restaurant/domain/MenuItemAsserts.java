@@ -55,7 +55,7 @@ public class MenuItemAsserts {
             .satisfies(e -> assertThat(e.getSpicyLevel()).as("check spicyLevel").isEqualTo(actual.getSpicyLevel()))
             .satisfies(e -> assertThat(e.getIsVegetarian()).as("check isVegetarian").isEqualTo(actual.getIsVegetarian()))
             .satisfies(e -> assertThat(e.getIsAvailable()).as("check isAvailable").isEqualTo(actual.getIsAvailable()))
-            .satisfies(e -> assertThat(e.getImage()).as("check image").isEqualTo(actual.getImage()))
+            .satisfies(e -> assertThat(e.getImageHash()).as("check imageHash").isEqualTo(actual.getImageHash()))
             .satisfies(e -> assertThat(e.getImageContentType()).as("check image contenty type").isEqualTo(actual.getImageContentType()));
     }
 
@@ -0,0 +1,124 @@
+package com.cbse.restaurant.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.IntegrationTest;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Benchmark-style integration test checking that pooled id generation lets Hibernate batch {@link OrderItem} inserts.
+ * <p>
+ * The row-by-row run flushes after every save, which is what IDENTITY generation forced on every insert;
+ * the batched run saves all items at once. Both runs log their inserts per second against the test MySQL container.
+ */
+@IntegrationTest
+class OrderItemBatchInsertIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderItemBatchInsertIT.class);
+
+    private static final int ITEM_COUNT = 500;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private MenuItem menuItem;
+
+    private Order order;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @Transactional
+    void rowByRowInsertsUseOneStatementPerItem() {
+        persistParents();
+        List<OrderItem> orderItems = createOrderItems();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        orderItems.forEach(orderItemRepository::saveAndFlush);
+        logRate("row-by-row", start);
+
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThanOrEqualTo(ITEM_COUNT);
+    }
+
+    @Test
+    @Transactional
+    void batchedInsertsShareStatements() {
+        persistParents();
+        List<OrderItem> orderItems = createOrderItems();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        orderItemRepository.saveAll(orderItems);
+        em.flush();
+        logRate("batched", start);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ITEM_COUNT / 5);
+    }
+
+    private void persistParents() {
+        menuItem = new MenuItem().name("benchmark").price(BigDecimal.ONE).category(MenuCategory.MAIN_COURSE).isAvailable(true);
+        em.persist(menuItem);
+        order = new Order().orderDate(Instant.now()).status(OrderStatus.NEW).totalAmount(BigDecimal.ZERO).paymentMethod(PaymentMethod.CASH);
+        em.persist(order);
+        em.flush();
+    }
+
+    private List<OrderItem> createOrderItems() {
+        List<OrderItem> orderItems = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            orderItems.add(new OrderItem().quantity(1).subtotal(BigDecimal.ONE).menuItem(menuItem).order(order));
+        }
+        return orderItems;
+    }
+
+    private void logRate(String mode, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000d;
+        LOG.info(
+            "Inserted {} order items {} in {} ms ({} inserts/s, {} prepared statements)",
+            ITEM_COUNT,
+            mode,
+            Math.round(seconds * 1000),
+            Math.round(ITEM_COUNT / seconds),
+            statistics.getPrepareStatementCount()
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package com.cbse.restaurant.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.security.AuthenticationPrincipalCache.CachedPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Test class for the {@link AuthenticationPrincipalCache}.
+ */
+class AuthenticationPrincipalCacheTest {
+
+    private static final CachedPrincipal JOHN = new CachedPrincipal("john", "hash", true, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthenticationPrincipalCache cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AuthenticationPrincipalCache(applicationProperties, meterRegistry);
+    }
+
+    private Function<String, CachedPrincipal> loader(CachedPrincipal principal) {
+        return username -> {
+            loads.incrementAndGet();
+            return principal;
+        };
+    }
+
+    @Test
+    void cachesResolvedUsers() {
+        assertThat(cache.get("john", loader(JOHN))).isEqualTo(JOHN);
+        assertThat(cache.get("john", loader(JOHN))).isEqualTo(JOHN);
+        assertThat(cache.get("john@localhost", loader(JOHN))).isEqualTo(JOHN);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("app.authentication.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.authentication.cache.gets").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.authentication.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void cachesUnknownUsers() {
+        assertThat(cache.get("nobody", loader(null))).isNull();
+        assertThat(cache.get("nobody", loader(null))).isNull();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("app.authentication.cache.gets").tag("result", "negative-hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownUsersExpire() {
+        applicationProperties.getAuthenticationCache().setNegativeTtlSeconds(0);
+
+        cache.get("nobody", loader(null));
+        cache.get("nobody", loader(null));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictsUserUnderAllItsKeys() {
+        cache.get("john", loader(JOHN));
+        cache.get("old-john@localhost", loader(JOHN));
+        cache.get("jane", loader(new CachedPrincipal("jane", "hash", true, List.of())));
+
+        // The email has changed, the former one must be evicted too
+        cache.evict("John", "new-john@localhost");
+
+        cache.get("john", loader(JOHN));
+        cache.get("old-john@localhost", loader(null));
+        cache.get("jane", loader(null));
+        assertThat(loads).hasValue(5);
+        assertThat(meterRegistry.get("app.authentication.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsUnknownUserOnceCreated() {
+        cache.get("john", loader(null));
+
+        cache.evict("john", null);
+
+        assertThat(cache.get("john", loader(JOHN))).isEqualTo(JOHN);
+    }
+
+    @Test
+    void doesNotCacheLookupRunningDuringEviction() {
+        CachedPrincipal stale = cache.get("john", username -> {
+            cache.evict("john", null);
+            return JOHN;
+        });
+
+        assertThat(stale).isEqualTo(JOHN);
+        cache.get("john", loader(JOHN));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheBeyondMaxEntries() {
+        applicationProperties.getAuthenticationCache().setMaxEntries(1);
+
+        cache.get("john", loader(JOHN));
+        cache.get("jane", loader(null));
+        cache.get("jane", loader(null));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void loadsEachTimeWhenDisabled() {
+        applicationProperties.getAuthenticationCache().setEnabled(false);
+
+        cache.get("john", loader(JOHN));
+        cache.get("john", loader(JOHN));
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cbse.restaurant.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.config.SecurityConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} and the password encoder it delegates to.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor executor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(slowEncoder, executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void hashesOnTheExecutor() {
+        release.countDown();
+
+        assertThat(passwordEncoder.encode("secret")).isEqualTo("hash:secret");
+        assertThat(passwordEncoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(meterRegistry.get("app.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.password.hash").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.password.hash.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsPasswordsBeyondTheQueue() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (executor.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> passwordEncoder.encode("third"));
+        assertThat(meterRegistry.get("app.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    @Test
+    void hashingEncoderUpgradesLegacyAndWeakerHashes() {
+        ApplicationProperties.PasswordHashing properties = new ApplicationProperties().getPasswordHashing();
+        properties.setBcryptStrength(5);
+        PasswordEncoder hashingEncoder = SecurityConfiguration.hashingPasswordEncoder(properties);
+        String legacyHash = new BCryptPasswordEncoder(5).encode("secret");
+        String weakerHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        String currentHash = hashingEncoder.encode("secret");
+
+        assertThat(currentHash).startsWith("{bcrypt}");
+        assertThat(hashingEncoder.matches("secret", legacyHash)).isTrue();
+        assertThat(hashingEncoder.matches("secret", weakerHash)).isTrue();
+        assertThat(hashingEncoder.matches("secret", currentHash)).isTrue();
+        assertThat(hashingEncoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(hashingEncoder.upgradeEncoding(weakerHash)).isTrue();
+        assertThat(hashingEncoder.upgradeEncoding(currentHash)).isFalse();
+    }
+}
@@ -0,0 +1,200 @@
+package com.cbse.restaurant.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.management.SecurityMetersService;
+import com.cbse.restaurant.security.TokenRevocationList.Revocation;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final SecretKey KEY = secretKey("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+
+    private static final SecretKey OTHER_KEY = secretKey("fedcba9876543210fedcba9876543210fedcba9876543210fedcba9876543210");
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenRevocationList revocationList;
+
+    private CacheManager cacheManager;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(applicationProperties, meterRegistry);
+        cacheManager = Caching.getCachingProvider().getCacheManager();
+        createDecoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroyCache(CachingJwtDecoder.CACHE);
+    }
+
+    private void createDecoder() {
+        cacheManager.destroyCache(CachingJwtDecoder.CACHE);
+        cacheManager.createCache(CachingJwtDecoder.CACHE, CachingJwtDecoder.cacheConfiguration(applicationProperties.getJwtCache()));
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(SecurityUtils.JWT_ALGORITHM).build();
+        jwtDecoder = new CachingJwtDecoder(
+            token -> {
+                decodes.incrementAndGet();
+                return nimbusJwtDecoder.decode(token);
+            },
+            new SecurityMetersService(meterRegistry),
+            revocationList,
+            applicationProperties,
+            cacheManager,
+            meterRegistry
+        );
+    }
+
+    @Test
+    void validatesEachTokenOnce() {
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        assertThat(jwtDecoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(jwtDecoder.decode(token).getSubject()).isEqualTo("user");
+
+        assertThat(decodes).hasValue(1);
+        assertThat(meterRegistry.get("app.jwt.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.jwt.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void validatesAgainAfterMaxTtl() {
+        applicationProperties.getJwtCache().setMaxTtlSeconds(0);
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        jwtDecoder.decode(token);
+        jwtDecoder.decode(token);
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void evictsBeyondMaxEntries() {
+        applicationProperties.getJwtCache().setMaxEntries(1);
+        createDecoder();
+        String first = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+        String second = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(120));
+
+        jwtDecoder.decode(first);
+        jwtDecoder.decode(second);
+        jwtDecoder.decode(second);
+        jwtDecoder.decode(first);
+
+        assertThat(decodes).hasValue(3);
+        assertThat(cacheManager.getCache(CachingJwtDecoder.CACHE, String.class, Object.class)).hasSize(1);
+    }
+
+    @Test
+    void rejectsCachedTokenOnceRevoked() {
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+        String other = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+        String id = jwtDecoder.decode(token).getId();
+        jwtDecoder.decode(other);
+
+        revocationList.add(Revocation.ofToken(id, Instant.now().plusSeconds(60)));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+        assertThat(jwtDecoder.decode(other).getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void rejectsRevokedTokenWhenCacheDisabled() {
+        applicationProperties.getJwtCache().setEnabled(false);
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        revocationList.add(Revocation.ofSubject("user", Instant.now().plusSeconds(1), Instant.now().plusSeconds(60)));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+    }
+
+    @Test
+    void countsExpiredToken() {
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().minusSeconds(600));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+
+        assertThat(invalidTokens("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void countsInvalidSignature() {
+        String token = token(OTHER_KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+
+        assertThat(invalidTokens("invalid-signature")).isEqualTo(1);
+    }
+
+    @Test
+    void countsMalformedToken() {
+        String token = token(KEY, SecurityUtils.JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(token.substring(1)));
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode("not a token"));
+
+        assertThat(invalidTokens("malformed")).isEqualTo(2);
+    }
+
+    @Test
+    void countsUnsupportedAlgorithm() {
+        String token = token(KEY, MacAlgorithm.HS256, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> jwtDecoder.decode(token));
+
+        assertThat(invalidTokens("unsupported")).isEqualTo(1);
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+
+    private static String token(SecretKey key, MacAlgorithm algorithm, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .id(UUID.randomUUID().toString())
+            .issuedAt(expiresAt.minusSeconds(3600))
+            .expiresAt(expiresAt)
+            .subject("user")
+            .build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims))
+            .getTokenValue();
+    }
+
+    private static SecretKey secretKey(String secret) {
+        return new SecretKeySpec(secret.getBytes(), "HmacSHA512");
+    }
+}
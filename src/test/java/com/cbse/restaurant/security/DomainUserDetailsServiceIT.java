@@ -7,6 +7,7 @@ import com.cbse.restaurant.IntegrationTest;
 import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.UserRepository;
 import com.cbse.restaurant.service.Impl.UserService;
+import com.cbse.restaurant.service.dto.AdminUserDTO;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +33,7 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String USER_FOUR_LOGIN = "test-user-four";
 
     @Autowired
     private UserRepository userRepository;
@@ -90,6 +93,7 @@ class DomainUserDetailsServiceIT {
         userService.deleteUser(USER_ONE_LOGIN);
         userService.deleteUser(USER_TWO_LOGIN);
         userService.deleteUser(USER_THREE_LOGIN);
+        userService.deleteUser(USER_FOUR_LOGIN);
     }
 
     @Test
@@ -133,4 +137,32 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatDeactivatedUserIsNotAuthenticatedFromCache() {
+        domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+        AdminUserDTO userDTO = new AdminUserDTO(userRepository.findOneByLogin(USER_ONE_LOGIN).orElseThrow());
+        userDTO.setActivated(false);
+
+        userService.updateUser(userDTO);
+
+        assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN)
+        );
+    }
+
+    @Test
+    void assertThatUnknownUserIsFoundOnceCreated() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(USER_FOUR_LOGIN);
+        userDTO.setEmail("test-user-four@localhost");
+        userDTO.setLangKey("en");
+
+        userService.createUser(userDTO);
+
+        assertThat(domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN).getUsername()).isEqualTo(USER_FOUR_LOGIN);
+    }
 }
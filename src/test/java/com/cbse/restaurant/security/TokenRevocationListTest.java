@@ -0,0 +1,104 @@
+package com.cbse.restaurant.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.security.TokenRevocationList.Revocation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link TokenRevocationList}.
+ */
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private static final Instant EXPIRY = NOW.plusSeconds(3600);
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void revokesTokenById() {
+        revocationList.add(Revocation.ofToken("revoked", EXPIRY));
+
+        assertThat(revocationList.isRevoked(jwt("revoked", "john", NOW))).isTrue();
+        assertThat(revocationList.isRevoked(jwt("other", "john", NOW))).isFalse();
+        assertThat(revocationList.isRevoked(jwt(null, "john", NOW))).isFalse();
+        assertThat(meterRegistry.get("app.jwt.revocation.checks").tag("result", "revoked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void revokesTokensOfSubjectIssuedBefore() {
+        revocationList.add(Revocation.ofSubject("john", NOW, EXPIRY));
+
+        assertThat(revocationList.isRevoked(jwt("a", "john", NOW.minusSeconds(1)))).isTrue();
+        assertThat(revocationList.isRevoked(jwt("b", "john", NOW))).isFalse();
+        assertThat(revocationList.isRevoked(jwt("c", "jane", NOW.minusSeconds(1)))).isFalse();
+        assertThat(meterRegistry.get("app.jwt.revocation.checks").tag("result", "passed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLatestRevocationOfSubject() {
+        revocationList.add(Revocation.ofSubject("john", NOW, EXPIRY));
+        revocationList.add(Revocation.ofSubject("john", NOW.minusSeconds(60), EXPIRY));
+
+        assertThat(revocationList.isRevoked(jwt("a", "john", NOW.minusSeconds(30)))).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removesExpiredRevocations() {
+        revocationList.add(Revocation.ofToken("expired", NOW.plusSeconds(10)));
+        revocationList.add(Revocation.ofToken("revoked", EXPIRY));
+        revocationList.add(Revocation.ofSubject("john", NOW, NOW.plusSeconds(10)));
+
+        revocationList.removeExpired(NOW.plusSeconds(10));
+
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked(jwt("expired", "jane", NOW))).isFalse();
+        assertThat(revocationList.isRevoked(jwt("a", "john", NOW.minusSeconds(1)))).isFalse();
+        assertThat(revocationList.isRevoked(jwt("revoked", "jane", NOW))).isTrue();
+    }
+
+    @Test
+    void growsBeyondExpectedEntries() {
+        applicationProperties.getTokenRevocation().setExpectedEntries(16);
+        revocationList = new TokenRevocationList(applicationProperties, meterRegistry);
+        for (int i = 0; i < 1000; i++) {
+            revocationList.add(Revocation.ofToken("revoked-" + i, EXPIRY));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(revocationList.isRevoked(jwt("revoked-" + i, "john", NOW))).isTrue();
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertThat(revocationList.isRevoked(jwt(UUID.randomUUID().toString(), "john", NOW))).isFalse();
+        }
+        // The filter was resized, so tokens which are not revoked still rarely go through the exact check
+        assertThat(meterRegistry.get("app.jwt.revocation.checks").tag("result", "passed").counter().count()).isLessThan(500);
+    }
+
+    private static Jwt jwt(String tokenId, String subject, Instant issuedAt) {
+        Jwt.Builder builder = Jwt.withTokenValue("token").header("alg", "HS512").subject(subject).issuedAt(issuedAt).expiresAt(EXPIRY);
+        if (tokenId != null) {
+            builder.jti(tokenId);
+        }
+        return builder.build();
+    }
+}
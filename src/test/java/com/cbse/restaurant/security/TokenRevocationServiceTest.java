@@ -0,0 +1,131 @@
+package com.cbse.restaurant.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link TokenRevocationService}.
+ */
+class TokenRevocationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TokenRevocationList revocationList;
+
+    private TokenRevocationService tokenRevocationService;
+
+    private final List<Timestamp> polledSince = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        revocationList = new TokenRevocationList(applicationProperties, new SimpleMeterRegistry());
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSeconds(3600);
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSecondsForRememberMe(86400);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        tokenRevocationService = new TokenRevocationService(
+            jdbcTemplate,
+            transactionManager,
+            revocationList,
+            jHipsterProperties,
+            applicationProperties
+        );
+    }
+
+    @Test
+    void revokesTokenOnEveryInstance() {
+        Jwt jwt = jwt("token-id", Instant.now().plusSeconds(600));
+
+        tokenRevocationService.revokeToken(jwt);
+
+        verify(jdbcTemplate).update(anyString(), eq("token-id"), isNull(), isNull(), eq(Timestamp.from(jwt.getExpiresAt())), any());
+        assertThat(revocationList.isRevoked(jwt)).isTrue();
+    }
+
+    @Test
+    void revokesSubjectUntilAllItsTokensExpired() {
+        tokenRevocationService.revokeSubject("john");
+
+        ArgumentCaptor<Timestamp> issuedBefore = ArgumentCaptor.forClass(Timestamp.class);
+        ArgumentCaptor<Timestamp> expiresAt = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).update(anyString(), isNull(), eq("john"), issuedBefore.capture(), expiresAt.capture(), any());
+        assertThat(expiresAt.getValue().toInstant()).isEqualTo(issuedBefore.getValue().toInstant().plusSeconds(86400));
+        assertThat(revocationList.isRevoked(jwt("token-id", Instant.now().plusSeconds(600)))).isTrue();
+    }
+
+    @Test
+    void pollsRevocationsOfOtherInstances() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("token_id")).thenReturn("other-instance");
+        when(row.getTimestamp("expires_at")).thenReturn(Timestamp.from(Instant.now().plusSeconds(600)));
+        doAnswer(invocation -> {
+            polledSince.add(invocation.getArgument(2));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        })
+            .when(jdbcTemplate)
+            .query(anyString(), any(RowCallbackHandler.class), any(Timestamp.class), any(Timestamp.class));
+
+        tokenRevocationService.poll();
+        tokenRevocationService.poll();
+
+        assertThat(revocationList.isRevoked(jwt("other-instance", Instant.now().plusSeconds(600)))).isTrue();
+        assertThat(polledSince.get(0).toInstant()).isEqualTo(Instant.EPOCH);
+        assertThat(polledSince.get(1).toInstant()).isAfter(Instant.now().minusSeconds(120)).isBefore(Instant.now().minusSeconds(50));
+    }
+
+    @Test
+    void loadsAllRevocationsAgainAfterFailedPoll() {
+        doThrow(new QueryTimeoutException("timeout"))
+            .doAnswer(invocation -> {
+                polledSince.add(invocation.getArgument(2));
+                return null;
+            })
+            .when(jdbcTemplate)
+            .query(anyString(), any(RowCallbackHandler.class), any(Timestamp.class), any(Timestamp.class));
+
+        tokenRevocationService.poll();
+        tokenRevocationService.poll();
+
+        assertThat(polledSince).containsExactly(Timestamp.from(Instant.EPOCH));
+    }
+
+    private static Jwt jwt(String tokenId, Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .jti(tokenId)
+            .subject("john")
+            .issuedAt(Instant.now().minusSeconds(60))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -1,9 +1,11 @@
 package com.cbse.restaurant.security.jwt;
 
+import com.cbse.restaurant.config.ApplicationProperties;
 import com.cbse.restaurant.config.SecurityConfiguration;
 import com.cbse.restaurant.config.SecurityJwtConfiguration;
 import com.cbse.restaurant.config.WebConfigurer;
 import com.cbse.restaurant.management.SecurityMetersService;
+import com.cbse.restaurant.security.TokenRevocationList;
 import com.cbse.restaurant.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -21,10 +23,12 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
+        TokenRevocationList.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
     }
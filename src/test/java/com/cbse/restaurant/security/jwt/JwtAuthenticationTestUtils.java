@@ -3,12 +3,16 @@ package com.cbse.restaurant.security.jwt;
 import static com.cbse.restaurant.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.cbse.restaurant.security.SecurityUtils.JWT_ALGORITHM;
 
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.security.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.Collections;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -35,6 +39,16 @@ public class JwtAuthenticationTestUtils {
         return new SimpleMeterRegistry();
     }
 
+    // The default cache manager is shared with the other test contexts, so it is not closed with this one
+    @Bean(destroyMethod = "")
+    private CacheManager jcacheManager(ApplicationProperties applicationProperties) {
+        CacheManager cacheManager = Caching.getCachingProvider().getCacheManager();
+        if (cacheManager.getCache(CachingJwtDecoder.CACHE, String.class, Object.class) == null) {
+            cacheManager.createCache(CachingJwtDecoder.CACHE, CachingJwtDecoder.cacheConfiguration(applicationProperties.getJwtCache()));
+        }
+        return cacheManager;
+    }
+
     public static String createValidToken(String jwtKey) {
         return createValidTokenForUser(jwtKey, "anonymous");
     }
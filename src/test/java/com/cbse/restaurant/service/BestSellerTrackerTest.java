@@ -0,0 +1,214 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.service.Impl.BestSellerTracker;
+import com.cbse.restaurant.service.Impl.BestSellerTracker.BestSeller;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link BestSellerTracker}.
+ */
+class BestSellerTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2031-06-06T12:32:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ApplicationProperties applicationProperties;
+
+    private BestSellerTracker bestSellerTracker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        applicationProperties = new ApplicationProperties();
+        bestSellerTracker = newTracker();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRankTheMostOrderedMenuItemsFirst() {
+        bestSellerTracker.record(1L, 2, NOW, NOW);
+        bestSellerTracker.record(2L, 5, NOW.minus(Duration.ofMinutes(20)), NOW);
+        bestSellerTracker.record(3L, 1, NOW, NOW);
+        bestSellerTracker.record(1L, 1, NOW.minus(Duration.ofMinutes(40)), NOW);
+
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, NOW)).containsExactly(
+            new BestSeller(2L, 5),
+            new BestSeller(1L, 3),
+            new BestSeller(3L, 1)
+        );
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 2, NOW)).containsExactly(
+            new BestSeller(2L, 5),
+            new BestSeller(1L, 3)
+        );
+    }
+
+    @Test
+    void shouldForgetTheOrdersOutOfTheWindow() {
+        bestSellerTracker.record(1L, 4, NOW.minus(Duration.ofHours(3)), NOW);
+        bestSellerTracker.record(2L, 1, NOW, NOW);
+        bestSellerTracker.record(3L, 9, NOW.minus(Duration.ofDays(2)), NOW);
+
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, NOW)).containsExactly(new BestSeller(2L, 1));
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.DAY, 10, NOW)).containsExactly(
+            new BestSeller(1L, 4),
+            new BestSeller(2L, 1)
+        );
+
+        Instant later = NOW.plus(Duration.ofMinutes(90));
+        bestSellerTracker.record(2L, 1, later, later);
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, later)).containsExactly(new BestSeller(2L, 1));
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.DAY, 10, later)).containsExactly(
+            new BestSeller(1L, 4),
+            new BestSeller(2L, 2)
+        );
+    }
+
+    @Test
+    void shouldKeepTheTopMenuItemsBeyondTheCapacity() {
+        applicationProperties.getBestSellers().setCapacity(2);
+        bestSellerTracker = newTracker();
+
+        bestSellerTracker.record(1L, 10, NOW, NOW);
+        bestSellerTracker.record(2L, 1, NOW, NOW);
+        bestSellerTracker.record(3L, 2, NOW, NOW);
+
+        // The menu item 3 replaces the least ordered one and inherits its count, so it is over-estimated
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, NOW)).containsExactly(
+            new BestSeller(1L, 10),
+            new BestSeller(3L, 3)
+        );
+    }
+
+    @Test
+    void shouldCountTheOrderItemsOnlyOnceCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        bestSellerTracker.recordAfterCommit(List.of(orderItem(1L, 2), orderItem(null, 3), orderItem(2L, 0)));
+
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, Instant.now())).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, Instant.now())).containsExactly(new BestSeller(1L, 2));
+    }
+
+    @Test
+    void shouldPublishOnlyTheChangedBuckets() {
+        Instant now = Instant.now();
+        bestSellerTracker.record(1L, 2, now, now);
+
+        bestSellerTracker.publish();
+        bestSellerTracker.publish();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into best_seller_bucket"), rows.capture());
+        assertThat(rows.getAllValues())
+            .extracting(bucket -> bucket.get(0)[1])
+            .containsExactlyInAnyOrder(BestSellerWindow.HOUR.name(), BestSellerWindow.DAY.name());
+        assertThat(rows.getAllValues()).allSatisfy(bucket -> assertThat(bucket.get(0)).endsWith(1L, 2L));
+    }
+
+    @Test
+    void shouldPublishTheBucketsAgainAfterAFailure() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+            .thenReturn(new int[] { 1 });
+        Instant now = Instant.now();
+        bestSellerTracker.record(1L, 2, now, now);
+
+        bestSellerTracker.publish();
+        bestSellerTracker.publish();
+
+        // The first attempt stops at the first bucket, then both buckets are published
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("insert into best_seller_bucket"), anyList());
+    }
+
+    @Test
+    void shouldMergeTheBucketsOfTheOtherNodes() throws SQLException {
+        Instant now = Instant.now();
+        ResultSet[] rows = {
+            row(BestSellerWindow.HOUR, now, 2L, 5),
+            row(BestSellerWindow.DAY, now, 2L, 5),
+            row(BestSellerWindow.HOUR, now.minus(Duration.ofHours(2)), 3L, 9),
+            row(BestSellerWindow.DAY, now.minus(Duration.ofHours(2)), 3L, 9),
+        };
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            return null;
+        })
+            .when(jdbcTemplate)
+            .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        bestSellerTracker.record(1L, 3, now, now);
+
+        bestSellerTracker.publish();
+
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.HOUR, 10, now)).containsExactly(
+            new BestSeller(2L, 5),
+            new BestSeller(1L, 3)
+        );
+        assertThat(bestSellerTracker.getBestSellers(BestSellerWindow.DAY, 10, now)).containsExactly(
+            new BestSeller(3L, 9),
+            new BestSeller(2L, 5),
+            new BestSeller(1L, 3)
+        );
+    }
+
+    private BestSellerTracker newTracker() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        return new BestSellerTracker(jdbcTemplate, transactionManager, applicationProperties);
+    }
+
+    private static OrderItem orderItem(Long menuItemId, int quantity) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(menuItemId);
+        return new OrderItem().quantity(quantity).menuItem(menuItem);
+    }
+
+    private static ResultSet row(BestSellerWindow window, Instant orderedAt, Long menuItemId, long quantity) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("time_window")).thenReturn(window.name());
+        when(rs.getTimestamp("bucket_start")).thenReturn(Timestamp.from(window.bucketStart(window.epoch(orderedAt))));
+        when(rs.getLong("menu_item_id")).thenReturn(menuItemId);
+        when(rs.getLong("quantity")).thenReturn(quantity);
+        return rs;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.service.Impl.CountEstimationService;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Unit tests for {@link CountEstimationService}.
+ */
+class CountEstimationServiceTest {
+
+    private final AtomicInteger countQueries = new AtomicInteger();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void shouldReuseCountUntilItExpires() {
+        CountEstimationService countEstimationService = new CountEstimationService(applicationProperties);
+
+        assertThat(countEstimationService.estimate(String.class, this::count)).isEqualTo(42);
+        assertThat(countEstimationService.estimate(String.class, this::count)).isEqualTo(42);
+        assertThat(countQueries.get()).isEqualTo(1);
+
+        applicationProperties.getPagination().setEstimatedCountTimeToLiveSeconds(0);
+        CountEstimationService expiringCountEstimationService = new CountEstimationService(applicationProperties);
+        expiringCountEstimationService.estimate(String.class, this::count);
+        expiringCountEstimationService.estimate(String.class, this::count);
+        assertThat(countQueries.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldShareARunningCountAndNotBlockOtherEntities() throws Exception {
+        CountEstimationService countEstimationService = new CountEstimationService(applicationProperties);
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = executor.submit(() ->
+                countEstimationService.estimate(String.class, () -> {
+                    counting.countDown();
+                    awaitQuietly(release);
+                    return count();
+                })
+            );
+            assertThat(counting.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<Long> second = executor.submit(() -> countEstimationService.estimate(String.class, this::count));
+
+            assertThat(countEstimationService.estimate(Integer.class, () -> 7)).isEqualTo(7);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(countQueries.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepEstimatedTotalConsistentWithSlice() {
+        CountEstimationService countEstimationService = new CountEstimationService(applicationProperties);
+
+        Page<String> page = countEstimationService.toPage(
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(30, 2), true),
+            String.class,
+            this::count
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(63);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).containsExactly("a", "b");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long count() {
+        countQueries.incrementAndGet();
+        return 42;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.cbse.restaurant.service.Impl.CsvFormat;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CsvFormat}.
+ */
+class CsvFormatTest {
+
+    @Test
+    void writeRecordQuotesSpecialValues() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        CsvFormat.writeRecord(writer, Arrays.asList("plain", "a;b", "say \"hi\"", "two\nlines", "", null));
+
+        assertThat(writer).hasToString("plain;\"a;b\";\"say \"\"hi\"\"\";\"two\nlines\";\"\";\n");
+    }
+
+    @Test
+    void recordsRoundTrip() throws IOException {
+        List<String> first = Arrays.asList("1", "Soup; of the day", "", null, "line one\r\nline two");
+        List<String> second = Arrays.asList("2", "\"quoted\"", "x", "y", null);
+        StringWriter writer = new StringWriter();
+        CsvFormat.writeRecord(writer, first);
+        CsvFormat.writeRecord(writer, second);
+
+        CsvFormat.RecordReader reader = new CsvFormat.RecordReader(new StringReader(writer.toString()));
+
+        assertThat(reader.next()).isEqualTo(first);
+        assertThat(reader.next()).isEqualTo(second);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void lineNumberIsTheFirstLineOfTheRecord() throws IOException {
+        CsvFormat.RecordReader reader = new CsvFormat.RecordReader(new StringReader("id;name\r\n1;\"multi\nline\nname\"\n2;last"));
+
+        assertThat(reader.next()).containsExactly("id", "name");
+        assertThat(reader.getLineNumber()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("1", "multi\nline\nname");
+        assertThat(reader.getLineNumber()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("2", "last");
+        assertThat(reader.getLineNumber()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() {
+        CsvFormat.RecordReader reader = new CsvFormat.RecordReader(new StringReader("1;\"never closed\n2;x\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class).hasMessageContaining("line 1");
+    }
+}
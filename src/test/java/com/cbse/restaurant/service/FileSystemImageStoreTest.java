@@ -0,0 +1,59 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.service.Impl.FileSystemImageStore;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+/**
+ * Unit tests for {@link FileSystemImageStore}.
+ */
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getImageStore().setDirectory(directory.toString());
+        imageStore = new FileSystemImageStore(applicationProperties);
+    }
+
+    @Test
+    void shouldKeyImagesByContentHash() {
+        byte[] content = "hipster".getBytes(StandardCharsets.UTF_8);
+
+        String hash = imageStore.store(content);
+
+        assertThat(hash).matches("[0-9a-f]{64}");
+        assertThat(imageStore.store(content)).isEqualTo(hash);
+        assertThat(imageStore.store("other".getBytes(StandardCharsets.UTF_8))).isNotEqualTo(hash);
+        assertThat(directory.resolve(hash.substring(0, 2)).resolve(hash)).exists();
+    }
+
+    @Test
+    void shouldLoadStoredImage() throws Exception {
+        byte[] content = "hipster".getBytes(StandardCharsets.UTF_8);
+        String hash = imageStore.store(content);
+
+        Resource image = imageStore.load(hash).orElseThrow();
+
+        assertThat(image.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void shouldNotLoadUnknownOrMalformedHash() {
+        assertThat(imageStore.load("0".repeat(64))).isEmpty();
+        assertThat(imageStore.load("../../etc/passwd")).isEmpty();
+        assertThat(imageStore.load(null)).isEmpty();
+    }
+}
@@ -0,0 +1,149 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.service.Impl.KitchenFeedService;
+import com.cbse.restaurant.service.dto.OrderStatusEventDTO;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link KitchenFeedService}.
+ */
+class KitchenFeedServiceTest {
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getKitchenFeed().setHistorySize(3);
+        applicationProperties.getKitchenFeed().setSubscriberBufferSize(2);
+    }
+
+    @Test
+    void shouldDeliverStatusTransitionsInOrder() {
+        KitchenFeedService kitchenFeedService = new KitchenFeedService(Runnable::run, applicationProperties);
+        RecordingListener listener = new RecordingListener();
+        kitchenFeedService.subscribe(null, listener);
+
+        Order order = new Order().id(1L).status(OrderStatus.NEW);
+        kitchenFeedService.publishAfterCommit(order, null);
+        kitchenFeedService.publishAfterCommit(order, OrderStatus.NEW);
+        kitchenFeedService.publishAfterCommit(order.status(OrderStatus.PREPARING), OrderStatus.NEW);
+
+        assertThat(listener.events).extracting(OrderStatusEventDTO::getStatus).containsExactly(OrderStatus.NEW, OrderStatus.PREPARING);
+        assertThat(listener.events.get(1).getPreviousStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(listener.events.get(1).getEventId()).isEqualTo(listener.events.get(0).getEventId() + 1);
+        assertThat(listener.resyncs).isZero();
+    }
+
+    @Test
+    void shouldReplayMissedEventsOnResume() {
+        KitchenFeedService kitchenFeedService = new KitchenFeedService(Runnable::run, applicationProperties);
+        long firstEventId = publish(kitchenFeedService, OrderStatus.NEW);
+        publish(kitchenFeedService, OrderStatus.PREPARING);
+        publish(kitchenFeedService, OrderStatus.READY);
+
+        RecordingListener listener = new RecordingListener();
+        kitchenFeedService.subscribe(firstEventId, listener);
+
+        assertThat(listener.events).extracting(OrderStatusEventDTO::getStatus).containsExactly(OrderStatus.PREPARING, OrderStatus.READY);
+        assertThat(listener.resyncs).isZero();
+    }
+
+    @Test
+    void shouldRequestResyncWhenEventsAreNoLongerInHistory() {
+        KitchenFeedService kitchenFeedService = new KitchenFeedService(Runnable::run, applicationProperties);
+        long firstEventId = publish(kitchenFeedService, OrderStatus.NEW);
+        publish(kitchenFeedService, OrderStatus.PREPARING);
+        publish(kitchenFeedService, OrderStatus.READY);
+        publish(kitchenFeedService, OrderStatus.DELIVERED);
+        publish(kitchenFeedService, OrderStatus.COMPLETED);
+
+        RecordingListener listener = new RecordingListener();
+        kitchenFeedService.subscribe(firstEventId, listener);
+
+        assertThat(listener.resyncs).isEqualTo(1);
+        assertThat(listener.events).isEmpty();
+
+        publish(kitchenFeedService, OrderStatus.CANCELLED);
+        assertThat(listener.events).extracting(OrderStatusEventDTO::getStatus).containsExactly(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldDisconnectSlowSubscriber() {
+        Executor stalledExecutor = pendingTasks::add;
+        KitchenFeedService kitchenFeedService = new KitchenFeedService(stalledExecutor, applicationProperties);
+        RecordingListener listener = new RecordingListener();
+        kitchenFeedService.subscribe(null, listener);
+
+        publish(kitchenFeedService, OrderStatus.NEW);
+        publish(kitchenFeedService, OrderStatus.PREPARING);
+        assertThat(listener.closed).isFalse();
+        publish(kitchenFeedService, OrderStatus.READY);
+
+        assertThat(listener.closed).isTrue();
+        assertThat(kitchenFeedService.getSubscriberCount()).isZero();
+        pendingTasks.forEach(Runnable::run);
+        assertThat(listener.events).isEmpty();
+    }
+
+    @Test
+    void shouldCancelSubscriptionWhenClientIsGone() {
+        KitchenFeedService kitchenFeedService = new KitchenFeedService(Runnable::run, applicationProperties);
+        RecordingListener listener = new RecordingListener();
+        listener.failing = true;
+        kitchenFeedService.subscribe(null, listener);
+
+        publish(kitchenFeedService, OrderStatus.NEW);
+
+        assertThat(kitchenFeedService.getSubscriberCount()).isZero();
+    }
+
+    private static long publish(KitchenFeedService kitchenFeedService, OrderStatus status) {
+        OrderStatusEventDTO event = new OrderStatusEventDTO();
+        event.setOrderId(1L);
+        event.setStatus(status);
+        kitchenFeedService.publish(event);
+        return event.getEventId();
+    }
+
+    private static class RecordingListener implements KitchenFeedService.Listener {
+
+        private final List<OrderStatusEventDTO> events = new ArrayList<>();
+
+        private int resyncs;
+
+        private boolean closed;
+
+        private boolean failing;
+
+        @Override
+        public void onEvent(OrderStatusEventDTO event) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void onResync() {
+            resyncs++;
+        }
+
+        @Override
+        public void onClose() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Customer;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.service.Impl.LoyaltyAccrualService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for {@link LoyaltyAccrualService}.
+ */
+class LoyaltyAccrualServiceTest {
+
+    private static final Instant LUNCH = Instant.parse("2031-06-06T12:30:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private LoyaltyAccrualService loyaltyAccrualService;
+
+    /**
+     * Points and last visit applied to each customer by the batched UPDATEs.
+     */
+    private final Map<Long, Integer> appliedPoints = new HashMap<>();
+
+    private final Map<Long, LocalDate> appliedVisits = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        when(jdbcTemplate.update(startsWith("insert into loyalty_journal"), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<Object> credits = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object credit : credits) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, credit);
+                var points = ArgumentCaptor.forClass(Integer.class);
+                var customerId = ArgumentCaptor.forClass(Long.class);
+                var lastVisit = ArgumentCaptor.forClass(Date.class);
+                verify(ps).setInt(eq(1), points.capture());
+                verify(ps).setDate(eq(3), lastVisit.capture());
+                verify(ps).setLong(eq(4), customerId.capture());
+                appliedPoints.merge(customerId.getValue(), points.getValue(), Integer::sum);
+                appliedVisits.put(customerId.getValue(), lastVisit.getValue().toLocalDate());
+            }
+            return new int[0][];
+        });
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoyalty().setPointsPerCurrencyUnit(2);
+        loyaltyAccrualService = new LoyaltyAccrualService(
+            jdbcTemplate,
+            namedParameterJdbcTemplate,
+            transactionManager,
+            entityManagerFactory,
+            applicationProperties
+        );
+    }
+
+    @Test
+    void shouldOnlyCreditOrdersReachingCompleted() {
+        loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.READY, "10.00", LUNCH), OrderStatus.PREPARING);
+        loyaltyAccrualService.creditIfCompleted(order(2L, 7L, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.COMPLETED);
+        loyaltyAccrualService.creditIfCompleted(order(3L, null, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.READY);
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        loyaltyAccrualService.flush();
+        assertThat(appliedPoints).isEmpty();
+    }
+
+    @Test
+    void shouldSumPointsPerCustomerInOneBatch() {
+        when(namedParameterJdbcTemplate.update(anyString(), anyMap())).thenAnswer(invocation ->
+            ((Collection<?>) invocation.<Map<String, ?>>getArgument(1).get("orderIds")).size()
+        );
+
+        loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.COMPLETED, "12.75", LUNCH), OrderStatus.READY);
+        loyaltyAccrualService.creditIfCompleted(order(2L, 7L, OrderStatus.COMPLETED, "20.00", LUNCH.plusSeconds(86400)), null);
+        loyaltyAccrualService.creditIfCompleted(order(3L, 8L, OrderStatus.COMPLETED, "5.40", LUNCH), OrderStatus.DELIVERED);
+        loyaltyAccrualService.flush();
+
+        assertThat(appliedPoints).containsEntry(7L, 25 + 40).containsEntry(8L, 10).hasSize(2);
+        assertThat(appliedVisits).containsEntry(7L, LocalDate.ofInstant(LUNCH.plusSeconds(86400), ZoneId.systemDefault()));
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        appliedPoints.clear();
+        loyaltyAccrualService.flush();
+        assertThat(appliedPoints).isEmpty();
+    }
+
+    @Test
+    void shouldCreditAnOrderOnlyOnce() {
+        when(namedParameterJdbcTemplate.update(anyString(), anyMap())).thenAnswer(invocation ->
+            ((Collection<?>) invocation.<Map<String, ?>>getArgument(1).get("orderIds")).size()
+        );
+        when(jdbcTemplate.update(startsWith("insert into loyalty_journal"), any(Object[].class)))
+            .thenReturn(1)
+            .thenThrow(new DuplicateKeyException("Duplicate entry '1' for key 'loyalty_journal.PRIMARY'"));
+
+        loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.READY);
+        loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.READY);
+        loyaltyAccrualService.flush();
+
+        assertThat(appliedPoints).containsEntry(7L, 20).hasSize(1);
+    }
+
+    @Test
+    void shouldNotCreditAnOrderWhoseJournalRowIsRejected() {
+        when(jdbcTemplate.update(startsWith("insert into loyalty_journal"), any(Object[].class))).thenThrow(
+            new DataIntegrityViolationException("Column 'customer_id' cannot be null")
+        );
+
+        assertThatThrownBy(() ->
+            loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.READY)
+        ).isInstanceOf(DataIntegrityViolationException.class);
+        loyaltyAccrualService.flush();
+
+        assertThat(appliedPoints).isEmpty();
+    }
+
+    @Test
+    void shouldKeepPointsWhenFlushFails() {
+        List<Integer> claims = new ArrayList<>();
+        when(namedParameterJdbcTemplate.update(anyString(), anyMap())).thenAnswer(invocation -> {
+            if (claims.isEmpty()) {
+                claims.add(0);
+                throw new DataAccessResourceFailureException("Database is down");
+            }
+            return ((Collection<?>) invocation.<Map<String, ?>>getArgument(1).get("orderIds")).size();
+        });
+
+        loyaltyAccrualService.creditIfCompleted(order(1L, 7L, OrderStatus.COMPLETED, "10.00", LUNCH), OrderStatus.READY);
+        loyaltyAccrualService.flush();
+        assertThat(appliedPoints).isEmpty();
+
+        loyaltyAccrualService.creditIfCompleted(order(2L, 7L, OrderStatus.COMPLETED, "1.00", LUNCH), OrderStatus.READY);
+        loyaltyAccrualService.flush();
+        assertThat(appliedPoints).containsEntry(7L, 22);
+    }
+
+    private Order order(Long id, Long customerId, OrderStatus status, String totalAmount, Instant orderDate) {
+        return new Order()
+            .id(id)
+            .status(status)
+            .totalAmount(new BigDecimal(totalAmount))
+            .orderDate(orderDate)
+            .customer(customerId != null ? new Customer().id(customerId) : null);
+    }
+}
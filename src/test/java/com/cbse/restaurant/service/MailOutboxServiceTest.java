@@ -0,0 +1,218 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.service.Impl.MailOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link MailOutboxService}.
+ */
+class MailOutboxServiceTest {
+
+    private static final String MARK_SENT = "update mail_outbox set status = ?, sent_date = ?, last_error = null where id = ?";
+
+    private static final String MARK_RETRIED = "update mail_outbox set next_attempt_date = ?, last_error = ? where id = ?";
+
+    private static final String MARK_FAILED = "update mail_outbox set status = ?, last_error = ? where id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private JavaMailSender javaMailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private MailOutboxService mailOutboxService;
+
+    /**
+     * Batches returned by the successive claims, each row being {@code id, recipient, attempts}.
+     */
+    private final LinkedList<List<Object[]>> claims = new LinkedList<>();
+
+    private final List<MimeMessage[]> sentBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        javaMailSender = mock(JavaMailSender.class);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("restaurant@localhost");
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            MimeMessage[] batch = new MimeMessage[invocation.getArguments().length];
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = invocation.getArgument(i);
+            }
+            sentBatches.add(batch);
+            return null;
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+        when(jdbcTemplate.query(startsWith("select id, recipient"), any(RowMapper.class), any(), any(), any())).thenAnswer(invocation -> {
+            RowMapper<?> rowMapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (Object[] row : claims.isEmpty() ? List.<Object[]>of() : claims.removeFirst()) {
+                rows.add(rowMapper.mapRow(resultSet(row), rows.size()));
+            }
+            return rows;
+        });
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any())).thenReturn(0L);
+
+        mailOutboxService = new MailOutboxService(
+            jdbcTemplate,
+            transactionManager,
+            javaMailSender,
+            jHipsterProperties,
+            applicationProperties,
+            meterRegistry
+        );
+    }
+
+    private static ResultSet resultSet(Object[] row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn((Long) row[0]);
+        when(rs.getString("recipient")).thenReturn((String) row[1]);
+        when(rs.getString("subject")).thenReturn("Subject");
+        when(rs.getString("content")).thenReturn("<html>content</html>");
+        when(rs.getBoolean("multipart")).thenReturn(false);
+        when(rs.getBoolean("html")).thenReturn(true);
+        when(rs.getInt("attempts")).thenReturn((Integer) row[2]);
+        when(rs.getTimestamp("created_date")).thenReturn(Timestamp.from(Instant.now().minusSeconds(2)));
+        return rs;
+    }
+
+    @Test
+    void sendsDueMessagesOverOneConnectionAndMarksThemSent() {
+        claims.add(List.<Object[]>of(new Object[] { 1L, "a@example.com", 0 }, new Object[] { 2L, "b@example.com", 0 }));
+
+        mailOutboxService.dispatch();
+
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).hasSize(2);
+        assertThat(updatedIds(MARK_SENT)).containsExactlyInAnyOrder(1L, 2L);
+        verify(jdbcTemplate, never()).batchUpdate(eq(MARK_RETRIED), anyList());
+        assertThat(meterRegistry.get("app.mail.outbox.messages").tag("result", "sent").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.mail.outbox.delivery").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.mail.outbox.send").timer().count()).isEqualTo(1);
+        // A partial batch means that nothing else is due
+        verify(jdbcTemplate, times(1)).query(startsWith("select id, recipient"), any(RowMapper.class), any(), any(), any());
+    }
+
+    @Test
+    void keepsClaimingWhileBatchesAreFull() {
+        applicationProperties.getMailOutbox().setBatchSize(2);
+        claims.add(List.<Object[]>of(new Object[] { 1L, "a@example.com", 0 }, new Object[] { 2L, "b@example.com", 0 }));
+        claims.add(List.<Object[]>of(new Object[] { 3L, "c@example.com", 0 }));
+
+        mailOutboxService.dispatch();
+
+        assertThat(sentBatches).hasSize(2);
+        verify(jdbcTemplate, times(2)).query(startsWith("select id, recipient"), any(RowMapper.class), any(), any(), any());
+    }
+
+    @Test
+    void retriesRejectedMessageWithExponentialBackoff() {
+        claims.add(List.<Object[]>of(new Object[] { 1L, "a@example.com", 0 }, new Object[] { 2L, "b@example.com", 2 }));
+        doAnswer(invocation -> {
+            throw new MailSendException(Map.of(invocation.getArgument(1), new Exception("Mailbox unavailable")));
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        mailOutboxService.dispatch();
+
+        assertThat(updatedIds(MARK_SENT)).containsExactly(1L);
+        List<Object[]> retried = updates(MARK_RETRIED);
+        assertThat(retried).hasSize(1);
+        assertThat(retried.get(0)[2]).isEqualTo(2L);
+        assertThat(retried.get(0)[1]).isEqualTo("Mailbox unavailable");
+        // Third attempt: 30 seconds doubled twice
+        Instant nextAttempt = ((Timestamp) retried.get(0)[0]).toInstant();
+        assertThat(nextAttempt).isCloseTo(Instant.now().plusSeconds(120), within(5, ChronoUnit.SECONDS));
+        assertThat(meterRegistry.get("app.mail.outbox.messages").tag("result", "retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void marksMessageFailedAfterTheLastAttempt() {
+        claims.add(List.<Object[]>of(new Object[] { 1L, "a@example.com", 7 }, new Object[] { 2L, "b@example.com", 0 }));
+        doAnswer(invocation -> {
+            throw new MailSendException("Connection refused");
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        mailOutboxService.dispatch();
+
+        verify(jdbcTemplate, never()).batchUpdate(eq(MARK_SENT), anyList());
+        assertThat(updatedIds(MARK_FAILED)).containsExactly(1L);
+        assertThat(updatedIds(MARK_RETRIED)).containsExactly(2L);
+        assertThat(meterRegistry.get("app.mail.outbox.messages").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        applicationProperties.getMailOutbox().setMaxAttempts(20);
+        claims.add(List.<Object[]>of(new Object[] { 1L, "a@example.com", 9 }));
+        doAnswer(invocation -> {
+            throw new MailSendException("Connection refused");
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        mailOutboxService.dispatch();
+
+        Instant nextAttempt = ((Timestamp) updates(MARK_RETRIED).get(0)[0]).toInstant();
+        assertThat(nextAttempt).isCloseTo(Instant.now().plusSeconds(3600), within(5, ChronoUnit.SECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> updates(String sql) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(sql), captor.capture());
+        return captor.getValue();
+    }
+
+    private List<Long> updatedIds(String sql) {
+        return updates(sql).stream().map(args -> (Long) args[2]).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.User;
+import com.cbse.restaurant.service.Impl.MailTemplateRenderer;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link MailTemplateRenderer}.
+ */
+class MailTemplateRendererTest {
+
+    private static final List<String> TEMPLATES = List.of(
+        MailTemplateRenderer.ACTIVATION_TEMPLATE,
+        MailTemplateRenderer.CREATION_TEMPLATE,
+        MailTemplateRenderer.PASSWORD_RESET_TEMPLATE
+    );
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    private SpringTemplateEngine templateEngine;
+
+    private ApplicationProperties applicationProperties;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = spy(new SpringTemplateEngine());
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        applicationProperties = new ApplicationProperties();
+
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void precompiledTemplatesRenderLikeThymeleaf() {
+        mailTemplateRenderer.precompile();
+        User user = user("<john> & \"jane\" o'neil");
+
+        for (String language : List.of("en", "es")) {
+            Locale locale = Locale.forLanguageTag(language);
+            for (String template : TEMPLATES) {
+                assertThat(mailTemplateRenderer.isPrecompiled(template, locale)).as(template + " " + language).isTrue();
+                assertThat(mailTemplateRenderer.render(template, locale, user))
+                    .as(template + " " + language)
+                    .isEqualTo(process(template, locale, user));
+            }
+        }
+    }
+
+    @Test
+    void precompiledTemplatesAreNotEvaluatedAgain() {
+        mailTemplateRenderer.precompile();
+        int processedAtStartup = 2 * TEMPLATES.size() * applicationProperties.getMailTemplates().getLanguages().size();
+
+        for (int i = 0; i < 10; i++) {
+            mailTemplateRenderer.render(MailTemplateRenderer.ACTIVATION_TEMPLATE, Locale.ENGLISH, user("john" + i));
+        }
+
+        verify(templateEngine, times(processedAtStartup)).process(anyString(), any(IContext.class), any(Writer.class));
+    }
+
+    @Test
+    void missingPropertiesAreRenderedByThymeleaf() {
+        User user = user("john");
+        user.setResetKey(null);
+
+        String content = mailTemplateRenderer.render(MailTemplateRenderer.PASSWORD_RESET_TEMPLATE, Locale.ENGLISH, user);
+
+        assertThat(content).isEqualTo(process(MailTemplateRenderer.PASSWORD_RESET_TEMPLATE, Locale.ENGLISH, user));
+    }
+
+    @Test
+    void otherTemplatesArePrecompiledOnFirstUse() {
+        // The test template is not compiled at startup
+        assertThat(mailTemplateRenderer.isPrecompiled("mail/testEmail", Locale.ENGLISH)).isTrue();
+        User user = user("john");
+
+        assertThat(mailTemplateRenderer.render("mail/testEmail", Locale.ENGLISH, user)).isEqualTo(
+            process("mail/testEmail", Locale.ENGLISH, user)
+        );
+    }
+
+    @Test
+    void subjectsAreCached() {
+        assertThat(mailTemplateRenderer.getSubject(MailTemplateRenderer.ACTIVATION_TITLE_KEY, Locale.ENGLISH)).isEqualTo(
+            "restaurant account activation"
+        );
+        assertThat(mailTemplateRenderer.getSubject(MailTemplateRenderer.RESET_TITLE_KEY, Locale.forLanguageTag("es"))).isNotBlank();
+    }
+
+    @Test
+    void cacheCanBeDisabled() {
+        applicationProperties.getMailTemplates().setCacheEnabled(false);
+        mailTemplateRenderer.precompile();
+
+        mailTemplateRenderer.render(MailTemplateRenderer.ACTIVATION_TEMPLATE, Locale.ENGLISH, user("john"));
+        mailTemplateRenderer.render(MailTemplateRenderer.ACTIVATION_TEMPLATE, Locale.ENGLISH, user("jane"));
+
+        verify(templateEngine, times(2)).process(anyString(), any(IContext.class), any(Writer.class));
+    }
+
+    private String process(String template, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        return templateEngine.process(template, context);
+    }
+
+    private static User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setLangKey("en");
+        user.setActivationKey("activation<key>&1");
+        user.setResetKey("reset\"key'2");
+        return user;
+    }
+}
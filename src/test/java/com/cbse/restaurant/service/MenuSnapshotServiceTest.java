@@ -0,0 +1,99 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.service.Impl.MenuSnapshotService;
+import com.cbse.restaurant.service.mapper.MenuItemMapperImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for {@link MenuSnapshotService}.
+ */
+class MenuSnapshotServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MenuItemRepository menuItemRepository;
+
+    private PlatformTransactionManager transactionManager;
+
+    private MenuSnapshotService menuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository = mock(MenuItemRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        menuSnapshotService = new MenuSnapshotService(
+            menuItemRepository,
+            new MenuItemMapperImpl(),
+            objectMapper,
+            transactionManager,
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    void shouldGroupAvailableItemsByCategory() throws Exception {
+        when(menuItemRepository.findAllByIsAvailableTrue(any(Sort.class))).thenReturn(
+            List.of(menuItem(1L, MenuCategory.APPETIZER), menuItem(2L, MenuCategory.DESSERT), menuItem(3L, MenuCategory.APPETIZER))
+        );
+
+        JsonNode menu = objectMapper.readTree(menuSnapshotService.getSnapshot().getContent());
+
+        assertThat(menu.get("APPETIZER")).hasSize(2);
+        assertThat(menu.get("DESSERT")).hasSize(1);
+        assertThat(menu.has("MAIN_COURSE")).isFalse();
+    }
+
+    @Test
+    void shouldServeCachedSnapshotUntilInvalidated() {
+        when(menuItemRepository.findAllByIsAvailableTrue(any(Sort.class)))
+            .thenReturn(List.of(menuItem(1L, MenuCategory.APPETIZER)))
+            .thenReturn(List.of(menuItem(1L, MenuCategory.APPETIZER), menuItem(2L, MenuCategory.DESSERT)));
+
+        MenuSnapshotService.MenuSnapshot first = menuSnapshotService.getSnapshot();
+        assertThat(menuSnapshotService.getSnapshot()).isSameAs(first);
+        verify(menuItemRepository, times(1)).findAllByIsAvailableTrue(any(Sort.class));
+        // Only the rebuild opens a transaction, the cached snapshot is served without a connection
+        verify(transactionManager, times(1)).getTransaction(any());
+
+        menuSnapshotService.invalidateAfterCommit();
+        MenuSnapshotService.MenuSnapshot second = menuSnapshotService.getSnapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isNotEqualTo(first.getVersion());
+        verify(menuItemRepository, times(2)).findAllByIsAvailableTrue(any(Sort.class));
+    }
+
+    @Test
+    void shouldKeepVersionStableForSameContent() {
+        when(menuItemRepository.findAllByIsAvailableTrue(any(Sort.class))).thenReturn(List.of(menuItem(1L, MenuCategory.APPETIZER)));
+
+        String version = menuSnapshotService.getSnapshot().getVersion();
+        menuSnapshotService.invalidate();
+
+        assertThat(menuSnapshotService.getSnapshot().getVersion()).isEqualTo(version);
+    }
+
+    private static MenuItem menuItem(Long id, MenuCategory category) {
+        return new MenuItem().id(id).name("item " + id).price(BigDecimal.TEN).category(category).isAvailable(true);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.service.Impl.QueryCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link QueryCacheService}.
+ */
+class QueryCacheServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Cache cache;
+
+    private QueryCacheService queryCacheService;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(Cache.class);
+        jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        queryCacheService = new QueryCacheService(entityManagerFactory, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldEvictImmediatelyWithoutTransaction() {
+        queryCacheService.evictAfterCommit(MenuItemRepository.QUERY_CACHE);
+
+        verify(cache).evictQueryRegion(MenuItemRepository.QUERY_CACHE);
+        assertThat(invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        queryCacheService.evictAfterCommit(MenuItemRepository.QUERY_CACHE);
+
+        verify(cache, never()).evictQueryRegion(MenuItemRepository.QUERY_CACHE);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache).evictQueryRegion(MenuItemRepository.QUERY_CACHE);
+        assertThat(invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotEvictOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        queryCacheService.evictAfterCommit(MenuItemRepository.QUERY_CACHE);
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(cache, never()).evictQueryRegion(MenuItemRepository.QUERY_CACHE);
+        assertThat(invalidations()).isZero();
+    }
+
+    private double invalidations() {
+        var counter = meterRegistry.find("app.query.cache.invalidations").tag("region", MenuItemRepository.QUERY_CACHE).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
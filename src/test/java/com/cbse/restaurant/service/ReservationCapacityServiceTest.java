@@ -0,0 +1,159 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.domain.Reservation;
+import com.cbse.restaurant.domain.enumeration.ReservationStatus;
+import com.cbse.restaurant.repository.ReservationRepository;
+import com.cbse.restaurant.repository.ReservationRepository.ReservationSeats;
+import com.cbse.restaurant.service.Impl.ReservationCapacityException;
+import com.cbse.restaurant.service.Impl.ReservationCapacityService;
+import com.cbse.restaurant.service.dto.SlotAvailabilityDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ReservationCapacityService}.
+ */
+class ReservationCapacityServiceTest {
+
+    private static final Instant EVENING = Instant.parse("2031-06-06T19:30:00Z");
+
+    private ReservationRepository reservationRepository;
+
+    private ReservationCapacityService reservationCapacityService;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReservationCapacity().setSeats(10);
+        applicationProperties.getReservationCapacity().setSlotMinutes(30);
+        applicationProperties.getReservationCapacity().setSittingMinutes(120);
+        reservationCapacityService = new ReservationCapacityService(reservationRepository, applicationProperties);
+    }
+
+    @Test
+    void shouldRejectOverbooking() {
+        reservationCapacityService.hold(reservation(1L, EVENING, 6));
+
+        assertThatThrownBy(() -> reservationCapacityService.hold(reservation(2L, EVENING.plusSeconds(3600), 5))).isInstanceOf(
+            ReservationCapacityException.class
+        );
+        reservationCapacityService.hold(reservation(3L, EVENING.plusSeconds(3600), 4));
+        reservationCapacityService.hold(reservation(4L, EVENING.plusSeconds(7200), 6));
+    }
+
+    @Test
+    void shouldReplaceBookingOnUpdateAndRelease() {
+        Reservation reservation = reservation(1L, EVENING, 10);
+        reservationCapacityService.hold(reservation);
+        reservationCapacityService.hold(reservation.partySize(8));
+        reservationCapacityService.hold(reservation(2L, EVENING, 2));
+
+        reservationCapacityService.hold(reservation.status(ReservationStatus.CANCELLED));
+        reservationCapacityService.hold(reservation(3L, EVENING, 8));
+
+        reservationCapacityService.releaseAfterCommit(3L);
+        reservationCapacityService.hold(reservation(4L, EVENING, 8));
+    }
+
+    @Test
+    void shouldListAvailableSlots() {
+        reservationCapacityService.hold(reservation(1L, EVENING, 7));
+
+        List<SlotAvailabilityDTO> availability = reservationCapacityService.getAvailability(
+            EVENING.minusSeconds(7200),
+            EVENING.plusSeconds(9000),
+            4
+        );
+
+        assertThat(availability)
+            .extracting(SlotAvailabilityDTO::getStart)
+            .containsExactly(EVENING.minusSeconds(7200), EVENING.plusSeconds(7200));
+        assertThat(reservationCapacityService.getAvailability(EVENING, EVENING.plusSeconds(1800), 3))
+            .singleElement()
+            .extracting(SlotAvailabilityDTO::getAvailableSeats)
+            .isEqualTo(3);
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        ReservationSeats seats = mock(ReservationSeats.class);
+        when(seats.getId()).thenReturn(1L);
+        when(seats.getReservationDate()).thenReturn(EVENING);
+        when(seats.getPartySize()).thenReturn(9);
+        when(reservationRepository.findSeatsByStatusInAndReservationDateFrom(any(), any())).thenReturn(List.of(seats));
+
+        assertThatThrownBy(() -> reservationCapacityService.hold(reservation(2L, EVENING, 2))).isInstanceOf(
+            ReservationCapacityException.class
+        );
+        reservationCapacityService.hold(reservation(1L, EVENING, 10));
+    }
+
+    @Test
+    void shouldAllowEditingBookingsOfAnOverbookedSlot() {
+        ReservationSeats first = mock(ReservationSeats.class);
+        when(first.getId()).thenReturn(1L);
+        when(first.getReservationDate()).thenReturn(EVENING);
+        when(first.getPartySize()).thenReturn(6);
+        ReservationSeats second = mock(ReservationSeats.class);
+        when(second.getId()).thenReturn(2L);
+        when(second.getReservationDate()).thenReturn(EVENING);
+        when(second.getPartySize()).thenReturn(6);
+        when(reservationRepository.findSeatsByStatusInAndReservationDateFrom(any(), any())).thenReturn(List.of(first, second));
+
+        reservationCapacityService.hold(reservation(1L, EVENING, 6).specialRequests("Window seat"));
+        reservationCapacityService.hold(reservation(2L, EVENING, 5));
+
+        assertThatThrownBy(() -> reservationCapacityService.hold(reservation(2L, EVENING, 6))).isInstanceOf(
+            ReservationCapacityException.class
+        );
+        assertThatThrownBy(() -> reservationCapacityService.hold(reservation(1L, EVENING.plusSeconds(1800), 6))).isInstanceOf(
+            ReservationCapacityException.class
+        );
+    }
+
+    @Test
+    void shouldNotOverbookUnderConcurrentBookings() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (long id = 1; id <= threads; id++) {
+            long reservationId = id;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    reservationCapacityService.hold(reservation(reservationId, EVENING, 3));
+                    accepted.incrementAndGet();
+                } catch (ReservationCapacityException e) {
+                    // Expected once the seats are gone
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accepted.get()).isEqualTo(3);
+    }
+
+    private static Reservation reservation(Long id, Instant date, int partySize) {
+        return new Reservation().id(id).reservationDate(date).partySize(partySize).status(ReservationStatus.CONFIRMED);
+    }
+}
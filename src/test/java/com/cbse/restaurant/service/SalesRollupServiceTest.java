@@ -0,0 +1,337 @@
+package com.cbse.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cbse.restaurant.config.ApplicationProperties;
+import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.Impl.SalesRollupService;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for {@link SalesRollupService}.
+ */
+class SalesRollupServiceTest {
+
+    /**
+     * A zone whose hours are not those of UTC, so that the buckets show which zone they were aligned on.
+     */
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private static final Instant LUNCH = LocalDateTime.parse("2031-06-06T12:30:00").atZone(ZONE).toInstant();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderRepository orderRepository;
+
+    private PlatformTransactionManager transactionManager;
+
+    private SalesRollupService salesRollupService;
+
+    /**
+     * Arguments of the batched statements, by statement prefix.
+     */
+    private final Map<String, List<Object[]>> batches = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> args = invocation.getArgument(1);
+            String statement = sql.contains(" (") ? sql.substring(0, sql.indexOf(" (")) : sql;
+            batches.computeIfAbsent(statement, key -> new ArrayList<>()).addAll(args);
+            return new int[args.size()];
+        });
+        orderRepository = mock(OrderRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSalesRollup().setTimeZone(ZONE);
+        salesRollupService = new SalesRollupService(jdbcTemplate, orderRepository, transactionManager, applicationProperties);
+    }
+
+    @Test
+    void shouldJournalAndRecordTheOrderAndItsItemsWhenCompleted() throws SQLException {
+        order("COMPLETED", "CASH");
+        orderItems(
+            row("menu_item_id", 7L, "category", "MAIN_COURSE", "quantity", 2, "subtotal", new BigDecimal("20.00")),
+            row("menu_item_id", 3L, "category", "DESSERT", "quantity", 1, "subtotal", new BigDecimal("4.00")),
+            row("menu_item_id", 7L, "category", "MAIN_COURSE", "quantity", 1, "subtotal", new BigDecimal("10.00"))
+        );
+
+        salesRollupService.recordChange(1L);
+
+        verify(orderRepository).flush();
+        List<Object[]> journal = batches.get("insert into sales_journal");
+        assertThat(journal).hasSize(3);
+        assertThat(journal.get(0)).containsExactly(1L, ts(LUNCH), "CASH", null, null, 1, new BigDecimal("30.00"));
+        assertThat(journal.get(1)).containsExactly(1L, ts(LUNCH), "CASH", 3L, "DESSERT", 1, new BigDecimal("4.00"));
+        assertThat(journal.get(2)).containsExactly(1L, ts(LUNCH), "CASH", 7L, "MAIN_COURSE", 3, new BigDecimal("30.00"));
+        assertThat(batches.get("insert into sales_recorded")).usingRecursiveFieldByFieldElementComparator().isEqualTo(journal);
+    }
+
+    @Test
+    void shouldJournalTheNegationOfTheRecordedSalesWhenNoLongerCompleted() throws SQLException {
+        order("CANCELLED", "CASH");
+        recorded(
+            recordedOrder("CASH", "30.00"),
+            recordedItem("CASH", 7L, "MAIN_COURSE", 2, "20.00")
+        );
+
+        salesRollupService.recordChange(1L);
+
+        List<Object[]> journal = batches.get("insert into sales_journal");
+        assertThat(journal).hasSize(2);
+        assertThat(journal.get(0)).containsExactly(1L, ts(LUNCH), "CASH", null, null, -1, new BigDecimal("-30.00"));
+        assertThat(journal.get(1)).containsExactly(1L, ts(LUNCH), "CASH", 7L, "MAIN_COURSE", -2, new BigDecimal("-20.00"));
+        verify(jdbcTemplate).update("delete from sales_recorded where order_id = ?", 1L);
+        assertThat(batches).doesNotContainKey("insert into sales_recorded");
+    }
+
+    @Test
+    void shouldJournalTheNegationOfTheRecordedSalesWhenDeleted() throws SQLException {
+        recorded(recordedOrder("CASH", "30.00"));
+
+        salesRollupService.recordChange(1L);
+
+        assertThat(batches.get("insert into sales_journal")).singleElement().satisfies(entry ->
+            assertThat(entry).containsExactly(1L, ts(LUNCH), "CASH", null, null, -1, new BigDecimal("-30.00"))
+        );
+    }
+
+    @Test
+    void shouldJournalTheChangesOfACompletedOrder() throws SQLException {
+        order("COMPLETED", "CREDIT_CARD");
+        orderItems(row("menu_item_id", 7L, "category", "MAIN_COURSE", "quantity", 1, "subtotal", new BigDecimal("10.00")));
+        recorded(
+            recordedOrder("CASH", "30.00"),
+            recordedItem("CASH", 7L, "MAIN_COURSE", 2, "20.00")
+        );
+
+        salesRollupService.recordChange(1L);
+
+        List<Object[]> journal = batches.get("insert into sales_journal");
+        assertThat(journal).hasSize(4);
+        assertThat(journal.get(0)).containsExactly(1L, ts(LUNCH), "CASH", null, null, -1, new BigDecimal("-30.00"));
+        assertThat(journal.get(1)).containsExactly(1L, ts(LUNCH), "CASH", 7L, "MAIN_COURSE", -2, new BigDecimal("-20.00"));
+        assertThat(journal.get(2)).containsExactly(1L, ts(LUNCH), "CREDIT_CARD", null, null, 1, new BigDecimal("30.00"));
+        assertThat(journal.get(3)).containsExactly(1L, ts(LUNCH), "CREDIT_CARD", 7L, "MAIN_COURSE", 1, new BigDecimal("10.00"));
+        assertThat(batches.get("insert into sales_recorded")).hasSize(2);
+    }
+
+    @Test
+    void shouldNotJournalOrdersWhoseSalesDidNotChange() throws SQLException {
+        order("COMPLETED", "CASH");
+        orderItems(row("menu_item_id", 7L, "category", "MAIN_COURSE", "quantity", 2, "subtotal", new BigDecimal("20")));
+        recorded(
+            recordedOrder("CASH", "30.00"),
+            recordedItem("CASH", 7L, "MAIN_COURSE", 2, "20.00")
+        );
+
+        salesRollupService.recordChange(1L);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void shouldNotJournalOrdersWhichAreNotCompleted() throws SQLException {
+        order("PREPARING", "CASH");
+
+        salesRollupService.recordChange(1L);
+        salesRollupService.recordChange(null);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).query(startsWith("select oi."), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void shouldFoldTheJournalIntoHourlyAndDailyRollups() throws SQLException {
+        Instant dinner = LocalDateTime.parse("2031-06-06T19:10:00").atZone(ZONE).toInstant();
+        journal(
+            row("id", 1L, "order_date", ts(LUNCH), "payment_method", "CASH", "quantity", 1, "amount", new BigDecimal("30.00")),
+            row(
+                "id",
+                2L,
+                "order_date",
+                ts(LUNCH),
+                "payment_method",
+                "CASH",
+                "menu_item_id",
+                7L,
+                "category",
+                "DESSERT",
+                "quantity",
+                2,
+                "amount",
+                new BigDecimal("12.00")
+            ),
+            row("id", 3L, "order_date", ts(dinner), "payment_method", "CASH", "quantity", 1, "amount", new BigDecimal("50.00")),
+            row(
+                "id",
+                4L,
+                "order_date",
+                ts(dinner),
+                "payment_method",
+                "CASH",
+                "menu_item_id",
+                7L,
+                "category",
+                "DESSERT",
+                "quantity",
+                3,
+                "amount",
+                new BigDecimal("18.00")
+            )
+        );
+
+        salesRollupService.flush();
+
+        Instant day = LocalDateTime.parse("2031-06-06T00:00:00").atZone(ZONE).toInstant();
+        List<Object[]> byPaymentMethod = batches.get("insert into sales_by_payment_method");
+        assertThat(byPaymentMethod).hasSize(3);
+        assertThat(find(byPaymentMethod, "DAY", day)).containsExactly("DAY", ts(day), "CASH", 2L, new BigDecimal("80.00"));
+        List<Object[]> byMenuItem = batches.get("insert into sales_by_menu_item");
+        assertThat(find(byMenuItem, "DAY", day)).containsExactly("DAY", ts(day), 7L, 5L, new BigDecimal("30.00"));
+        Instant lunchHour = LocalDateTime.parse("2031-06-06T12:00:00").atZone(ZONE).toInstant();
+        assertThat(find(byMenuItem, "HOUR", lunchHour)).containsExactly("HOUR", ts(lunchHour), 7L, 2L, new BigDecimal("12.00"));
+        List<Object[]> byCategory = batches.get("insert into sales_by_category");
+        assertThat(find(byCategory, "DAY", day)).containsExactly("DAY", ts(day), "DESSERT", 5L, new BigDecimal("30.00"));
+        assertThat(batches.get("delete from sales_journal where id = ?")).hasSize(4);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldDoNothingWhenTheJournalIsEmpty() throws SQLException {
+        journal();
+
+        salesRollupService.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static Timestamp ts(Instant instant) {
+        return Timestamp.from(instant);
+    }
+
+    private static Object[] find(List<Object[]> rows, String granularity, Instant bucketStart) {
+        return rows
+            .stream()
+            .filter(row -> row[0].equals(granularity) && row[1].equals(ts(bucketStart)))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static ResultSet row(Object... columns) throws SQLException {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < columns.length; i += 2) {
+            values.put((String) columns[i], columns[i + 1]);
+        }
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getInt(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getString(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getBigDecimal(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getTimestamp(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(rs.getObject(anyString(), any(Class.class))).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return rs;
+    }
+
+    private void orderItems(ResultSet... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : rows) {
+                handler.processRow(rs);
+            }
+            return null;
+        })
+            .when(jdbcTemplate)
+            .query(startsWith("select oi."), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private void order(String status, String paymentMethod) throws SQLException {
+        ResultSet order = row(
+            "status",
+            status,
+            "order_date",
+            ts(LUNCH),
+            "payment_method",
+            paymentMethod,
+            "total_amount",
+            new BigDecimal("30.00")
+        );
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(order);
+            return null;
+        })
+            .when(jdbcTemplate)
+            .query(startsWith("select status,"), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private static ResultSet recordedOrder(String paymentMethod, String amount) throws SQLException {
+        return row("order_date", ts(LUNCH), "payment_method", paymentMethod, "quantity", 1, "amount", new BigDecimal(amount));
+    }
+
+    private static ResultSet recordedItem(String paymentMethod, Long menuItemId, String category, int quantity, String amount)
+        throws SQLException {
+        return row(
+            "order_date",
+            ts(LUNCH),
+            "payment_method",
+            paymentMethod,
+            "menu_item_id",
+            menuItemId,
+            "category",
+            category,
+            "quantity",
+            quantity,
+            "amount",
+            new BigDecimal(amount)
+        );
+    }
+
+    private void recorded(ResultSet... rows) {
+        mapRows("select order_date,", rows);
+    }
+
+    private void journal(ResultSet... rows) {
+        mapRows("select id,", rows);
+    }
+
+    private void mapRows(String query, ResultSet... rows) {
+        when(jdbcTemplate.query(startsWith(query), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> entries = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                entries.add(mapper.mapRow(rows[i], i));
+            }
+            return entries;
+        });
+    }
+}
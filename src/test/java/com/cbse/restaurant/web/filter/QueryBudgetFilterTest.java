@@ -0,0 +1,99 @@
+package com.cbse.restaurant.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cbse.restaurant.management.HibernateQueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link QueryBudgetFilter}.
+ */
+class QueryBudgetFilterTest {
+
+    private static final String SELECT_ORDER = "select o1_0.id from jhi_order o1_0 where o1_0.id=?";
+
+    private static final String SELECT_CUSTOMER = "select c1_0.id from customer c1_0 where c1_0.id=?";
+
+    private HibernateQueryCounter queryCounter;
+
+    private MeterRegistry meterRegistry;
+
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new HibernateQueryCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter(queryCounter, meterRegistry, 3);
+    }
+
+    @Test
+    void recordsStatementsAndEntitiesPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        filter.doFilter(
+            request,
+            new MockHttpServletResponse(),
+            new MockFilterChain(new HttpServlet() {}, (req, res, chain) -> {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{id}");
+                queryCounter.inspect(SELECT_ORDER);
+                queryCounter.onLoad(new Object(), (Object) 1L, null, null, null);
+            })
+        );
+
+        assertThat(meterRegistry.get(QueryBudgetFilter.STATEMENTS_METER_NAME).tag("uri", "/api/orders/{id}").summary().totalAmount())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(QueryBudgetFilter.ENTITIES_METER_NAME).tag("uri", "/api/orders/{id}").summary().totalAmount())
+            .isEqualTo(1);
+        assertThat(meterRegistry.find(QueryBudgetFilter.BUDGET_EXCEEDED_METER_NAME).counter()).isNull();
+    }
+
+    @Test
+    void flagsRequestsOverTheQueryBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        filter.doFilter(
+            request,
+            new MockHttpServletResponse(),
+            new MockFilterChain(new HttpServlet() {}, (req, res, chain) -> {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders");
+                queryCounter.inspect(SELECT_ORDER);
+                for (int i = 0; i < 4; i++) {
+                    queryCounter.inspect(SELECT_CUSTOMER);
+                }
+            })
+        );
+
+        assertThat(meterRegistry.get(QueryBudgetFilter.BUDGET_EXCEEDED_METER_NAME).tag("uri", "/api/orders").counter().count()).isEqualTo(
+            1
+        );
+        assertThat(meterRegistry.get(QueryBudgetFilter.STATEMENTS_METER_NAME).summary().totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void tracksTheMostRepeatedStatement() {
+        HibernateQueryCounter.QueryCount queryCount = queryCounter.start();
+        queryCounter.inspect(SELECT_ORDER);
+        queryCounter.inspect(SELECT_CUSTOMER);
+        queryCounter.inspect(SELECT_CUSTOMER);
+        queryCounter.stop();
+        queryCounter.inspect(SELECT_ORDER);
+
+        assertThat(queryCount.getStatements()).isEqualTo(3);
+        assertThat(queryCount.getMostRepeatedStatement()).isEqualTo(SELECT_CUSTOMER);
+        assertThat(queryCount.getMostRepeatedStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresUnmappedRequestsWithoutQueries() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/index.html"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(meterRegistry.find(QueryBudgetFilter.STATEMENTS_METER_NAME).summary()).isNull();
+    }
+}
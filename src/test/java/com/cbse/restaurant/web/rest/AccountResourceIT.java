@@ -1,6 +1,7 @@
 package com.cbse.restaurant.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -10,6 +11,7 @@ import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.AuthorityRepository;
 import com.cbse.restaurant.repository.UserRepository;
 import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.security.TokenRevocationList;
 import com.cbse.restaurant.service.Impl.UserService;
 import com.cbse.restaurant.service.dto.AdminUserDTO;
 import com.cbse.restaurant.service.dto.PasswordChangeDTO;
@@ -29,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,6 +60,9 @@ class AccountResourceIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -781,4 +787,19 @@ class AccountResourceIT {
             )
             .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void testLogoutRevokesToken() throws Exception {
+        Jwt token = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .jti("logout")
+            .subject(TEST_USER_LOGIN)
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+
+        restAccountMockMvc.perform(post("/api/account/logout").with(jwt().jwt(token))).andExpect(status().isOk());
+
+        assertThat(tokenRevocationList.isRevoked(token)).isTrue();
+    }
 }
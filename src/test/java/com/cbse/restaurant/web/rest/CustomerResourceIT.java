@@ -350,16 +350,16 @@ class CustomerResourceIT {
 
     @SuppressWarnings({ "unchecked" })
     void getAllCustomersWithEagerRelationshipsIsEnabled() throws Exception {
-        when(customerServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(customerServiceMock.findAllWithEagerRelationships(any(), any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restCustomerMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
 
-        verify(customerServiceMock, times(1)).findAllWithEagerRelationships(any());
+        verify(customerServiceMock, times(1)).findAllWithEagerRelationships(any(), any());
     }
 
     @SuppressWarnings({ "unchecked" })
     void getAllCustomersWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(customerServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(customerServiceMock.findAllWithEagerRelationships(any(), any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restCustomerMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
         verify(customerRepositoryMock, times(1)).findAll(any(Pageable.class));
@@ -5,6 +5,7 @@ import static com.cbse.restaurant.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.cbse.restaurant.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -13,12 +14,16 @@ import com.cbse.restaurant.domain.MenuItem;
 import com.cbse.restaurant.domain.enumeration.MenuCategory;
 import com.cbse.restaurant.domain.enumeration.SpicyLevel;
 import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.service.BestSellerWindow;
+import com.cbse.restaurant.service.Impl.BestSellerTracker;
+import com.cbse.restaurant.service.Impl.MenuSnapshotService;
 import com.cbse.restaurant.service.dto.MenuItemDTO;
 import com.cbse.restaurant.service.mapper.MenuItemMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
-import java.util.Base64;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -27,9 +32,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Integration tests for the {@link MenuItemResource} REST controller.
@@ -60,13 +68,17 @@ class MenuItemResourceIT {
     private static final Boolean DEFAULT_IS_AVAILABLE = false;
     private static final Boolean UPDATED_IS_AVAILABLE = true;
 
-    private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
-    private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = "a".repeat(64);
+    private static final String UPDATED_IMAGE_HASH = "b".repeat(64);
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
     private static final String ENTITY_API_URL = "/api/menu-items";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_IMAGE = ENTITY_API_URL + "/images/{hash}";
+    private static final String ENTITY_API_URL_SNAPSHOT = ENTITY_API_URL + "/snapshot";
+    private static final String ENTITY_API_URL_CATEGORY = ENTITY_API_URL + "/by-category/{category}";
+    private static final String ENTITY_API_URL_BEST_SELLERS = ENTITY_API_URL + "/best-sellers";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -80,6 +92,18 @@ class MenuItemResourceIT {
     @Autowired
     private MenuItemMapper menuItemMapper;
 
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BestSellerTracker bestSellerTracker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private EntityManager em;
 
@@ -105,7 +129,7 @@ class MenuItemResourceIT {
             .spicyLevel(DEFAULT_SPICY_LEVEL)
             .isVegetarian(DEFAULT_IS_VEGETARIAN)
             .isAvailable(DEFAULT_IS_AVAILABLE)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE);
     }
 
@@ -124,7 +148,7 @@ class MenuItemResourceIT {
             .spicyLevel(UPDATED_SPICY_LEVEL)
             .isVegetarian(UPDATED_IS_VEGETARIAN)
             .isAvailable(UPDATED_IS_AVAILABLE)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
     }
 
@@ -271,7 +295,7 @@ class MenuItemResourceIT {
             .andExpect(jsonPath("$.[*].isVegetarian").value(hasItem(DEFAULT_IS_VEGETARIAN)))
             .andExpect(jsonPath("$.[*].isAvailable").value(hasItem(DEFAULT_IS_AVAILABLE)))
             .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].imageUrl").value(hasItem(MenuItemMapper.IMAGE_URL_PREFIX + DEFAULT_IMAGE_HASH)));
     }
 
     @Test
@@ -294,7 +318,159 @@ class MenuItemResourceIT {
             .andExpect(jsonPath("$.isVegetarian").value(DEFAULT_IS_VEGETARIAN))
             .andExpect(jsonPath("$.isAvailable").value(DEFAULT_IS_AVAILABLE))
             .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64.getEncoder().encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.imageUrl").value(MenuItemMapper.IMAGE_URL_PREFIX + DEFAULT_IMAGE_HASH));
+    }
+
+    @Test
+    @Transactional
+    void getMenuItemsByCategory() throws Exception {
+        // Initialize the database
+        insertedMenuItem = menuItemRepository.saveAndFlush(menuItem);
+
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_CATEGORY, DEFAULT_CATEGORY).param("available", DEFAULT_IS_AVAILABLE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(menuItem.getId().intValue())));
+
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_CATEGORY, UPDATED_CATEGORY).param("available", DEFAULT_IS_AVAILABLE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(menuItem.getId().intValue()))));
+
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_CATEGORY, DEFAULT_CATEGORY).param("available", String.valueOf(!DEFAULT_IS_AVAILABLE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(menuItem.getId().intValue()))));
+    }
+
+    @Test
+    void getBestSellers() throws Exception {
+        // Initialize the database, committed since the menu items are read outside of the test transaction
+        insertedMenuItem = menuItemRepository.saveAndFlush(menuItem.isAvailable(true));
+        MenuItem unavailableMenuItem = menuItemRepository.saveAndFlush(createUpdatedEntity().isAvailable(false));
+        MenuItem otherNodeMenuItem = menuItemRepository.saveAndFlush(createUpdatedEntity().isAvailable(true));
+        Instant now = Instant.now();
+        bestSellerTracker.record(insertedMenuItem.getId(), 1_000_000, now, now);
+        bestSellerTracker.record(unavailableMenuItem.getId(), 3_000_000, now, now);
+        // Ordered on another node, and read back when publishing
+        Timestamp bucketStart = Timestamp.from(BestSellerWindow.HOUR.bucketStart(BestSellerWindow.HOUR.epoch(now)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into best_seller_bucket (node_id, time_window, bucket_start, menu_item_id, quantity) values (?, ?, ?, ?, ?)",
+                "other-node",
+                BestSellerWindow.HOUR.name(),
+                bucketStart,
+                otherNodeMenuItem.getId(),
+                2_000_000
+            )
+        );
+        bestSellerTracker.publish();
+
+        try {
+            restMenuItemMockMvc
+                .perform(get(ENTITY_API_URL_BEST_SELLERS).param("window", "HOUR").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[0].menuItem.id").value(otherNodeMenuItem.getId().intValue()))
+                .andExpect(jsonPath("$.[0].quantity").value(2_000_000))
+                .andExpect(jsonPath("$.[1].menuItem.id").value(insertedMenuItem.getId().intValue()))
+                .andExpect(jsonPath("$.[1].quantity").value(1_000_000));
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update(
+                    "delete from best_seller_bucket where menu_item_id in (?, ?, ?)",
+                    insertedMenuItem.getId(),
+                    unavailableMenuItem.getId(),
+                    otherNodeMenuItem.getId()
+                )
+            );
+            menuItemRepository.delete(unavailableMenuItem);
+            menuItemRepository.delete(otherNodeMenuItem);
+        }
+    }
+
+    @Test
+    void getBestSellersWithInvalidSize() throws Exception {
+        restMenuItemMockMvc.perform(get(ENTITY_API_URL_BEST_SELLERS).param("size", "0")).andExpect(status().isBadRequest());
+        restMenuItemMockMvc.perform(get(ENTITY_API_URL_BEST_SELLERS).param("size", "51")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void uploadAndStreamMenuItemImage() throws Exception {
+        byte[] image = TestUtil.createByteArray(1024, "7");
+        MenuItemDTO menuItemDTO = menuItemMapper.toDto(menuItem);
+        menuItemDTO.setImageHash(null);
+        menuItemDTO.setImage(image);
+
+        var returnedMenuItemDTO = om.readValue(
+            restMenuItemMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(menuItemDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.image").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            MenuItemDTO.class
+        );
+        String hash = returnedMenuItemDTO.getImageHash();
+        assertThat(returnedMenuItemDTO.getImageUrl()).isEqualTo(MenuItemMapper.IMAGE_URL_PREFIX + hash);
+        insertedMenuItem = menuItemMapper.toEntity(returnedMenuItemDTO);
+
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_IMAGE, hash))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + hash + "\""))
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(content().bytes(image));
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_IMAGE, hash).header("If-None-Match", "\"" + hash + "\""))
+            .andExpect(status().isNotModified());
+        restMenuItemMockMvc
+            .perform(get(ENTITY_API_URL_IMAGE, hash).header("Range", "bytes=0-99"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string("Content-Range", "bytes 0-99/1024"));
+    }
+
+    @Test
+    @Transactional
+    void getMenuSnapshot() throws Exception {
+        // Snapshots built inside the test transaction must not outlive it
+        menuSnapshotService.invalidate();
+        insertedMenuItem = menuItemRepository.saveAndFlush(menuItem.isAvailable(true));
+
+        try {
+            String eTag = restMenuItemMockMvc
+                .perform(get(ENTITY_API_URL_SNAPSHOT))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$." + DEFAULT_CATEGORY + "[*].id").value(hasItem(menuItem.getId().intValue())))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+            restMenuItemMockMvc.perform(get(ENTITY_API_URL_SNAPSHOT).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+            menuSnapshotService.invalidate();
+            menuItemRepository.saveAndFlush(insertedMenuItem.isAvailable(false));
+
+            restMenuItemMockMvc
+                .perform(get(ENTITY_API_URL_SNAPSHOT).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+        } finally {
+            menuSnapshotService.invalidate();
+        }
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingMenuItemImage() throws Exception {
+        restMenuItemMockMvc.perform(get(ENTITY_API_URL_IMAGE, "c".repeat(64))).andExpect(status().isNotFound());
+        restMenuItemMockMvc.perform(get(ENTITY_API_URL_IMAGE, "not-a-hash")).andExpect(status().isNotFound());
     }
 
     @Test
@@ -324,7 +500,7 @@ class MenuItemResourceIT {
             .spicyLevel(UPDATED_SPICY_LEVEL)
             .isVegetarian(UPDATED_IS_VEGETARIAN)
             .isAvailable(UPDATED_IS_AVAILABLE)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
         MenuItemDTO menuItemDTO = menuItemMapper.toDto(updatedMenuItem);
 
@@ -419,7 +595,7 @@ class MenuItemResourceIT {
             .name(UPDATED_NAME)
             .spicyLevel(UPDATED_SPICY_LEVEL)
             .isVegetarian(UPDATED_IS_VEGETARIAN)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restMenuItemMockMvc
@@ -456,7 +632,7 @@ class MenuItemResourceIT {
             .spicyLevel(UPDATED_SPICY_LEVEL)
             .isVegetarian(UPDATED_IS_VEGETARIAN)
             .isAvailable(UPDATED_IS_AVAILABLE)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
 
         restMenuItemMockMvc
@@ -4,6 +4,7 @@ import static com.cbse.restaurant.domain.OrderItemAsserts.*;
 import static com.cbse.restaurant.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.cbse.restaurant.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -17,10 +18,12 @@ import com.cbse.restaurant.repository.OrderItemRepository;
 import com.cbse.restaurant.service.Impl.OrderItemService;
 import com.cbse.restaurant.service.dto.OrderItemDTO;
 import com.cbse.restaurant.service.mapper.OrderItemMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -204,6 +207,56 @@ class OrderItemResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createOrderItemsBatch() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        OrderItemDTO first = orderItemMapper.toDto(orderItem);
+        OrderItemDTO second = orderItemMapper.toDto(createUpdatedEntity(em));
+
+        List<OrderItemDTO> returnedOrderItemDTOs = om.readValue(
+            restOrderItemMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(first, second)))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            new TypeReference<List<OrderItemDTO>>() {}
+        );
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        assertThat(returnedOrderItemDTOs).extracting(OrderItemDTO::getQuantity).containsExactly(DEFAULT_QUANTITY, UPDATED_QUANTITY);
+        assertThat(returnedOrderItemDTOs).allSatisfy(returned -> assertThat(returned.getId()).isNotNull());
+        orderItemRepository.deleteAllById(returnedOrderItemDTOs.stream().map(OrderItemDTO::getId).toList());
+    }
+
+    @Test
+    @Transactional
+    void createOrderItemsBatchRejectsAllItemsIfOneIsInvalid() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        OrderItemDTO valid = orderItemMapper.toDto(orderItem);
+        OrderItemDTO invalid = orderItemMapper.toDto(createEntity(em));
+        invalid.setQuantity(0);
+        invalid.getMenuItem().setId(longCount.incrementAndGet());
+
+        restOrderItemMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(valid, invalid)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.batchinvalid"))
+            .andExpect(jsonPath("$.title").value(containsString("[1] quantity")))
+            .andExpect(jsonPath("$.title").value(containsString("[1] menuItem")));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void checkQuantityIsRequired() throws Exception {
@@ -255,18 +308,38 @@ class OrderItemResourceIT {
             .andExpect(jsonPath("$.[*].subtotal").value(hasItem(sameNumber(DEFAULT_SUBTOTAL))));
     }
 
+    @Test
+    @Transactional
+    void getAllOrderItemsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedOrderItem = orderItemRepository.saveAndFlush(orderItem);
+
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1&pagination=SLICE"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists("X-Has-Next-Page"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(orderItem.getId().intValue())));
+
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&pagination=ESTIMATED"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(orderItem.getId().intValue())));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllOrderItemsWithEagerRelationshipsIsEnabled() throws Exception {
-        when(orderItemServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(orderItemServiceMock.findAllWithEagerRelationships(any(), any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restOrderItemMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
 
-        verify(orderItemServiceMock, times(1)).findAllWithEagerRelationships(any());
+        verify(orderItemServiceMock, times(1)).findAllWithEagerRelationships(any(), any());
     }
 
     @SuppressWarnings({ "unchecked" })
     void getAllOrderItemsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(orderItemServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(orderItemServiceMock.findAllWithEagerRelationships(any(), any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restOrderItemMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
         verify(orderItemRepositoryMock, times(1)).findAll(any(Pageable.class));
@@ -507,6 +580,77 @@ class OrderItemResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void partialUpdateOrderItemsBatch() throws Exception {
+        insertedOrderItem = orderItemRepository.saveAndFlush(orderItem);
+        OrderItem otherOrderItem = orderItemRepository.saveAndFlush(createEntity(em));
+
+        OrderItemDTO first = new OrderItemDTO();
+        first.setId(orderItem.getId());
+        first.setQuantity(UPDATED_QUANTITY);
+        OrderItemDTO second = new OrderItemDTO();
+        second.setId(otherOrderItem.getId());
+        second.setNotes(UPDATED_NOTES);
+
+        restOrderItemMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/batch")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(List.of(first, second)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].quantity").value(UPDATED_QUANTITY))
+            .andExpect(jsonPath("$.[0].notes").value(DEFAULT_NOTES))
+            .andExpect(jsonPath("$.[1].quantity").value(DEFAULT_QUANTITY))
+            .andExpect(jsonPath("$.[1].notes").value(UPDATED_NOTES));
+
+        assertThat(getPersistedOrderItem(orderItem).getQuantity()).isEqualTo(UPDATED_QUANTITY);
+        assertThat(getPersistedOrderItem(otherOrderItem).getNotes()).isEqualTo(UPDATED_NOTES);
+        orderItemRepository.delete(otherOrderItem);
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateOrderItemsBatchWithUnknownId() throws Exception {
+        insertedOrderItem = orderItemRepository.saveAndFlush(orderItem);
+
+        OrderItemDTO known = new OrderItemDTO();
+        known.setId(orderItem.getId());
+        known.setQuantity(UPDATED_QUANTITY);
+        OrderItemDTO unknown = new OrderItemDTO();
+        unknown.setId(longCount.incrementAndGet());
+        unknown.setQuantity(UPDATED_QUANTITY);
+
+        restOrderItemMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/batch")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(List.of(known, unknown)))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void deleteOrderItemsBatch() throws Exception {
+        insertedOrderItem = orderItemRepository.saveAndFlush(orderItem);
+        OrderItem otherOrderItem = orderItemRepository.saveAndFlush(createEntity(em));
+
+        long databaseSizeBeforeDelete = getRepositoryCount();
+
+        restOrderItemMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/batch")
+                    .param("ids", orderItem.getId() + "," + otherOrderItem.getId() + "," + longCount.incrementAndGet())
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isNoContent());
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeDelete - 2);
+        insertedOrderItem = null;
+    }
+
     @Test
     @Transactional
     void deleteOrderItem() throws Exception {
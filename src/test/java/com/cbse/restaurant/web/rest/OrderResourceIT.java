@@ -4,22 +4,30 @@ import static com.cbse.restaurant.domain.OrderAsserts.*;
 import static com.cbse.restaurant.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.cbse.restaurant.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.cbse.restaurant.IntegrationTest;
+import com.cbse.restaurant.domain.MenuItem;
 import com.cbse.restaurant.domain.Order;
 import com.cbse.restaurant.domain.enumeration.OrderStatus;
 import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import com.cbse.restaurant.repository.MenuItemRepository;
+import com.cbse.restaurant.repository.OrderItemRepository;
 import com.cbse.restaurant.repository.OrderRepository;
+import com.cbse.restaurant.service.dto.CustomerDTO;
 import com.cbse.restaurant.service.dto.OrderDTO;
+import com.cbse.restaurant.service.dto.OrderSubmissionDTO;
 import com.cbse.restaurant.service.mapper.OrderMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -63,6 +71,8 @@ class OrderResourceIT {
 
     private static final String ENTITY_API_URL = "/api/orders";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_SUBMIT = ENTITY_API_URL + "/submit";
+    private static final String ENTITY_API_URL_SEARCH = ENTITY_API_URL + "/search";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -76,6 +86,12 @@ class OrderResourceIT {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -175,6 +191,154 @@ class OrderResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void submitOrder() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        long orderItemCountBeforeCreate = orderItemRepository.count();
+        MenuItem burger = menuItemRepository.saveAndFlush(
+            MenuItemResourceIT.createEntity().price(new BigDecimal("12.50")).isAvailable(true)
+        );
+        MenuItem soda = menuItemRepository.saveAndFlush(MenuItemResourceIT.createEntity().price(new BigDecimal("2.25")).isAvailable(true));
+
+        OrderSubmissionDTO submission = new OrderSubmissionDTO();
+        submission.setPaymentMethod(DEFAULT_PAYMENT_METHOD);
+        submission.setItems(List.of(submissionLine(burger.getId(), 2), submissionLine(soda.getId(), 3)));
+
+        restOrderMockMvc
+            .perform(post(ENTITY_API_URL_SUBMIT).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(submission)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.order.status").value(OrderStatus.NEW.toString()))
+            .andExpect(jsonPath("$.order.totalAmount").value(sameNumber(new BigDecimal("31.75"))))
+            .andExpect(jsonPath("$.orderItems.[*].subtotal").value(hasItem(sameNumber(new BigDecimal("25.00")))))
+            .andExpect(jsonPath("$.orderItems.[*].subtotal").value(hasItem(sameNumber(new BigDecimal("6.75")))));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertThat(orderItemRepository.count()).isEqualTo(orderItemCountBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void submitOrderWithUnavailableMenuItem() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        MenuItem menuItem = menuItemRepository.saveAndFlush(MenuItemResourceIT.createEntity().isAvailable(false));
+
+        OrderSubmissionDTO submission = new OrderSubmissionDTO();
+        submission.setPaymentMethod(DEFAULT_PAYMENT_METHOD);
+        submission.setItems(List.of(submissionLine(menuItem.getId(), 1)));
+
+        restOrderMockMvc
+            .perform(post(ENTITY_API_URL_SUBMIT).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(submission)))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void submitOrderWithUnknownCustomer() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        MenuItem menuItem = menuItemRepository.saveAndFlush(MenuItemResourceIT.createEntity().isAvailable(true));
+
+        OrderSubmissionDTO submission = new OrderSubmissionDTO();
+        submission.setPaymentMethod(DEFAULT_PAYMENT_METHOD);
+        submission.setCustomer(new CustomerDTO());
+        submission.getCustomer().setId(Long.MAX_VALUE);
+        submission.setItems(List.of(submissionLine(menuItem.getId(), 1)));
+
+        restOrderMockMvc
+            .perform(post(ENTITY_API_URL_SUBMIT).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(submission)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.customernotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void searchOrdersWithKeysetPagination() throws Exception {
+        Instant day = Instant.parse("2031-01-01T00:00:00Z");
+        Order first = orderRepository.saveAndFlush(createEntity().orderDate(day).status(OrderStatus.NEW));
+        Order second = orderRepository.saveAndFlush(createEntity().orderDate(day).status(OrderStatus.PREPARING));
+        Order third = orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(60)).status(OrderStatus.NEW));
+        orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(120)).status(OrderStatus.CANCELLED));
+        orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(86400)).status(OrderStatus.NEW));
+
+        String next = restOrderMockMvc
+            .perform(
+                get(ENTITY_API_URL_SEARCH)
+                    .param("status", "NEW", "PREPARING")
+                    .param("orderDateFrom", day.toString())
+                    .param("orderDateTo", day.plusSeconds(3600).toString())
+                    .param("direction", "ASC")
+                    .param("size", "2")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().string("Link", containsString("afterId=" + second.getId())))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+
+        String nextUrl = next.substring(next.indexOf('<') + 1, next.indexOf('>'));
+        restOrderMockMvc
+            .perform(get(nextUrl))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @Transactional
+    void searchOrdersWithSeveralStatusesInDescendingOrder() throws Exception {
+        Instant day = Instant.parse("2031-01-01T00:00:00Z");
+        Order first = orderRepository.saveAndFlush(createEntity().orderDate(day).status(OrderStatus.READY));
+        Order second = orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(60)).status(OrderStatus.PREPARING));
+        Order third = orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(120)).status(OrderStatus.READY));
+        orderRepository.saveAndFlush(createEntity().orderDate(day.plusSeconds(180)).status(OrderStatus.NEW));
+
+        restOrderMockMvc
+            .perform(
+                get(ENTITY_API_URL_SEARCH)
+                    .param("status", "READY", "PREPARING")
+                    .param("orderDateFrom", day.toString())
+                    .param("orderDateTo", day.plusSeconds(3600).toString())
+                    .param("direction", "DESC")
+                    .param("size", "2")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().string("Link", containsString("afterId=" + second.getId())));
+
+        restOrderMockMvc
+            .perform(
+                get(ENTITY_API_URL_SEARCH)
+                    .param("status", "READY", "PREPARING")
+                    .param("orderDateFrom", day.toString())
+                    .param("orderDateTo", day.plusSeconds(3600).toString())
+                    .param("direction", "DESC")
+                    .param("size", "2")
+                    .param("afterOrderDate", second.getOrderDate().toString())
+                    .param("afterId", second.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @Transactional
+    void searchOrdersWithIncompleteKeyset() throws Exception {
+        restOrderMockMvc.perform(get(ENTITY_API_URL_SEARCH).param("afterId", "1")).andExpect(status().isBadRequest());
+    }
+
+    private static OrderSubmissionDTO.Line submissionLine(Long menuItemId, int quantity) {
+        OrderSubmissionDTO.Line line = new OrderSubmissionDTO.Line();
+        line.setMenuItemId(menuItemId);
+        line.setQuantity(quantity);
+        return line;
+    }
+
     @Test
     @Transactional
     void checkOrderDateIsRequired() throws Exception {
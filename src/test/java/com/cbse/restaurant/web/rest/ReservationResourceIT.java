@@ -4,6 +4,7 @@ import static com.cbse.restaurant.domain.ReservationAsserts.*;
 import static com.cbse.restaurant.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -60,6 +61,7 @@ class ReservationResourceIT {
 
     private static final String ENTITY_API_URL = "/api/reservations";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_AVAILABILITY = ENTITY_API_URL + "/availability";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -154,6 +156,42 @@ class ReservationResourceIT {
         insertedReservation = returnedReservation;
     }
 
+    @Test
+    @Transactional
+    void createReservationBeyondCapacity() throws Exception {
+        Instant evening = Instant.parse("2031-06-06T19:30:00Z");
+        restReservationMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(reservationMapper.toDto(createEntity().reservationDate(evening).partySize(60))))
+            )
+            .andExpect(status().isCreated());
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restReservationMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(reservationMapper.toDto(createEntity().reservationDate(evening.plusSeconds(3600)))))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fullybooked"));
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+
+        restReservationMockMvc
+            .perform(
+                get(ENTITY_API_URL_AVAILABILITY)
+                    .param("from", evening.minusSeconds(7200).toString())
+                    .param("to", evening.plusSeconds(7200).toString())
+                    .param("partySize", "2")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].start").value(hasItem(evening.minusSeconds(7200).toString())))
+            .andExpect(jsonPath("$.[*].start").value(not(hasItem(evening.toString()))));
+    }
+
     @Test
     @Transactional
     void createReservationWithExistingId() throws Exception {
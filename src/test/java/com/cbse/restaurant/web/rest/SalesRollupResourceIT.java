@@ -0,0 +1,192 @@
+package com.cbse.restaurant.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.cbse.restaurant.IntegrationTest;
+import com.cbse.restaurant.domain.MenuItem;
+import com.cbse.restaurant.domain.Order;
+import com.cbse.restaurant.domain.OrderItem;
+import com.cbse.restaurant.domain.enumeration.MenuCategory;
+import com.cbse.restaurant.domain.enumeration.OrderStatus;
+import com.cbse.restaurant.domain.enumeration.PaymentMethod;
+import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.service.Impl.SalesRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SalesRollupResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SalesRollupResourceIT {
+
+    private static final Instant ORDER_DATE = Instant.parse("2031-06-06T12:30:00Z");
+
+    private static final Instant HOUR_START = Instant.parse("2031-06-06T12:00:00Z");
+
+    private static final String FROM = "2031-06-06T00:00:00Z";
+
+    private static final String TO = "2031-06-07T00:00:00Z";
+
+    private static final String API_URL = "/api/sales-rollups";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private MockMvc restSalesRollupMockMvc;
+
+    private Order order;
+
+    private MenuItem menuItem;
+
+    @BeforeEach
+    void initTest() {
+        menuItem = MenuItemResourceIT.createEntity().category(MenuCategory.MAIN_COURSE);
+        order = OrderResourceIT.createEntity()
+            .orderDate(ORDER_DATE)
+            .status(OrderStatus.READY)
+            .totalAmount(new BigDecimal("30.00"))
+            .paymentMethod(PaymentMethod.CREDIT_CARD);
+    }
+
+    @Test
+    @Transactional
+    void getSalesOfCompletedOrders() throws Exception {
+        em.persist(menuItem);
+        em.persist(order);
+        em.persist(new OrderItem().quantity(2).subtotal(new BigDecimal("20.00")).menuItem(menuItem).order(order));
+        em.persist(new OrderItem().quantity(1).subtotal(new BigDecimal("10.00")).menuItem(menuItem).order(order));
+        em.flush();
+
+        complete(order);
+        salesRollupService.flush();
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/categories?granularity=HOUR&from={from}&to={to}", FROM, TO))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].bucketStart").value(HOUR_START.toString()))
+            .andExpect(jsonPath("$.[0].category").value(MenuCategory.MAIN_COURSE.toString()))
+            .andExpect(jsonPath("$.[0].quantity").value(3))
+            .andExpect(jsonPath("$.[0].revenue").value(TestUtil.sameNumber(new BigDecimal("30.00"))));
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/menu-items?granularity=HOUR&from={from}&to={to}", FROM, TO))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].menuItemId").value(menuItem.getId().intValue()))
+            .andExpect(jsonPath("$.[0].quantity").value(3));
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/payment-methods?granularity=DAY&from={from}&to={to}", "2031-06-01T00:00:00Z", "2031-06-30T00:00:00Z"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].paymentMethod").value(PaymentMethod.CREDIT_CARD.toString()))
+            .andExpect(jsonPath("$.[0].orderCount").value(1))
+            .andExpect(jsonPath("$.[0].averageTicket").value(TestUtil.sameNumber(new BigDecimal("30.00"))));
+    }
+
+    @Test
+    @Transactional
+    void getNoSalesOnceTheOrderIsNoLongerCompleted() throws Exception {
+        em.persist(menuItem);
+        order.setStatus(OrderStatus.COMPLETED);
+        em.persist(order);
+        em.persist(new OrderItem().quantity(2).subtotal(new BigDecimal("20.00")).menuItem(menuItem).order(order));
+        em.flush();
+        salesRollupService.recordChange(order.getId());
+
+        Order partialUpdatedOrder = new Order();
+        partialUpdatedOrder.setId(order.getId());
+        partialUpdatedOrder.setStatus(OrderStatus.CANCELLED);
+        restSalesRollupMockMvc
+            .perform(
+                patch("/api/orders/{id}", order.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedOrder))
+            )
+            .andExpect(status().isOk());
+        salesRollupService.flush();
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/categories?granularity=HOUR&from={from}&to={to}", FROM, TO))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    void getSalesOnceTheItemsOfACompletedOrderChange() throws Exception {
+        em.persist(menuItem);
+        order.setStatus(OrderStatus.COMPLETED);
+        em.persist(order);
+        OrderItem orderItem = new OrderItem().quantity(2).subtotal(new BigDecimal("20.00")).menuItem(menuItem).order(order);
+        em.persist(orderItem);
+        em.flush();
+        salesRollupService.recordChange(order.getId());
+
+        OrderItem partialUpdatedOrderItem = new OrderItem();
+        partialUpdatedOrderItem.setId(orderItem.getId());
+        partialUpdatedOrderItem.quantity(1).subtotal(new BigDecimal("10.00"));
+        restSalesRollupMockMvc
+            .perform(
+                patch("/api/order-items/{id}", orderItem.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedOrderItem))
+            )
+            .andExpect(status().isOk());
+        salesRollupService.flush();
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/menu-items?granularity=HOUR&from={from}&to={to}", FROM, TO))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].quantity").value(1))
+            .andExpect(jsonPath("$.[0].revenue").value(TestUtil.sameNumber(new BigDecimal("10.00"))));
+    }
+
+    @Test
+    void getSalesWithInvalidPeriod() throws Exception {
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "/categories?granularity=HOUR&from={from}&to={to}", FROM, "2031-08-01T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+        restSalesRollupMockMvc.perform(get(API_URL + "/categories?from={from}&to={to}", TO, FROM)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getSalesAsUserIsForbidden() throws Exception {
+        restSalesRollupMockMvc.perform(get(API_URL + "/categories?from={from}&to={to}", FROM, TO)).andExpect(status().isForbidden());
+    }
+
+    private void complete(Order order) throws Exception {
+        Order partialUpdatedOrder = new Order();
+        partialUpdatedOrder.setId(order.getId());
+        partialUpdatedOrder.setStatus(OrderStatus.COMPLETED);
+        restSalesRollupMockMvc
+            .perform(
+                patch("/api/orders/{id}", order.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedOrder))
+            )
+            .andExpect(status().isOk());
+    }
+}
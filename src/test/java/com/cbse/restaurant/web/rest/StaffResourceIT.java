@@ -4,6 +4,7 @@ import static com.cbse.restaurant.domain.StaffAsserts.*;
 import static com.cbse.restaurant.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -60,6 +61,7 @@ class StaffResourceIT {
 
     private static final String ENTITY_API_URL = "/api/staff";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_ACTIVE = ENTITY_API_URL + "/active";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -312,6 +314,31 @@ class StaffResourceIT {
             .andExpect(jsonPath("$.[*].isActive").value(hasItem(DEFAULT_IS_ACTIVE)));
     }
 
+    @Test
+    @Transactional
+    void getActiveStaff() throws Exception {
+        // Initialize the database
+        insertedStaff = staffRepository.saveAndFlush(staff.isActive(true));
+
+        restStaffMockMvc
+            .perform(get(ENTITY_API_URL_ACTIVE).param("role", DEFAULT_ROLE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(staff.getId().intValue())));
+
+        restStaffMockMvc
+            .perform(get(ENTITY_API_URL_ACTIVE).param("role", UPDATED_ROLE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(staff.getId().intValue()))));
+
+        staffRepository.saveAndFlush(insertedStaff.isActive(false));
+
+        restStaffMockMvc
+            .perform(get(ENTITY_API_URL_ACTIVE).param("role", DEFAULT_ROLE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(staff.getId().intValue()))));
+    }
+
     @Test
     @Transactional
     void getStaff() throws Exception {
@@ -9,11 +9,13 @@ import com.cbse.restaurant.IntegrationTest;
 import com.cbse.restaurant.domain.User;
 import com.cbse.restaurant.repository.UserRepository;
 import com.cbse.restaurant.security.AuthoritiesConstants;
+import com.cbse.restaurant.security.TokenRevocationList;
 import com.cbse.restaurant.service.Impl.UserService;
 import com.cbse.restaurant.service.dto.AdminUserDTO;
 import com.cbse.restaurant.service.mapper.UserMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Consumer;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -25,6 +27,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -75,6 +78,9 @@ class UserResourceIT {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -477,6 +483,20 @@ class UserResourceIT {
         assertPersistedUsers(users -> assertThat(users).hasSize(databaseSizeBeforeDelete - 1));
     }
 
+    @Test
+    void revokeTokens() throws Exception {
+        Jwt issued = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .jti("revoke-tokens")
+            .subject("revoke-tokens")
+            .issuedAt(Instant.now().minusSeconds(60))
+            .build();
+
+        restUserMockMvc.perform(post("/api/admin/users/{login}/revoke-tokens", "revoke-tokens")).andExpect(status().isNoContent());
+
+        assertThat(tokenRevocationList.isRevoked(issued)).isTrue();
+    }
+
     @Test
     void testUserEquals() throws Exception {
         TestUtil.equalsVerifier(User.class);